@@ -0,0 +1,138 @@
+package com.taskManagement.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskManagement.config.JacksonConfig;
+import com.taskManagement.dto.common.ApiResponse;
+import com.taskManagement.dto.task.TaskSummaryDTO;
+import com.taskManagement.entity.Priority;
+import com.taskManagement.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes one {@code ApiResponse<List<TaskSummaryDTO>>} page the way a list
+ * endpoint does, with the mapper Spring Boot builds by default ("reflective")
+ * and with the modules from {@link JacksonConfig} installed ("optimized").
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar ApiResponseSerialization -prof gc}
+ * to see allocation per operation next to throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ApiResponseSerializationBenchmark {
+
+    private static final String[] WORDS = {
+            "migrate", "billing", "dashboard", "review", "release", "schema", "invoice", "onboarding",
+            "latency", "export", "report", "cleanup", "audit", "search", "mobile", "sync"
+    };
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"always", "non_null"})
+    public String inclusion;
+
+    private List<TaskSummaryDTO> tasks;
+    private ObjectMapper reflective;
+    private ObjectMapper optimized;
+    private ByteArrayOutputStream buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = generateTasks(size, new Random(42));
+
+        JacksonConfig config = new JacksonConfig();
+        reflective = mapperBuilder().build();
+        optimized = mapperBuilder()
+                .modulesToInstall(config.blackbirdModule(), config.apiResponseModule())
+                .build();
+
+        // Sized from one real payload so the stream never grows while measuring
+        buffer = new ByteArrayOutputStream(reflective.writeValueAsBytes(ApiResponse.success(tasks, tasks.size())).length);
+    }
+
+    @Benchmark
+    public int reflective() throws IOException {
+        return write(reflective);
+    }
+
+    @Benchmark
+    public int optimized() throws IOException {
+        return write(optimized);
+    }
+
+    private int write(ObjectMapper mapper) throws IOException {
+        buffer.reset();
+        mapper.writeValue(buffer, ApiResponse.success(tasks, tasks.size()));
+        return buffer.size();
+    }
+
+    // What Spring Boot configures on its ObjectMapper for this application
+    private Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.valueOf(inclusion.toUpperCase()));
+    }
+
+    private static List<TaskSummaryDTO> generateTasks(int count, Random random) {
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<TaskSummaryDTO> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean assigned = random.nextInt(10) < 8;
+            tasks.add(TaskSummaryDTO.builder()
+                    .id((long) i + 1)
+                    .title(phrase(random, 3 + random.nextInt(5)))
+                    .description(random.nextInt(3) == 0 ? null : phrase(random, 10 + random.nextInt(30)))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .priority(priorities[random.nextInt(priorities.length)])
+                    .dueDate(random.nextInt(4) == 0 ? null : base.plusHours(random.nextInt(24 * 365)))
+                    .progressPercentage(random.nextInt(101))
+                    .isMilestone(random.nextInt(20) == 0)
+                    .projectName("Project " + (1 + random.nextInt(200)))
+                    .assigneeName(assigned ? "User " + (1 + random.nextInt(500)) : null)
+                    .creatorName("User " + (1 + random.nextInt(500)))
+                    .isOverdue(random.nextInt(5) == 0)
+                    .subtaskCount(random.nextInt(4) == 0 ? random.nextInt(12) : 0)
+                    .build());
+        }
+        return tasks;
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskManagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file ({@code -rf json}) against a stored baseline
+ * and fails when a benchmark got slower or allocates more per operation than
+ * the tolerances allow. Throughput is only comparable on the machine that
+ * recorded the baseline; bytes per operation (from {@code -prof gc}) is
+ * comparable anywhere.
+ *
+ * Usage: {@code BaselineCheck <results.json> <baseline.json> [--update]}.
+ * With {@code --update} (or {@code --update=true}) the results are written as
+ * the new baseline instead of being checked. Without it a missing baseline
+ * fails, as does a baselined benchmark that no longer reports a result.
+ *
+ * Tolerances are fractions, set with {@code -Dbaseline.throughput-tolerance}
+ * (default 0.10) and {@code -Dbaseline.allocation-tolerance} (default 0.05).
+ */
+public final class BaselineCheck {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation per operation jitters by a few bytes between runs
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BaselineCheck <results.json> <baseline.json> [--update]");
+        }
+        Path resultsFile = Paths.get(args[0]);
+        Path baselineFile = Paths.get(args[1]);
+        boolean update = args.length > 2 && ("--update".equals(args[2]) || "--update=true".equals(args[2]));
+        double throughputTolerance = Double.parseDouble(System.getProperty("baseline.throughput-tolerance", "0.10"));
+        double allocationTolerance = Double.parseDouble(System.getProperty("baseline.allocation-tolerance", "0.05"));
+
+        Map<String, Score> results = read(resultsFile);
+        if (update) {
+            write(baselineFile, results);
+            System.out.printf("Recorded %d benchmarks as the baseline in %s%n", results.size(), baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("No baseline at " + baselineFile
+                    + "; record one with --update (-Dbaseline.update=true) and commit it");
+        }
+        Map<String, Score> baseline = read(baselineFile);
+
+        List<String> regressions = new ArrayList<>();
+        for (String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                regressions.add(name + ": in the baseline but missing from the results");
+            }
+        }
+        System.out.printf("%-84s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Current", "Change", "B/op base", "B/op now");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-84s %14s %14.1f %8s%n", entry.getKey(), "-", current.throughput(), "new");
+                continue;
+            }
+            double change = (current.throughput() - previous.throughput()) / previous.throughput();
+            System.out.printf("%-84s %14.1f %14.1f %+7.1f%% %12s %12s%n", entry.getKey(),
+                    previous.throughput(), current.throughput(), change * 100,
+                    bytes(previous.bytesPerOp()), bytes(current.bytesPerOp()));
+
+            if (change < -throughputTolerance) {
+                regressions.add(String.format("%s: throughput %.1f -> %.1f ops/s (%.1f%%)",
+                        entry.getKey(), previous.throughput(), current.throughput(), change * 100));
+            }
+            if (previous.bytesPerOp() != null && current.bytesPerOp() != null
+                    && current.bytesPerOp() > previous.bytesPerOp() * (1 + allocationTolerance) + ALLOCATION_SLACK_BYTES) {
+                regressions.add(String.format("%s: allocation %.0f -> %.0f B/op",
+                        entry.getKey(), previous.bytesPerOp(), current.bytesPerOp()));
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " benchmark regression(s) against "
+                    + baselineFile + ":\n  " + String.join("\n  ", regressions));
+        }
+        System.out.printf("No regressions against %s%n", baselineFile);
+    }
+
+    // Keyed by benchmark name plus parameters, which is what JMH reports one score for
+    private static Map<String, Score> read(Path file) throws IOException {
+        JsonNode root = MAPPER.readTree(file.toFile());
+        Map<String, Score> scores = new TreeMap<>();
+        if (root.isObject()) {
+            // A baseline written by this class
+            Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode bytes = field.getValue().get("bytesPerOp");
+                scores.put(field.getKey(), new Score(field.getValue().get("throughput").asDouble(),
+                        bytes == null || bytes.isNull() ? null : bytes.asDouble()));
+            }
+            return scores;
+        }
+        for (JsonNode run : root) {
+            scores.put(key(run), new Score(run.path("primaryMetric").path("score").asDouble(), bytesPerOp(run)));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        JsonNode params = run.get("params");
+        if (params != null) {
+            Map<String, String> sorted = new TreeMap<>();
+            params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+            sorted.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+
+    private static Double bytesPerOp(JsonNode run) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = run.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return null;
+    }
+
+    private static void write(Path file, Map<String, Score> scores) throws IOException {
+        Map<String, Map<String, Double>> baseline = new LinkedHashMap<>();
+        scores.forEach((key, score) -> {
+            Map<String, Double> values = new LinkedHashMap<>();
+            values.put("throughput", score.throughput());
+            values.put("bytesPerOp", score.bytesPerOp());
+            baseline.put(key, values);
+        });
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), baseline);
+    }
+
+    private static String bytes(Double bytesPerOp) {
+        return bytesPerOp == null ? "-" : String.format("%.0f", bytesPerOp);
+    }
+
+    private record Score(double throughput, Double bytesPerOp) {
+    }
+}
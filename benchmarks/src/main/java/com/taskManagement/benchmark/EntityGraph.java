@@ -0,0 +1,268 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.task.TaskChildCounts;
+import com.taskManagement.entity.Priority;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.ProjectStatus;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.TaskStatus;
+import com.taskManagement.entity.Team;
+import com.taskManagement.entity.TeamMember;
+import com.taskManagement.entity.TeamRole;
+import com.taskManagement.entity.User;
+import com.taskManagement.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A fully linked in-memory graph of users, teams, members, projects and tasks,
+ * shaped like the data the mappers see after a fetch: a few large projects and
+ * many small ones, a handful of busy assignees, and some tasks with subtasks.
+ * The same seed always builds the same graph.
+ *
+ * Collections are identity sets because the entities use Lombok's
+ * {@code @Data}, whose hashCode walks the bidirectional links forever.
+ */
+final class EntityGraph {
+
+    private static final String[] WORDS = {
+            "migrate", "billing", "dashboard", "review", "release", "schema", "invoice", "onboarding",
+            "latency", "export", "report", "cleanup", "audit", "search", "mobile", "sync"
+    };
+    private static final String[] JOB_TITLES = {
+            "Engineer", "Designer", "Product Manager", "QA Analyst", "Data Analyst", null
+    };
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    final List<User> users = new ArrayList<>();
+    final List<Team> teams = new ArrayList<>();
+    final List<TeamMember> members = new ArrayList<>();
+    final List<Project> projects = new ArrayList<>();
+    // Top-level tasks only, like the list endpoints return
+    final List<Task> tasks = new ArrayList<>();
+    final List<Task> allTasks = new ArrayList<>();
+    final Map<Long, TaskChildCounts> counts = new HashMap<>();
+
+    private final Random random;
+    private long nextTaskId = 1;
+
+    private EntityGraph(long seed) {
+        this.random = new Random(seed);
+    }
+
+    static EntityGraph generate(long seed, int userCount, int teamCount, int projectCount) {
+        EntityGraph graph = new EntityGraph(seed);
+        for (int i = 0; i < userCount; i++) {
+            graph.users.add(graph.user(i + 1));
+        }
+        for (int i = 0; i < teamCount; i++) {
+            graph.teams.add(graph.team(i + 1));
+        }
+        for (int i = 0; i < projectCount; i++) {
+            graph.projects.add(graph.project(i + 1, i));
+        }
+        return graph;
+    }
+
+    private User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("{noop}password");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setProfilePictureUrl(random.nextInt(3) == 0 ? null : "https://cdn.example.com/avatars/" + id + ".png");
+        user.setPhoneNumber(random.nextBoolean() ? "+1555" + (1000000 + random.nextInt(9000000)) : null);
+        user.setJobTitle(JOB_TITLES[random.nextInt(JOB_TITLES.length)]);
+        user.setBio(random.nextInt(4) == 0 ? phrase(12 + random.nextInt(20)) : null);
+        user.setRole(random.nextInt(50) == 0 ? UserRole.ADMIN : UserRole.USER);
+        user.setIsActive(random.nextInt(20) != 0);
+        user.setEmailVerified(random.nextInt(5) != 0);
+        user.setLastLogin(BASE.plusMinutes(random.nextInt(60 * 24 * 300)));
+        user.setCreatedAt(BASE.minusDays(random.nextInt(700)));
+        user.setUpdatedAt(BASE.plusDays(random.nextInt(200)));
+        user.setTeamMemberships(identitySet());
+        return user;
+    }
+
+    private Team team(long id) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName("Team " + phrase(2));
+        team.setDescription(phrase(8 + random.nextInt(20)));
+        team.setTeamCode("TEAM" + (1700000000000L + id));
+        team.setAvatarUrl(random.nextBoolean() ? "https://cdn.example.com/teams/" + id + ".png" : null);
+        team.setMaxMembers(50);
+        team.setIsActive(random.nextInt(10) != 0);
+        team.setCreatedAt(BASE.minusDays(random.nextInt(500)));
+        team.setUpdatedAt(BASE.plusDays(random.nextInt(200)));
+        team.setVersion((long) random.nextInt(20));
+        team.setMembers(identitySet());
+        team.setProjects(identitySet());
+
+        int memberCount = 3 + random.nextInt(30);
+        for (int i = 0; i < memberCount; i++) {
+            User user = users.get(random.nextInt(users.size()));
+            TeamMember member = new TeamMember();
+            member.setId((long) members.size() + 1);
+            member.setTeam(team);
+            member.setUser(user);
+            member.setRole(i == 0 ? TeamRole.OWNER : random.nextInt(6) == 0 ? TeamRole.ADMIN : TeamRole.MEMBER);
+            member.setJoinedAt(team.getCreatedAt().plusDays(random.nextInt(300)));
+            member.setUpdatedAt(member.getJoinedAt().plusDays(random.nextInt(30)));
+            member.setIsActive(random.nextInt(8) != 0);
+            team.getMembers().add(member);
+            user.getTeamMemberships().add(member);
+            members.add(member);
+        }
+        return team;
+    }
+
+    // Project sizes fall off with rank, so the first few hold most of the tasks
+    private Project project(long id, int rank) {
+        ProjectStatus[] statuses = ProjectStatus.values();
+        Priority[] priorities = Priority.values();
+
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + phrase(2 + random.nextInt(3)));
+        project.setDescription(random.nextInt(4) == 0 ? null : phrase(10 + random.nextInt(40)));
+        project.setStatus(statuses[random.nextInt(statuses.length)]);
+        project.setPriority(priorities[random.nextInt(priorities.length)]);
+        project.setStartDate(BASE.minusDays(random.nextInt(200)));
+        project.setEndDate(random.nextInt(5) == 0 ? null : BASE.plusDays(random.nextInt(600)));
+        project.setBudget(random.nextInt(3) == 0 ? null : 1000.0 * (1 + random.nextInt(500)));
+        project.setProgressPercentage(random.nextInt(101));
+        project.setColorCode(String.format("#%06x", random.nextInt(0x1000000)));
+        project.setCreatedAt(project.getStartDate());
+        project.setUpdatedAt(BASE.plusDays(random.nextInt(200)));
+        project.setVersion((long) random.nextInt(50));
+        project.setTeam(random.nextInt(10) == 0 ? null : teams.get(random.nextInt(teams.size())));
+        project.setProjectManager(busyUser());
+        project.setTasks(identitySet());
+        if (project.getTeam() != null) {
+            project.getTeam().getProjects().add(project);
+        }
+
+        int taskCount = Math.max(1, 240 / (rank + 1)) + random.nextInt(4);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = task(project, null);
+            tasks.add(task);
+            if (random.nextInt(10) < 3) {
+                int subtaskCount = 1 + random.nextInt(8);
+                for (int j = 0; j < subtaskCount; j++) {
+                    task.getSubtasks().add(task(project, task));
+                }
+            }
+        }
+        for (Task task : project.getTasks()) {
+            counts.put(task.getId(), childCounts(task));
+        }
+        return project;
+    }
+
+    private Task task(Project project, Task parent) {
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+
+        Task task = new Task();
+        task.setId(nextTaskId++);
+        task.setTitle(phrase(3 + random.nextInt(6)));
+        task.setDescription(random.nextInt(3) == 0 ? null : phrase(10 + random.nextInt(60)));
+        task.setStatus(statuses[random.nextInt(statuses.length)]);
+        task.setPriority(priorities[random.nextInt(priorities.length)]);
+        task.setStartDate(random.nextBoolean() ? BASE.plusDays(random.nextInt(100)) : null);
+        task.setDueDate(random.nextInt(4) == 0 ? null : BASE.plusHours(random.nextInt(24 * 500)));
+        task.setCompletedAt(task.getStatus() == TaskStatus.COMPLETED ? BASE.plusDays(random.nextInt(200)) : null);
+        task.setEstimatedHours(random.nextInt(3) == 0 ? null : (double) (1 + random.nextInt(40)));
+        task.setActualHours((double) random.nextInt(50));
+        task.setProgressPercentage(random.nextInt(101));
+        task.setIsMilestone(random.nextInt(25) == 0);
+        task.setCreatedAt(BASE.minusDays(random.nextInt(200)));
+        task.setUpdatedAt(BASE.plusDays(random.nextInt(200)));
+        task.setVersion((long) random.nextInt(30));
+        task.setProject(project);
+        task.setCreator(busyUser());
+        task.setAssignee(random.nextInt(5) == 0 ? null : busyUser());
+        task.setParentTask(parent);
+        task.setSubtasks(identitySet());
+        project.getTasks().add(task);
+        allTasks.add(task);
+        return task;
+    }
+
+    private TaskChildCounts childCounts(Task task) {
+        int completed = (int) task.getSubtasks().stream()
+                .filter(subtask -> subtask.getStatus() == TaskStatus.COMPLETED)
+                .count();
+        return new Counts(task.getId(), task.getSubtasks().size(), completed,
+                random.nextInt(3) == 0 ? random.nextInt(25) : 0,
+                random.nextInt(5) == 0 ? 1 + random.nextInt(4) : 0,
+                random.nextInt(6) == 0 ? 1 + random.nextInt(3) : 0);
+    }
+
+    // Cubing skews picks toward the first users, who end up on most tasks
+    private User busyUser() {
+        double skew = random.nextDouble();
+        return users.get((int) (skew * skew * skew * users.size()));
+    }
+
+    private String phrase(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static <T> Set<T> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private record Counts(Long taskId, Integer subtaskCount, Integer completedSubtaskCount,
+                          Integer commentCount, Integer attachmentCount, Integer dependencyCount)
+            implements TaskChildCounts {
+
+        @Override
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public Integer getSubtaskCount() {
+            return subtaskCount;
+        }
+
+        @Override
+        public Integer getCompletedSubtaskCount() {
+            return completedSubtaskCount;
+        }
+
+        @Override
+        public Integer getCommentCount() {
+            return commentCount;
+        }
+
+        @Override
+        public Integer getAttachmentCount() {
+            return attachmentCount;
+        }
+
+        @Override
+        public Integer getDependencyCount() {
+            return dependencyCount;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.mapper.ProjectMapper;
+import com.taskManagement.mapper.TeamMapper;
+import com.taskManagement.mapper.TeamMemberMapper;
+import com.taskManagement.mapper.UserMapper;
+import com.taskManagement.mapper.task.TaskMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+
+/**
+ * Shared setup for the mapper benchmarks: one seeded {@link EntityGraph} and the
+ * mappers wired by Spring, the way the controllers get them.
+ *
+ * Single-entity benchmarks walk the graph round-robin so every call maps a
+ * different entity; list benchmarks map one page of {@code page} entities.
+ */
+@State(Scope.Thread)
+public abstract class MapperBenchmarkSupport {
+
+    private static final long SEED = 42;
+
+    @Param({"50"})
+    public int page;
+
+    protected EntityGraph graph;
+    protected TaskMapper taskMapper;
+    protected ProjectMapper projectMapper;
+    protected TeamMapper teamMapper;
+    protected TeamMemberMapper teamMemberMapper;
+    protected UserMapper userMapper;
+
+    private AnnotationConfigApplicationContext context;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUpGraph() {
+        graph = EntityGraph.generate(SEED, 500, 40, 120);
+        context = new AnnotationConfigApplicationContext(
+                TaskMapper.class, ProjectMapper.class, TeamMapper.class, TeamMemberMapper.class, UserMapper.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        projectMapper = context.getBean(ProjectMapper.class);
+        teamMapper = context.getBean(TeamMapper.class);
+        teamMemberMapper = context.getBean(TeamMemberMapper.class);
+        userMapper = context.getBean(UserMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    protected <T> T next(List<T> entities) {
+        cursor = cursor + 1 < entities.size() ? cursor + 1 : 0;
+        return entities.get(cursor);
+    }
+
+    protected <T> List<T> firstPage(List<T> entities) {
+        return entities.subList(0, Math.min(page, entities.size()));
+    }
+}
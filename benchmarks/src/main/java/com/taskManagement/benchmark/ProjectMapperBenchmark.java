@@ -0,0 +1,50 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.project.ProjectResponseDTO;
+import com.taskManagement.dto.project.ProjectSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProjectMapper} over the projects of the seeded graph. Response mapping
+ * walks every task of the project twice to count the completed ones, so the
+ * few large projects dominate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectMapperBenchmark extends MapperBenchmarkSupport {
+
+    @Benchmark
+    public ProjectSummaryDTO toSummaryDTO() {
+        return projectMapper.toSummaryDTO(next(graph.projects));
+    }
+
+    @Benchmark
+    public ProjectResponseDTO toResponseDTO() {
+        return projectMapper.toResponseDTO(next(graph.projects));
+    }
+
+    @Benchmark
+    public List<ProjectSummaryDTO> toSummaryDTOList() {
+        return projectMapper.toSummaryDTOList(firstPage(graph.projects));
+    }
+
+    @Benchmark
+    public List<ProjectResponseDTO> toResponseDTOList() {
+        return projectMapper.toResponseDTOList(firstPage(graph.projects));
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.task.TaskResponseDTO;
+import com.taskManagement.dto.task.TaskSummaryDTO;
+import com.taskManagement.mapper.task.TaskMappingHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TaskMapper} and the {@code TaskMappingHelper} calculations over the
+ * top-level tasks of the seeded graph, with child counts looked up the way the
+ * service passes them in. A task response also maps the task's subtasks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark extends MapperBenchmarkSupport {
+
+    @Benchmark
+    public TaskSummaryDTO toSummaryDTO() {
+        return taskMapper.toSummaryDTO(next(graph.tasks), graph.counts);
+    }
+
+    @Benchmark
+    public TaskResponseDTO toResponseDTO() {
+        return taskMapper.toResponseDTO(next(graph.tasks), graph.counts);
+    }
+
+    @Benchmark
+    public List<TaskSummaryDTO> toSummaryDTOList() {
+        return taskMapper.toSummaryDTOList(firstPage(graph.tasks), graph.counts);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> toResponseDTOList() {
+        return taskMapper.toResponseDTOList(firstPage(graph.tasks), graph.counts);
+    }
+
+    @Benchmark
+    public Double calculateCompletionPercentage() {
+        return TaskMappingHelper.calculateCompletionPercentage(next(graph.tasks).getSubtasks());
+    }
+
+    @Benchmark
+    public String calculateTimeRemaining() {
+        return TaskMappingHelper.calculateTimeRemaining(next(graph.allTasks).getDueDate());
+    }
+
+    @Benchmark
+    public String calculateTaskEfficiency() {
+        return TaskMappingHelper.calculateTaskEfficiency(next(graph.allTasks));
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.team.TeamResponseDTO;
+import com.taskManagement.dto.team.TeamSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TeamMapper} over the teams of the seeded graph. A team response embeds
+ * its active members and a summary of every project, so it is the heaviest of
+ * the team mappings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamMapperBenchmark extends MapperBenchmarkSupport {
+
+    @Benchmark
+    public TeamSummaryDTO toSummaryDTO() {
+        return teamMapper.toSummaryDTO(next(graph.teams));
+    }
+
+    @Benchmark
+    public TeamResponseDTO toResponseDTO() {
+        return teamMapper.toResponseDTO(next(graph.teams));
+    }
+
+    @Benchmark
+    public List<TeamSummaryDTO> toSummaryDTOList() {
+        return teamMapper.toSummaryDTOList(firstPage(graph.teams));
+    }
+
+    @Benchmark
+    public List<TeamResponseDTO> toResponseDTOList() {
+        return teamMapper.toResponseDTOList(firstPage(graph.teams));
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.team.member.TeamMemberResponseDTO;
+import com.taskManagement.dto.team.member.TeamMemberSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TeamMemberMapper} over memberships of the seeded graph. The response
+ * mapping includes the member's team summary, which counts its active members.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamMemberMapperBenchmark extends MapperBenchmarkSupport {
+
+    @Benchmark
+    public TeamMemberSummaryDTO toSummaryDTO() {
+        return teamMemberMapper.toSummaryDTO(next(graph.members));
+    }
+
+    @Benchmark
+    public TeamMemberResponseDTO toResponseDTO() {
+        return teamMemberMapper.toResponseDTO(next(graph.members));
+    }
+
+    @Benchmark
+    public List<TeamMemberSummaryDTO> toSummaryDTOList() {
+        return teamMemberMapper.toSummaryDTOList(firstPage(graph.members));
+    }
+
+    @Benchmark
+    public List<TeamMemberResponseDTO> toResponseDTOList() {
+        return teamMemberMapper.toResponseDTOList(firstPage(graph.members));
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskManagement.benchmark;
+
+import com.taskManagement.dto.user.UserResponseDTO;
+import com.taskManagement.dto.user.UserSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UserMapper} over the users of the seeded graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark extends MapperBenchmarkSupport {
+
+    @Benchmark
+    public UserSummaryDTO toSummaryDTO() {
+        return userMapper.toSummaryDTO(next(graph.users));
+    }
+
+    @Benchmark
+    public UserResponseDTO toResponseDTO() {
+        return userMapper.toResponseDTO(next(graph.users));
+    }
+
+    @Benchmark
+    public List<UserSummaryDTO> toSummaryDTOList() {
+        return userMapper.toSummaryDTOList(firstPage(graph.users));
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> toResponseDTOList() {
+        return userMapper.toResponseDTOList(firstPage(graph.users));
+    }
+}
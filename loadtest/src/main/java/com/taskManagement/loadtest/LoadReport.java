@@ -0,0 +1,111 @@
+package com.taskManagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency percentiles per endpoint for one run, in milliseconds. Written as
+ * JSON next to the raw histogram log so two builds can be compared later
+ * without rerunning either.
+ */
+record LoadReport(
+        String label,
+        String workload,
+        String startedAt,
+        int durationSeconds,
+        int users,
+        double rate,
+        Map<String, Endpoint> endpoints) {
+
+    record Endpoint(long count, long errors, double throughput,
+                    double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Endpoint of(Histogram micros, long errors, int durationSeconds) {
+            return new Endpoint(
+                    micros.getTotalCount(),
+                    errors,
+                    round((double) micros.getTotalCount() / durationSeconds),
+                    millis(micros.getValueAtPercentile(50)),
+                    millis(micros.getValueAtPercentile(90)),
+                    millis(micros.getValueAtPercentile(99)),
+                    millis(micros.getValueAtPercentile(99.9)),
+                    millis(micros.getMaxValue()),
+                    round(micros.getMean() / 1000.0));
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static LoadReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadReport.class);
+    }
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%s / %s: %d users, %s, %d s measured%n", workload, label, users,
+                rate > 0 ? rate + " req/s" : "closed loop", durationSeconds);
+        out.printf("%-55s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        new TreeMap<>(endpoints).forEach((name, e) -> out.printf("%-55s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, e.count(), e.errors(), e.throughput(), e.p50(), e.p90(), e.p99(), e.p999(), e.max()));
+    }
+
+    /**
+     * Prints this run next to {@code baseline} and returns the endpoints whose
+     * p99 grew by more than {@code tolerance} or that started failing.
+     */
+    List<String> compareTo(LoadReport baseline, double tolerance, PrintStream out) {
+        List<String> regressions = new ArrayList<>();
+        out.printf("%s (%s) against %s (%s)%n", label, workload, baseline.label(), baseline.workload());
+        out.printf("%-55s %10s %10s %8s %10s %10s %8s%n",
+                "Endpoint", "p50 base", "p50 now", "", "p99 base", "p99 now", "Change");
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint current = entry.getValue();
+            Endpoint previous = baseline.endpoints().get(entry.getKey());
+            if (previous == null) {
+                out.printf("%-55s %10s %10.2f %8s %10s %10.2f %8s%n",
+                        entry.getKey(), "-", current.p50(), "", "-", current.p99(), "new");
+                continue;
+            }
+            double change = previous.p99() > 0 ? (current.p99() - previous.p99()) / previous.p99() : 0;
+            out.printf("%-55s %10.2f %10.2f %8s %10.2f %10.2f %+7.1f%%%n", entry.getKey(),
+                    previous.p50(), current.p50(), "", previous.p99(), current.p99(), change * 100);
+            if (change > tolerance) {
+                regressions.add(String.format("%s: p99 %.2f -> %.2f ms", entry.getKey(), previous.p99(), current.p99()));
+            }
+            if (errorRate(current) > errorRate(previous) + 0.01) {
+                regressions.add(String.format("%s: error rate %.2f%% -> %.2f%%", entry.getKey(),
+                        errorRate(previous) * 100, errorRate(current) * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static double errorRate(Endpoint endpoint) {
+        return endpoint.count() == 0 ? 0 : (double) endpoint.errors() / endpoint.count();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
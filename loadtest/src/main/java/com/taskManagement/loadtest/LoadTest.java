@@ -0,0 +1,264 @@
+package com.taskManagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one workload against a running API and reports latency per endpoint.
+ *
+ * Each virtual user is a thread issuing blocking requests. With {@code rate=0}
+ * they loop as fast as responses come back (closed model). With a rate, each
+ * user sends on a fixed schedule and latency is measured from the scheduled
+ * send time, so a stalled server shows up as queueing delay instead of as
+ * fewer, faster samples (coordinated omission).
+ *
+ * GETs carry the last ETag seen for the same URL, like a browser would; a 304
+ * counts as a success. Latencies go into one HDR histogram per endpoint
+ * template, with microsecond resolution up to a minute.
+ *
+ *   java -jar loadtest.jar workload=dashboard users=64 duration=120 label=main
+ *   java -jar loadtest.jar compare target/loadtest/dashboard-main.json target/loadtest/dashboard-pr.json
+ */
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int ETAG_CACHE_SIZE = 1024;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final Map<String, Recorder> recorders = new TreeMap<>();
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Workload.Operation operation : options.workload().operations()) {
+            recorders.put(operation.endpoint(), new Recorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            System.exit(compare(args));
+        }
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report = new LoadTest(options).run();
+
+        String name = options.workload().workloadName() + "-" + options.label();
+        Path reportFile = options.reportDir().resolve(name + ".json");
+        report.write(reportFile);
+        System.out.println();
+        report.print(System.out);
+        System.out.println("Report written to " + reportFile);
+
+        if (options.baseline() != null) {
+            List<String> regressions = report.compareTo(LoadReport.read(options.baseline()), options.tolerance(), System.out);
+            System.exit(failOnRegressions(regressions, System.out));
+        }
+        System.exit(0);
+    }
+
+    private LoadReport run() throws IOException, InterruptedException {
+        TargetIds ids = TargetIds.probe(client, options.baseUrl());
+        System.out.printf("Target %s: %d users, %d teams, %d projects, %d tasks%n",
+                options.baseUrl(), ids.users(), ids.teams(), ids.projects(), ids.tasks());
+
+        // Split in order so every user gets the same stream on every run
+        SplittableRandom seeds = new SplittableRandom(options.seed());
+        long intervalNanos = options.rate() > 0 ? (long) (options.users() * 1e9 / options.rate()) : 0;
+        long start = System.nanoTime();
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            SplittableRandom random = seeds.split();
+            // Spread the first sends over one interval instead of firing them together
+            long firstSend = start + intervalNanos * i / options.users();
+            Thread user = new Thread(() -> virtualUser(ids, random, firstSend, intervalNanos), "vu-" + i);
+            user.setDaemon(true);
+            user.start();
+            users.add(user);
+        }
+
+        System.out.printf("Warming up %s with %d users for %d s%n",
+                options.workload().workloadName(), options.users(), options.warmupSeconds());
+        TimeUnit.SECONDS.sleep(options.warmupSeconds());
+        recorders.values().forEach(Recorder::reset);
+        recording = true;
+        String startedAt = Instant.now().toString();
+        long measureStart = System.currentTimeMillis();
+
+        System.out.printf("Measuring for %d s%n", options.durationSeconds());
+        TimeUnit.SECONDS.sleep(options.durationSeconds());
+        recording = false;
+        long measureEnd = System.currentTimeMillis();
+        running = false;
+        for (Thread user : users) {
+            user.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        writeHistogramLog(measureStart, measureEnd);
+        Map<String, LoadReport.Endpoint> endpoints = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint,
+                LoadReport.Endpoint.of(recorder.histogram, recorder.errors.sum(), options.durationSeconds())));
+        return new LoadReport(options.label(), options.workload().workloadName(), startedAt,
+                options.durationSeconds(), options.users(), options.rate(), endpoints);
+    }
+
+    // ==================== VIRTUAL USERS ====================
+
+    private void virtualUser(TargetIds ids, SplittableRandom random, long firstSend, long intervalNanos) {
+        Map<String, String> etags = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ETAG_CACHE_SIZE;
+            }
+        };
+        long scheduled = firstSend;
+        while (running) {
+            long sendAt;
+            if (intervalNanos > 0) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                sendAt = scheduled;
+                scheduled += intervalNanos;
+            } else {
+                sendAt = System.nanoTime();
+            }
+            if (!running) {
+                return;
+            }
+
+            Workload.Operation operation = options.workload().pick(random);
+            HttpRequest request = request(operation, ids, random, etags);
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                int status = response.statusCode();
+                failed = status >= 400;
+                if (operation.body() == null && status == 200) {
+                    response.headers().firstValue("ETag").ifPresent(etag -> etags.put(request.uri().toString(), etag));
+                }
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                recorders.get(operation.endpoint()).record(System.nanoTime() - sendAt, failed);
+            }
+        }
+    }
+
+    private HttpRequest request(Workload.Operation operation, TargetIds ids, SplittableRandom random,
+                                Map<String, String> etags) {
+        URI uri = URI.create(options.baseUrl() + operation.path().generate(random, ids));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (operation.method().equals("GET")) {
+            String etag = etags.get(uri.toString());
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            return builder.GET().build();
+        }
+        HttpRequest.BodyPublisher body = operation.body() != null
+                ? HttpRequest.BodyPublishers.ofString(operation.body().generate(random, ids))
+                : HttpRequest.BodyPublishers.noBody();
+        if (operation.body() != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        return builder.method(operation.method(), body).build();
+    }
+
+    /** Latencies and failures of one endpoint template. */
+    private static final class Recorder {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean failed) {
+            histogram.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+    }
+
+    // ==================== REPORTS ====================
+
+    // Raw histograms, one tagged interval per endpoint, for merging or replotting later
+    private void writeHistogramLog(long startMillis, long endMillis) throws IOException {
+        Files.createDirectories(options.reportDir());
+        Path file = options.reportDir().resolve(options.workload().workloadName() + "-" + options.label() + ".hlog");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("workload=" + options.workload().workloadName() + " label=" + options.label()
+                    + " unit=microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.outputLegend();
+            recorders.forEach((endpoint, recorder) -> {
+                Histogram histogram = recorder.histogram.copy();
+                histogram.setStartTimeStamp(startMillis);
+                histogram.setEndTimeStamp(endMillis);
+                histogram.setTag(endpoint.replace(' ', '_'));
+                writer.outputIntervalHistogram(histogram);
+            });
+        }
+    }
+
+    private static int compare(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: compare <baseline.json> <current.json> [tolerance]");
+            return 2;
+        }
+        double tolerance = args.length > 3 ? Double.parseDouble(args[3]) : 0.20;
+        LoadReport baseline = LoadReport.read(Paths.get(args[1]));
+        LoadReport current = LoadReport.read(Paths.get(args[2]));
+        return failOnRegressions(current.compareTo(baseline, tolerance, System.out), System.out);
+    }
+
+    private static int failOnRegressions(List<String> regressions, PrintStream out) {
+        if (regressions.isEmpty()) {
+            out.println("No latency regressions");
+            return 0;
+        }
+        out.println("Latency regressions:");
+        regressions.forEach(regression -> out.println("  " + regression));
+        return 1;
+    }
+}
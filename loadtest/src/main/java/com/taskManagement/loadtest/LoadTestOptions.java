@@ -0,0 +1,66 @@
+package com.taskManagement.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line settings, given as {@code key=value} arguments:
+ *
+ * <pre>
+ *   base-url   API root                                   (http://localhost:8080)
+ *   workload   dashboard | bulk-import | notification-polling   (dashboard)
+ *   users      concurrent virtual users                   (32)
+ *   rate       total requests per second, 0 = as fast as possible  (0)
+ *   warmup     seconds run before recording               (15)
+ *   duration   seconds recorded                           (60)
+ *   seed       seed for IDs and request bodies            (42)
+ *   label      build or commit the run belongs to         (local)
+ *   report-dir where JSON reports and histogram logs go   (target/loadtest)
+ *   baseline   report to compare against after the run    (none)
+ *   tolerance  allowed p99 growth against the baseline    (0.20)
+ * </pre>
+ */
+record LoadTestOptions(
+        URI baseUrl,
+        Workload workload,
+        int users,
+        double rate,
+        int warmupSeconds,
+        int durationSeconds,
+        long seed,
+        String label,
+        Path reportDir,
+        Path baseline,
+        double tolerance) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        String baseline = values.get("baseline");
+        return new LoadTestOptions(
+                URI.create(stripSlash(values.getOrDefault("base-url", "http://localhost:8080"))),
+                Workload.fromName(values.getOrDefault("workload", "dashboard")),
+                Math.max(1, Integer.parseInt(values.getOrDefault("users", "32"))),
+                Math.max(0, Double.parseDouble(values.getOrDefault("rate", "0"))),
+                Math.max(0, Integer.parseInt(values.getOrDefault("warmup", "15"))),
+                Math.max(1, Integer.parseInt(values.getOrDefault("duration", "60"))),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("label", "local"),
+                Paths.get(values.getOrDefault("report-dir", "target/loadtest")),
+                baseline != null ? Paths.get(baseline) : null,
+                Double.parseDouble(values.getOrDefault("tolerance", "0.20")));
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskManagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * ID ranges of the data under test. The dataset generator writes dense IDs
+ * starting at 1, so the highest ID of each resource is found with a handful
+ * of GET-by-ID probes (exponential, then binary search) before the run.
+ */
+record TargetIds(long users, long teams, long projects, long tasks) {
+
+    static TargetIds probe(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+        return new TargetIds(
+                highestId(client, baseUrl + "/api/users/"),
+                highestId(client, baseUrl + "/api/teams/"),
+                highestId(client, baseUrl + "/api/projects/"),
+                highestId(client, baseUrl + "/api/tasks/"));
+    }
+
+    // Busy users, big teams and hot projects have the low IDs, so picks lean that way
+    long user(SplittableRandom random) {
+        return skewed(random, users);
+    }
+
+    long team(SplittableRandom random) {
+        return skewed(random, teams);
+    }
+
+    long project(SplittableRandom random) {
+        return 1 + random.nextLong(projects);
+    }
+
+    long task(SplittableRandom random) {
+        return 1 + random.nextLong(tasks);
+    }
+
+    private static long skewed(SplittableRandom random, long max) {
+        double roll = random.nextDouble();
+        return 1 + (long) (roll * roll * max);
+    }
+
+    private static long highestId(HttpClient client, String resource) throws IOException, InterruptedException {
+        if (!exists(client, resource, 1)) {
+            throw new IllegalStateException("No data at " + resource + "1; load a dataset first");
+        }
+        long low = 1;
+        long high = 2;
+        while (exists(client, resource, high)) {
+            low = high;
+            high *= 2;
+        }
+        // low exists, high does not
+        while (high - low > 1) {
+            long middle = low + (high - low) / 2;
+            if (exists(client, resource, middle)) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static boolean exists(HttpClient client, String resource, long id) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(resource + id))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+}
@@ -0,0 +1,141 @@
+package com.taskManagement.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Scripted request mixes. Each virtual user repeatedly picks an operation by
+ * weight; the operation's endpoint template names the histogram it lands in.
+ */
+enum Workload {
+
+    /** People looking at boards, task pages and their own queues. */
+    DASHBOARD("dashboard", List.of(
+            get(20, "/api/tasks/{id}", (random, ids) -> "/api/tasks/" + ids.task(random)),
+            get(15, "/api/tasks/project/{projectId}/paginated",
+                    (random, ids) -> "/api/tasks/project/" + ids.project(random) + "/paginated?page=0&size=20"),
+            get(10, "/api/tasks/assignee/{assigneeId}/upcoming",
+                    (random, ids) -> "/api/tasks/assignee/" + ids.user(random) + "/upcoming?limit=10"),
+            get(5, "/api/tasks/assignee/{assigneeId}/overdue",
+                    (random, ids) -> "/api/tasks/assignee/" + ids.user(random) + "/overdue"),
+            get(10, "/api/projects/{id}", (random, ids) -> "/api/projects/" + ids.project(random)),
+            get(5, "/api/projects/team/{teamId}", (random, ids) -> "/api/projects/team/" + ids.team(random)),
+            get(5, "/api/teams/{id}", (random, ids) -> "/api/teams/" + ids.team(random)),
+            get(5, "/api/teams/{teamId}/members/active",
+                    (random, ids) -> "/api/teams/" + ids.team(random) + "/members/active"),
+            get(5, "/api/teams/{teamId}/stats", (random, ids) -> "/api/teams/" + ids.team(random) + "/stats"),
+            get(10, "/api/users/{id}", (random, ids) -> "/api/users/" + ids.user(random)),
+            get(10, "/api/notifications/user/{userId}/unread-count",
+                    (random, ids) -> "/api/notifications/user/" + ids.user(random) + "/unread-count"))),
+
+    /** An importer creating tasks and moving them around in bulk. */
+    BULK_IMPORT("bulk-import", List.of(
+            post(50, "/api/tasks", (random, ids) -> "/api/tasks", Workload::newTask),
+            post(15, "/api/tasks/{parentTaskId}/subtasks",
+                    (random, ids) -> "/api/tasks/" + ids.task(random) + "/subtasks", Workload::newTask),
+            patch(15, "/api/tasks/bulk/status",
+                    (random, ids) -> "/api/tasks/bulk/status?status=IN_PROGRESS&userId=" + ids.user(random)
+                            + "&taskIds=" + taskIds(random, ids)),
+            patch(10, "/api/tasks/bulk/assign/{assigneeId}",
+                    (random, ids) -> "/api/tasks/bulk/assign/" + ids.user(random)
+                            + "?userId=" + ids.user(random) + "&taskIds=" + taskIds(random, ids)),
+            get(10, "/api/tasks/project/{projectId}/count/completed",
+                    (random, ids) -> "/api/tasks/project/" + ids.project(random) + "/count/completed"))),
+
+    /** Clients polling for new notifications, occasionally clearing them. */
+    NOTIFICATION_POLLING("notification-polling", List.of(
+            get(65, "/api/notifications/user/{userId}/unread-count",
+                    (random, ids) -> "/api/notifications/user/" + ids.user(random) + "/unread-count"),
+            get(30, "/api/notifications/user/{userId}/inbox",
+                    (random, ids) -> "/api/notifications/user/" + ids.user(random) + "/inbox?size=20"),
+            patch(5, "/api/notifications/user/{userId}/read-all",
+                    (random, ids) -> "/api/notifications/user/" + ids.user(random) + "/read-all")));
+
+    private static final int BULK_SIZE = 50;
+
+    @FunctionalInterface
+    interface Generator {
+        String generate(SplittableRandom random, TargetIds ids);
+    }
+
+    /** One kind of request; {@code body} is null for requests without one. */
+    record Operation(String endpoint, String method, int weight, Generator path, Generator body) {
+    }
+
+    private final String name;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    Workload(String name, List<Operation> operations) {
+        this.name = name;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    String workloadName() {
+        return name;
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    static Workload fromName(String name) {
+        for (Workload workload : values()) {
+            if (workload.name.equals(name)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload: " + name);
+    }
+
+    // ==================== BUILDERS ====================
+
+    private static Operation get(int weight, String template, Generator path) {
+        return new Operation("GET " + template, "GET", weight, path, null);
+    }
+
+    private static Operation post(int weight, String template, Generator path, Generator body) {
+        return new Operation("POST " + template, "POST", weight, path, body);
+    }
+
+    private static Operation patch(int weight, String template, Generator path) {
+        return new Operation("PATCH " + template, "PATCH", weight, path, null);
+    }
+
+    private static String newTask(SplittableRandom random, TargetIds ids) {
+        LocalDateTime due = LocalDateTime.now().plusDays(1 + random.nextInt(60)).truncatedTo(ChronoUnit.MINUTES);
+        return "{\"title\":\"Imported task " + random.nextInt(1_000_000) + "\""
+                + ",\"description\":\"Created by the bulk-import workload\""
+                + ",\"status\":\"TODO\""
+                + ",\"priority\":\"" + (random.nextInt(4) == 0 ? "HIGH" : "MEDIUM") + "\""
+                + ",\"dueDate\":\"" + due + "\""
+                + ",\"estimatedHours\":" + (1 + random.nextInt(40))
+                + ",\"projectId\":" + ids.project(random)
+                + ",\"creatorId\":" + ids.user(random)
+                + ",\"assigneeId\":" + ids.user(random)
+                + "}";
+    }
+
+    private static String taskIds(SplittableRandom random, TargetIds ids) {
+        StringJoiner joined = new StringJoiner(",");
+        for (int i = 0; i < BULK_SIZE; i++) {
+            joined.add(Long.toString(ids.task(random)));
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskManagement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.taskManagement.dto.common.ApiResponseSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modules Spring Boot installs on the shared ObjectMapper, in addition to the
+ * ones it detects itself. The benchmarks module builds its mappers from these
+ * same beans.
+ */
+@Configuration
+public class JacksonConfig {
+
+    // Getters are called through LambdaMetafactory-generated accessors instead of Method.invoke
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module apiResponseModule() {
+        return new SimpleModule("ApiResponseModule")
+                .addSerializer(new ApiResponseSerializer());
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskManagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service implementations as
+ * {@code service.method{class, method, outcome}}. Controllers are already
+ * timed per endpoint by Spring's {@code http.server.requests}.
+ *
+ * Timers are looked up once per method and kept, so a call costs two
+ * {@code nanoTime} reads and a counter update. Ordered outside the
+ * transaction advice so flush and commit time count towards the method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "service.method";
+
+    // Resolved on first use: aspects are built early and would otherwise create the registry before it is configured
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.taskManagement.service.impl..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            Timer[] pair = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                    method -> register(joinPoint.getTarget(), method));
+            pair[failed ? 1 : 0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(Object target, Method method) {
+        String className = ClassUtils.getUserClass(target).getSimpleName();
+        return new Timer[]{timer(className, method, "success"), timer(className, method, "error")};
+    }
+
+    private Timer timer(String className, Method method, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Time spent in service methods, including the transaction commit")
+                .tag("class", className)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry.getObject());
+    }
+}
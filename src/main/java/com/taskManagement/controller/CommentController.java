@@ -0,0 +1,167 @@
+package com.taskManagement.controller;
+
+import com.taskManagement.dto.comment.CommentCreateDTO;
+import com.taskManagement.dto.comment.CommentResponseDTO;
+import com.taskManagement.dto.comment.CommentThreadPageDTO;
+import com.taskManagement.dto.comment.CommentUpdateDTO;
+import com.taskManagement.dto.common.ApiResponse;
+import com.taskManagement.entity.Comment;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.exception.UnauthorizedException;
+import com.taskManagement.mapper.CommentMapper;
+import com.taskManagement.service.CommentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/comments")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Validated
+public class CommentController {
+
+    private final CommentService commentService;
+    private final CommentMapper commentMapper;
+
+    // ==================== BASIC CRUD OPERATIONS ====================
+
+    @PostMapping("/task/{taskId}")
+    public ResponseEntity<ApiResponse<CommentResponseDTO>> createComment(
+            @PathVariable Long taskId,
+            @Valid @RequestBody CommentCreateDTO createDTO) {
+        log.info("Creating comment on task {} by user {}", taskId, createDTO.getAuthorId());
+        try {
+            Comment comment = commentMapper.toEntity(taskId, createDTO);
+            Comment saved = createDTO.getParentCommentId() != null
+                    ? commentService.replyToComment(createDTO.getParentCommentId(), comment)
+                    : commentService.createComment(comment);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(commentMapper.toResponseDTO(saved), "Comment created successfully"));
+        } catch (BadRequestException e) {
+            log.error("Error creating comment: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (UnauthorizedException e) {
+            log.error("Error creating comment: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error creating comment: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error creating comment: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to create comment: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CommentResponseDTO>> getCommentById(@PathVariable Long id) {
+        log.debug("Fetching comment: {}", id);
+        return commentService.getCommentById(id)
+                .map(comment -> ResponseEntity.ok(ApiResponse.success(commentMapper.toResponseDTO(comment), "Comment found")))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Comment not found with ID: " + id)));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<CommentResponseDTO>> updateComment(
+            @PathVariable Long id,
+            @RequestParam Long userId,
+            @Valid @RequestBody CommentUpdateDTO updateDTO) {
+        log.info("Updating comment {} by user {}", id, userId);
+        try {
+            if (!commentService.canUserEditComment(userId, id)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("Only the author can edit this comment"));
+            }
+            Comment updated = commentService.updateComment(id, updateDTO.getContent());
+            return ResponseEntity.ok(ApiResponse.success(commentMapper.toResponseDTO(updated), "Comment updated successfully"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error updating comment: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error updating comment: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update comment: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteComment(
+            @PathVariable Long id,
+            @RequestParam Long userId) {
+        log.info("Deleting comment {} by user {}", id, userId);
+        try {
+            if (!commentService.canUserDeleteComment(userId, id)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("Not allowed to delete this comment"));
+            }
+            commentService.deleteComment(id);
+            return ResponseEntity.ok(ApiResponse.success(null, "Comment deleted successfully"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error deleting comment: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error deleting comment: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to delete comment: " + e.getMessage()));
+        }
+    }
+
+    // ==================== THREADS ====================
+
+    /**
+     * A task's discussion as thread trees, oldest thread first. Each page holds
+     * up to {@code size} top-level comments with all of their replies nested.
+     */
+    @GetMapping("/task/{taskId}/threads")
+    public ResponseEntity<ApiResponse<CommentThreadPageDTO>> getCommentThreads(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Fetching comment threads for task: {}", taskId);
+        try {
+            CommentThreadPageDTO page = commentService.getCommentThreads(taskId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(page, page.getThreads().size()));
+        } catch (BadRequestException e) {
+            log.error("Error fetching comment threads: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error fetching comment threads: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error fetching comment threads: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get comment threads: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<ApiResponse<List<CommentResponseDTO>>> getReplies(@PathVariable Long id) {
+        log.debug("Fetching replies for comment: {}", id);
+        try {
+            List<CommentResponseDTO> replies = commentMapper.toResponseDTOList(commentService.getRepliesForComment(id));
+            return ResponseEntity.ok(ApiResponse.success(replies, replies.size()));
+        } catch (Exception e) {
+            log.error("Error getting replies: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get replies: " + e.getMessage()));
+        }
+    }
+
+}
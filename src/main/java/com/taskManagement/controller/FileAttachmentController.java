@@ -0,0 +1,509 @@
+package com.taskManagement.controller;
+
+import com.taskManagement.dto.common.ApiResponse;
+import com.taskManagement.dto.file.FileAttachmentResponseDTO;
+import com.taskManagement.dto.file.OrphanReconciliationDTO;
+import com.taskManagement.dto.file.StorageUsageDTO;
+import com.taskManagement.dto.file.UploadSessionDTO;
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.entity.StorageScope;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.BusinessLogicException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.mapper.FileAttachmentMapper;
+import com.taskManagement.service.FileAttachmentService;
+import com.taskManagement.service.file.ChunkedUploadManager;
+import com.taskManagement.service.file.OrphanFileReconciler;
+import com.taskManagement.service.file.StorageUsageTracker;
+import com.taskManagement.service.file.ThumbnailGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/files")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Validated
+public class FileAttachmentController {
+
+    // Request attributes understood by Tomcat's NIO connector
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileAttachmentService fileAttachmentService;
+    private final FileAttachmentMapper fileAttachmentMapper;
+    private final ChunkedUploadManager uploadManager;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final StorageUsageTracker storageUsageTracker;
+    private final OrphanFileReconciler orphanFileReconciler;
+
+    @Value("${file.download.sendfile-threshold-bytes:49152}")
+    private long sendfileThreshold;
+
+    // ==================== UPLOAD & METADATA ====================
+
+    @PostMapping(value = "/task/{taskId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<FileAttachmentResponseDTO>> uploadFile(
+            @PathVariable Long taskId,
+            @RequestParam Long userId,
+            @RequestParam("file") MultipartFile file) {
+        log.info("Uploading file to task {} by user {}", taskId, userId);
+        try {
+            FileAttachment saved = fileAttachmentService.uploadFile(taskId, userId, file);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(fileAttachmentMapper.toResponseDTO(saved), "File uploaded successfully"));
+        } catch (BadRequestException e) {
+            log.error("Error uploading file: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error uploading file: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error uploading file: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to upload file: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<FileAttachmentResponseDTO>> getFileById(@PathVariable Long id) {
+        log.debug("Fetching file attachment: {}", id);
+        return fileAttachmentService.getFileById(id)
+                .map(file -> ResponseEntity.ok(ApiResponse.success(fileAttachmentMapper.toResponseDTO(file), "File found")))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("File not found with ID: " + id)));
+    }
+
+    @GetMapping("/task/{taskId}")
+    public ResponseEntity<ApiResponse<List<FileAttachmentResponseDTO>>> getFilesByTask(@PathVariable Long taskId) {
+        log.debug("Fetching files for task: {}", taskId);
+        try {
+            List<FileAttachmentResponseDTO> files = fileAttachmentMapper.toResponseDTOList(
+                    fileAttachmentService.getFilesByTaskIdOrderByDate(taskId));
+            return ResponseEntity.ok(ApiResponse.success(files, files.size()));
+        } catch (Exception e) {
+            log.error("Error getting files for task: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get files: " + e.getMessage()));
+        }
+    }
+
+    // Served from the maintained counters, not aggregated per request
+    @GetMapping("/usage/{scope}/{scopeId}")
+    public ResponseEntity<ApiResponse<StorageUsageDTO>> getStorageUsage(
+            @PathVariable StorageScope scope,
+            @PathVariable Long scopeId) {
+        log.debug("Fetching storage usage for {} {}", scope, scopeId);
+        try {
+            StorageUsageDTO usage = storageUsageTracker.getUsage(scope, scopeId);
+            return ResponseEntity.ok(ApiResponse.success(usage, "Storage usage retrieved"));
+        } catch (Exception e) {
+            log.error("Error getting storage usage: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get storage usage: " + e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/{id}/visibility")
+    public ResponseEntity<ApiResponse<FileAttachmentResponseDTO>> updateVisibility(
+            @PathVariable Long id,
+            @RequestParam boolean isPublic) {
+        log.info("Setting visibility of file {} to public={}", id, isPublic);
+        try {
+            FileAttachment file = fileAttachmentService.updateFileVisibility(id, isPublic);
+            return ResponseEntity.ok(ApiResponse.success(fileAttachmentMapper.toResponseDTO(file), "File visibility updated"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error updating file visibility: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error updating file visibility: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update file visibility: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<String>> deleteFile(@PathVariable Long id, @RequestParam(required = false) Long userId) {
+        log.info("Deleting file attachment {} by user {}", id, userId);
+        try {
+            fileAttachmentService.deleteFile(id, userId);
+            return ResponseEntity.ok(ApiResponse.success("File deleted", "File deleted successfully"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error deleting file: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error deleting file: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to delete file: " + e.getMessage()));
+        }
+    }
+
+    // ==================== CHUNKED UPLOADS ====================
+
+    /**
+     * Start a resumable upload. Chunks are then sent with
+     * {@code PUT /uploads/{sessionId}?offset=...} and the upload is finished with
+     * {@code POST /uploads/{sessionId}/complete}.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ApiResponse<UploadSessionDTO>> createUploadSession(
+            @RequestParam Long taskId,
+            @RequestParam Long userId,
+            @RequestParam String fileName,
+            @RequestParam(required = false) String fileType,
+            @RequestParam long totalSize,
+            @RequestParam(required = false) Integer chunkSize) {
+        log.info("Creating upload session for {} ({} bytes) on task {}", fileName, totalSize, taskId);
+        try {
+            UploadSessionDTO session = uploadManager.createSession(taskId, userId, fileName, fileType, totalSize, chunkSize);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(session, "Upload session created"));
+        } catch (BadRequestException e) {
+            log.error("Error creating upload session: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error creating upload session: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (BusinessLogicException e) {
+            log.warn("Upload session rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error creating upload session: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to create upload session: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping(value = "/uploads/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<UploadSessionDTO>> uploadChunk(
+            @PathVariable String sessionId,
+            @RequestParam long offset,
+            HttpServletRequest request) {
+        log.debug("Receiving chunk at offset {} for upload session {}", offset, sessionId);
+        try {
+            UploadSessionDTO session = uploadManager.writeChunk(sessionId, offset, request.getInputStream());
+            return ResponseEntity.ok(ApiResponse.success(session, "Chunk received"));
+        } catch (BadRequestException e) {
+            log.error("Error receiving chunk: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error receiving chunk: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (BusinessLogicException e) {
+            log.error("Error receiving chunk: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error receiving chunk: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to store chunk: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/uploads/{sessionId}")
+    public ResponseEntity<ApiResponse<UploadSessionDTO>> getUploadSession(@PathVariable String sessionId) {
+        log.debug("Fetching upload session: {}", sessionId);
+        try {
+            return ResponseEntity.ok(ApiResponse.success(uploadManager.getSession(sessionId), "Upload session found"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/uploads/{sessionId}/complete")
+    public ResponseEntity<ApiResponse<FileAttachmentResponseDTO>> completeUpload(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String checksum) {
+        log.info("Completing upload session: {}", sessionId);
+        try {
+            FileAttachment saved = uploadManager.complete(sessionId, checksum);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(fileAttachmentMapper.toResponseDTO(saved), "File uploaded successfully"));
+        } catch (BadRequestException e) {
+            log.error("Error completing upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error completing upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (BusinessLogicException e) {
+            log.error("Error completing upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error completing upload: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to complete upload: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/uploads/{sessionId}")
+    public ResponseEntity<ApiResponse<String>> abortUpload(@PathVariable String sessionId) {
+        log.info("Aborting upload session: {}", sessionId);
+        uploadManager.abort(sessionId);
+        return ResponseEntity.ok(ApiResponse.success("Upload aborted", "Upload session removed"));
+    }
+
+    // ==================== DOWNLOAD ====================
+
+    /**
+     * Stream a stored file without buffering it on the heap.
+     * Supports single byte ranges ({@code Range} / {@code If-Range}) for resumable
+     * downloads and answers {@code If-None-Match} from the content checksum. On
+     * Tomcat the bytes go out through sendfile; elsewhere through
+     * {@link FileChannel#transferTo}.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+            @PathVariable Long id,
+            @RequestHeader HttpHeaders requestHeaders,
+            HttpServletRequest request) {
+        FileAttachment file = fileAttachmentService.getFileById(id).orElse(null);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Path path;
+        try {
+            path = fileAttachmentService.getStoredFilePath(file);
+        } catch (ResourceNotFoundException e) {
+            log.error("Error downloading file {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        long size = file.getFileSize();
+        String etag = etagOf(file);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        if (file.getUpdatedAt() != null) {
+            headers.setLastModified(file.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+
+        if (requestHeaders.getIfNoneMatch().contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(requestHeaders.getFirst(HttpHeaders.IF_RANGE), etag, file)) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            // Multi-range requests get the whole file, which the spec allows
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = Math.max(0, end - start + 1);
+        headers.setContentType(mediaTypeOf(file));
+        headers.setContentLength(length);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(file.getOriginalFileName(), StandardCharsets.UTF_8)
+                .build());
+
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+        if (!head && start == 0) {
+            // Resumed chunks of the same download are not counted again
+            fileAttachmentService.incrementDownloadCount(id);
+        }
+        if (head || length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) && length >= sendfileThreshold) {
+            // Tomcat writes the file from the kernel once the handler returns without a body
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        long offset = start;
+        StreamingResponseBody body = out -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = offset;
+                long remaining = length;
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+        };
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    // ==================== THUMBNAILS ====================
+
+    /**
+     * Serve a thumbnail of an image attachment, snapped to the nearest generated
+     * size. Thumbnails never change for a given attachment, so the client may
+     * cache them for a year; like downloads they are private, never stored by
+     * shared caches. Answers 202 while the thumbnail is still being generated.
+     */
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<Resource> getThumbnail(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "256") int size,
+            @RequestHeader HttpHeaders requestHeaders) {
+        FileAttachment file = fileAttachmentService.getFileById(id).orElse(null);
+        if (file == null || file.getChecksum() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int snapped = thumbnailGenerator.snapSize(size);
+        String etag = "\"" + file.getChecksum() + "-" + snapped + "\"";
+        if (requestHeaders.getIfNoneMatch().contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return thumbnailGenerator.find(file.getChecksum(), snapped)
+                .map(path -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                        .eTag(etag)
+                        .<Resource>body(new FileSystemResource(path)))
+                .orElseGet(() -> {
+                    // Existing thumbnails prove the content is an image; otherwise look at the bytes
+                    if (!thumbnailGenerator.supports(file.getChecksum())) {
+                        return ResponseEntity.notFound().build();
+                    }
+                    // Uploaded before thumbnails existed, or dropped from a full queue
+                    thumbnailGenerator.submit(file.getChecksum());
+                    return ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .cacheControl(CacheControl.noStore())
+                            .header(HttpHeaders.RETRY_AFTER, "2")
+                            .build();
+                });
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    /**
+     * Reconcile stored files against the database. Dry run by default, which
+     * only reports orphaned and missing files.
+     */
+    @PostMapping("/maintenance/reconcile")
+    public ResponseEntity<ApiResponse<OrphanReconciliationDTO>> reconcileStorage(
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        log.info("Reconciling attachment storage (dryRun={})", dryRun);
+        try {
+            OrphanReconciliationDTO result = orphanFileReconciler.reconcile(dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result,
+                    dryRun ? "Reconciliation dry run completed" : "Reconciliation completed"));
+        } catch (BusinessLogicException e) {
+            log.warn("Reconciliation rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error reconciling storage: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to reconcile storage: " + e.getMessage()));
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private String etagOf(FileAttachment file) {
+        String tag = file.getChecksum() != null ? file.getChecksum() : file.getId() + "-" + file.getFileSize();
+        return "\"" + tag + "\"";
+    }
+
+    private MediaType mediaTypeOf(FileAttachment file) {
+        try {
+            return MediaType.parseMediaType(file.getFileType());
+        } catch (Exception e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header: {}", rangeHeader);
+            return List.of();
+        }
+    }
+
+    /**
+     * A range only applies when the client's copy is still current: If-Range
+     * carries either the strong ETag or the Last-Modified date it was served with.
+     */
+    private boolean ifRangeMatches(String ifRange, String etag, FileAttachment file) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(etag);
+        }
+        if (file.getUpdatedAt() == null) {
+            return false;
+        }
+        try {
+            ZonedDateTime since = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return !file.getUpdatedAt().atZone(ZoneId.systemDefault()).withNano(0).toInstant()
+                    .isAfter(since.toInstant());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+}
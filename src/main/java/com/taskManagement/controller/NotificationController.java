@@ -0,0 +1,199 @@
+package com.taskManagement.controller;
+
+import com.taskManagement.dto.common.ApiResponse;
+import com.taskManagement.dto.notification.NotificationPageDTO;
+import com.taskManagement.dto.notification.NotificationPipelineStatsDTO;
+import com.taskManagement.dto.notification.NotificationResponseDTO;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.mapper.NotificationMapper;
+import com.taskManagement.service.NotificationService;
+import com.taskManagement.service.notification.NotificationCoalescer;
+import com.taskManagement.service.notification.NotificationStreamRegistry;
+import com.taskManagement.service.notification.NotificationWritePipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Validated
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NotificationMapper notificationMapper;
+    private final NotificationStreamRegistry streamRegistry;
+    private final NotificationWritePipeline writePipeline;
+    private final NotificationCoalescer coalescer;
+
+    @Value("${notification.stream.replay-limit:200}")
+    private int replayLimit;
+
+    // ==================== PUSH CHANNEL ====================
+
+    /**
+     * Open a Server-Sent Events stream of new notifications for a user.
+     * Reconnecting clients send the last received event ID and get the missed
+     * notifications replayed from the database before live events resume.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestParam Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Opening notification stream for user: {}", userId);
+        Long resumeAfter = parseEventId(lastEventId);
+
+        return streamRegistry.subscribe(userId, () -> {
+            if (resumeAfter == null) {
+                return List.of();
+            }
+            List<NotificationResponseDTO> missed = notificationMapper.toResponseDTOList(
+                    notificationService.getNotificationsAfter(userId, resumeAfter, replayLimit));
+            log.debug("Replaying {} notifications for user {} after event {}", missed.size(), userId, resumeAfter);
+            return missed;
+        });
+    }
+
+    // ==================== INBOX ====================
+
+    @GetMapping("/user/{userId}/inbox")
+    public ResponseEntity<ApiResponse<NotificationPageDTO>> getInbox(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Fetching notification inbox for user: {}", userId);
+        try {
+            NotificationPageDTO page = notificationService.getInbox(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(page, page.getItems().size()));
+        } catch (BadRequestException e) {
+            log.error("Error fetching inbox: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching notification inbox: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get notifications: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(@PathVariable Long userId) {
+        log.debug("Counting unread notifications for user: {}", userId);
+        try {
+            long count = notificationService.countUnreadNotifications(userId);
+            return ResponseEntity.ok(ApiResponse.success(count, "Unread count retrieved"));
+        } catch (Exception e) {
+            log.error("Error counting unread notifications: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to count unread notifications: " + e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<NotificationResponseDTO>> markAsRead(@PathVariable Long id) {
+        log.info("Marking notification as read: {}", id);
+        try {
+            NotificationResponseDTO notification = notificationMapper.toResponseDTO(notificationService.markAsRead(id));
+            return ResponseEntity.ok(ApiResponse.success(notification, "Notification marked as read"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error marking notification as read: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error marking notification as read: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to mark notification as read: " + e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/user/{userId}/read-all")
+    public ResponseEntity<ApiResponse<String>> markAllAsRead(@PathVariable Long userId) {
+        log.info("Marking all notifications as read for user: {}", userId);
+        try {
+            notificationService.markAllAsRead(userId);
+            return ResponseEntity.ok(ApiResponse.success("All notifications read", "Notifications marked as read"));
+        } catch (Exception e) {
+            log.error("Error marking all notifications as read: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to mark notifications as read: " + e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/bulk/read")
+    public ResponseEntity<ApiResponse<String>> markMultipleAsRead(@RequestParam List<Long> notificationIds) {
+        log.info("Bulk marking {} notifications as read", notificationIds.size());
+        try {
+            notificationService.markMultipleAsRead(notificationIds);
+            String message = "Successfully marked " + notificationIds.size() + " notifications as read";
+            return ResponseEntity.ok(ApiResponse.success(message, "Bulk read update completed"));
+        } catch (Exception e) {
+            log.error("Error in bulk read update: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to mark notifications as read: " + e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/user/{userId}/digest")
+    public ResponseEntity<ApiResponse<String>> setDigestMode(
+            @PathVariable Long userId,
+            @RequestParam boolean enabled) {
+        log.info("Setting notification digest mode for user {}: {}", userId, enabled);
+        try {
+            notificationService.setDigestMode(userId, enabled);
+            String message = enabled ? "Digest mode enabled" : "Digest mode disabled";
+            return ResponseEntity.ok(ApiResponse.success(message, "Notification preferences updated"));
+        } catch (ResourceNotFoundException e) {
+            log.error("Error updating digest mode: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error updating digest mode: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update digest mode: " + e.getMessage()));
+        }
+    }
+
+    // ==================== PIPELINE STATISTICS ====================
+
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<ApiResponse<NotificationPipelineStatsDTO>> getPipelineStats() {
+        log.debug("Getting notification pipeline statistics");
+        try {
+            NotificationPipelineStatsDTO stats = writePipeline.getStats();
+            stats.setCoalesced(coalescer.getCoalescedCount());
+            stats.setDigested(coalescer.getDigestedCount());
+            stats.setOpenBursts(coalescer.getOpenBurstCount());
+            return ResponseEntity.ok(ApiResponse.success(stats, "Pipeline statistics retrieved"));
+        } catch (Exception e) {
+            log.error("Error getting notification pipeline statistics: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get pipeline statistics: " + e.getMessage()));
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
+
+}
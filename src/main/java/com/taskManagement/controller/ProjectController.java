@@ -1,18 +1,24 @@
 package com.taskManagement.controller;
 
+import com.taskManagement.dto.activity.ActivityFeedDTO;
 import com.taskManagement.dto.common.ApiResponse;
 import com.taskManagement.dto.project.*;
 import com.taskManagement.entity.Priority;
 import com.taskManagement.entity.ProjectStatus;
+import com.taskManagement.exception.PreconditionFailedException;
 import com.taskManagement.service.ProjectService;
+import com.taskManagement.service.etag.ResourceETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
@@ -24,13 +30,14 @@ import java.util.Optional;
 @RequestMapping("/api/projects")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @Validated
 
 
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ResourceETags resourceETags;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -53,9 +60,12 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ProjectResponseDTO>> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ProjectResponseDTO>> getProjectById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Getting project by ID: {}", id);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.project(id))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             Optional<ProjectResponseDTO> project = projectService.getProjectById(id);
             if (project.isPresent()) {
                 return ResponseEntity.ok(ApiResponse.success(project.get(), "Project found"));
@@ -71,9 +81,12 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProjectResponseDTO>>> getAllProjects() {
+    public ResponseEntity<ApiResponse<List<ProjectResponseDTO>>> getAllProjects(WebRequest webRequest) {
         log.info("Getting all projects");
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.projects())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<ProjectResponseDTO> projects = projectService.getAllProjects();
             return ResponseEntity.ok(ApiResponse.success(projects, projects.size()));
         } catch (Exception e) {
@@ -98,11 +111,16 @@ public class ProjectController {
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProjectResponseDTO>> updateProject(@PathVariable Long id,
-                                                                         @Valid @RequestBody ProjectUpdateDTO projectUpdateDTO) {
+                                                                         @Valid @RequestBody ProjectUpdateDTO projectUpdateDTO,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating project with ID: {}", id);
         try {
-            ProjectResponseDTO updatedProject = projectService.updateProject(id, projectUpdateDTO);
-            return ResponseEntity.ok(ApiResponse.success(updatedProject, "Project updated successfully"));
+            ProjectResponseDTO updatedProject = projectService.updateProject(id, projectUpdateDTO, resourceETags.projectVersion(ifMatch, id));
+            return resourceETags.projectWritten(id, updatedProject.getVersion()).body(ApiResponse.success(updatedProject, "Project updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of project {}: {}", id, e.getMessage());
+            return resourceETags.projectConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating project: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -215,11 +233,16 @@ public class ProjectController {
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<ProjectResponseDTO>> updateProjectStatus(@PathVariable Long id,
-                                                                               @RequestBody ProjectStatusUpdateRequest request) {
+                                                                               @RequestBody ProjectStatusUpdateRequest request,
+                                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating project status for ID: {} to {}", id, request.getStatus());
         try {
-            ProjectResponseDTO updatedProject = projectService.updateProjectStatus(id, request.getStatus());
-            return ResponseEntity.ok(ApiResponse.success(updatedProject, "Project status updated successfully"));
+            ProjectResponseDTO updatedProject = projectService.updateProjectStatus(id, request.getStatus(), resourceETags.projectVersion(ifMatch, id));
+            return resourceETags.projectWritten(id, updatedProject.getVersion()).body(ApiResponse.success(updatedProject, "Project status updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of project {}: {}", id, e.getMessage());
+            return resourceETags.projectConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating project status: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -233,11 +256,16 @@ public class ProjectController {
 
     @PatchMapping("/{id}/progress")
     public ResponseEntity<ApiResponse<ProjectResponseDTO>> updateProjectProgress(@PathVariable Long id,
-                                                                                 @RequestBody ProjectProgressUpdateRequest request) {
+                                                                                 @RequestBody ProjectProgressUpdateRequest request,
+                                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating project progress for ID: {} to {}%", id, request.getProgressPercentage());
         try {
-            ProjectResponseDTO updatedProject = projectService.updateProjectProgress(id, request.getProgressPercentage());
-            return ResponseEntity.ok(ApiResponse.success(updatedProject, "Project progress updated successfully"));
+            ProjectResponseDTO updatedProject = projectService.updateProjectProgress(id, request.getProgressPercentage(), resourceETags.projectVersion(ifMatch, id));
+            return resourceETags.projectWritten(id, updatedProject.getVersion()).body(ApiResponse.success(updatedProject, "Project progress updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of project {}: {}", id, e.getMessage());
+            return resourceETags.projectConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating project progress: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -249,6 +277,24 @@ public class ProjectController {
         }
     }
 
+    // ==================== ACTIVITY ====================
+
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ApiResponse<ActivityFeedDTO>> getProjectActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Getting activity for project ID: {} before: {}", id, before);
+        try {
+            ActivityFeedDTO feed = projectService.getProjectActivity(id, before, limit);
+            return ResponseEntity.ok(ApiResponse.success(feed, "Project activity retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Error getting project activity: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get project activity: " + e.getMessage()));
+        }
+    }
+
     // ==================== REQUEST CLASSES ====================
 
     public static class ProjectStatusUpdateRequest {
@@ -5,19 +5,25 @@ import com.taskManagement.dto.common.ApiResponse;
 import com.taskManagement.dto.task.*;
 import com.taskManagement.entity.Priority;
 import com.taskManagement.entity.TaskStatus;
+import com.taskManagement.exception.PreconditionFailedException;
+import com.taskManagement.exception.ResourceNotFoundException;
 import com.taskManagement.service.TaskService;
+import com.taskManagement.service.etag.ResourceETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,11 +32,12 @@ import java.util.List;
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @Validated
 public class TaskController {
 
     private final TaskService taskService;
+    private final ResourceETags resourceETags;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -59,9 +66,12 @@ public class TaskController {
      * Get task by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<TaskResponseDTO>> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<TaskResponseDTO>> getTaskById(@PathVariable Long id, WebRequest webRequest) {
         log.debug("Fetching task with ID: {}", id);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.task(id))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             TaskResponseDTO task = taskService.getTaskById(id);
             return ResponseEntity.ok(ApiResponse.success(task, "Task found"));
         } catch (Exception e) {
@@ -75,9 +85,12 @@ public class TaskController {
      * Get all tasks
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TaskResponseDTO>>> getAllTasks() {
+    public ResponseEntity<ApiResponse<List<TaskResponseDTO>>> getAllTasks(WebRequest webRequest) {
         log.debug("Fetching all tasks");
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasks())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskResponseDTO> tasks = taskService.getAllTasks();
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -93,11 +106,17 @@ public class TaskController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TaskResponseDTO>> updateTask(
             @PathVariable Long id,
-            @Valid @RequestBody TaskUpdateDTO updateDTO) {
-        log.info("Updating task with ID: {}", id);
-        try {
-            TaskResponseDTO updatedTask = taskService.updateTask(id, updateDTO);
-            return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task updated successfully"));
+            @Valid @RequestBody TaskUpdateDTO updateDTO,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Updating task {} by user {}", id, userId);
+        try {
+            TaskResponseDTO updatedTask = taskService.updateTask(id, updateDTO, userId, resourceETags.taskVersion(ifMatch, id));
+            return resourceETags.taskWritten(id, updatedTask.getVersion()).body(ApiResponse.success(updatedTask, "Task updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of task {}: {}", id, e.getMessage());
+            return resourceETags.taskConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating task: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -135,9 +154,12 @@ public class TaskController {
      * Get all tasks for a specific project
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getTasksByProject(@PathVariable Long projectId, WebRequest webRequest) {
         log.debug("Fetching tasks for project: {}", projectId);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasksByProject(projectId))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskSummaryDTO> tasks = taskService.getTasksByProjectId(projectId);
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -151,9 +173,12 @@ public class TaskController {
      * Get tasks for a project ordered by due date
      */
     @GetMapping("/project/{projectId}/ordered")
-    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getTasksByProjectOrderedByDate(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getTasksByProjectOrderedByDate(@PathVariable Long projectId, WebRequest webRequest) {
         log.debug("Fetching ordered tasks for project: {}", projectId);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasksByProject(projectId))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskSummaryDTO> tasks = taskService.getTasksByProjectIdOrderByDate(projectId);
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -212,9 +237,12 @@ public class TaskController {
      * Get root tasks (no parent) for a project
      */
     @GetMapping("/project/{projectId}/root")
-    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getRootTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getRootTasksByProject(@PathVariable Long projectId, WebRequest webRequest) {
         log.debug("Fetching root tasks for project: {}", projectId);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasksByProject(projectId))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskSummaryDTO> tasks = taskService.getRootTasksByProject(projectId);
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -228,9 +256,12 @@ public class TaskController {
      * Get unassigned tasks for a project
      */
     @GetMapping("/project/{projectId}/unassigned")
-    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getUnassignedTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getUnassignedTasksByProject(@PathVariable Long projectId, WebRequest webRequest) {
         log.debug("Fetching unassigned tasks for project: {}", projectId);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasksByProject(projectId))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskSummaryDTO> tasks = taskService.getUnassignedTasksByProject(projectId);
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -244,9 +275,12 @@ public class TaskController {
      * Get milestone tasks for a project
      */
     @GetMapping("/project/{projectId}/milestones")
-    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getMilestoneTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getMilestoneTasksByProject(@PathVariable Long projectId, WebRequest webRequest) {
         log.debug("Fetching milestone tasks for project: {}", projectId);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.tasksByProject(projectId))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TaskSummaryDTO> tasks = taskService.getMilestoneTasksByProject(projectId);
             return ResponseEntity.ok(ApiResponse.success(tasks, tasks.size()));
         } catch (Exception e) {
@@ -455,11 +489,17 @@ public class TaskController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<TaskResponseDTO>> updateTaskStatus(
             @PathVariable Long id,
-            @RequestParam TaskStatus status) {
-        log.info("Updating task status: {} to {}", id, status);
-        try {
-            TaskResponseDTO updatedTask = taskService.updateTaskStatus(id, status);
-            return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task status updated successfully"));
+            @RequestParam TaskStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Updating task status: {} to {} by user {}", id, status, userId);
+        try {
+            TaskResponseDTO updatedTask = taskService.updateTaskStatus(id, status, userId, resourceETags.taskVersion(ifMatch, id));
+            return resourceETags.taskWritten(id, updatedTask.getVersion()).body(ApiResponse.success(updatedTask, "Task status updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of task {}: {}", id, e.getMessage());
+            return resourceETags.taskConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating task status: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -477,11 +517,16 @@ public class TaskController {
     @PatchMapping("/{id}/priority")
     public ResponseEntity<ApiResponse<TaskResponseDTO>> updateTaskPriority(
             @PathVariable Long id,
-            @RequestParam Priority priority) {
+            @RequestParam Priority priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating task priority: {} to {}", id, priority);
         try {
-            TaskResponseDTO updatedTask = taskService.updateTaskPriority(id, priority);
-            return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task priority updated successfully"));
+            TaskResponseDTO updatedTask = taskService.updateTaskPriority(id, priority, resourceETags.taskVersion(ifMatch, id));
+            return resourceETags.taskWritten(id, updatedTask.getVersion()).body(ApiResponse.success(updatedTask, "Task priority updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of task {}: {}", id, e.getMessage());
+            return resourceETags.taskConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating task priority: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -499,11 +544,17 @@ public class TaskController {
     @PatchMapping("/{taskId}/assign/{assigneeId}")
     public ResponseEntity<ApiResponse<TaskResponseDTO>> assignTask(
             @PathVariable Long taskId,
-            @PathVariable Long assigneeId) {
-        log.info("Assigning task: {} to user: {}", taskId, assigneeId);
-        try {
-            TaskResponseDTO updatedTask = taskService.assignTask(taskId, assigneeId);
-            return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task assigned successfully"));
+            @PathVariable Long assigneeId,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Assigning task: {} to user: {} by user {}", taskId, assigneeId, userId);
+        try {
+            TaskResponseDTO updatedTask = taskService.assignTask(taskId, assigneeId, userId, resourceETags.taskVersion(ifMatch, taskId));
+            return resourceETags.taskWritten(taskId, updatedTask.getVersion()).body(ApiResponse.success(updatedTask, "Task assigned successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of task {}: {}", taskId, e.getMessage());
+            return resourceETags.taskConflict(taskId)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error assigning task: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -519,11 +570,17 @@ public class TaskController {
      * Unassign task
      */
     @PatchMapping("/{taskId}/unassign")
-    public ResponseEntity<ApiResponse<TaskResponseDTO>> unassignTask(@PathVariable Long taskId) {
-        log.info("Unassigning task: {}", taskId);
-        try {
-            TaskResponseDTO updatedTask = taskService.unassignTask(taskId);
-            return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task unassigned successfully"));
+    public ResponseEntity<ApiResponse<TaskResponseDTO>> unassignTask(@PathVariable Long taskId,
+    @RequestParam(required = false) Long userId,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Unassigning task: {} by user {}", taskId, userId);
+        try {
+            TaskResponseDTO updatedTask = taskService.unassignTask(taskId, userId, resourceETags.taskVersion(ifMatch, taskId));
+            return resourceETags.taskWritten(taskId, updatedTask.getVersion()).body(ApiResponse.success(updatedTask, "Task unassigned successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of task {}: {}", taskId, e.getMessage());
+            return resourceETags.taskConflict(taskId)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error unassigning task: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -634,10 +691,12 @@ public class TaskController {
      * Start timer for a task
      */
     @PostMapping("/{taskId}/timer/start")
-    public ResponseEntity<ApiResponse<TaskResponseDTO>> startTimer(@PathVariable Long taskId) {
-        log.info("Starting timer for task: {}", taskId);
+    public ResponseEntity<ApiResponse<TaskResponseDTO>> startTimer(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long userId) {
+        log.info("Starting timer for task: {} by user {}", taskId, userId);
         try {
-            TaskResponseDTO updatedTask = taskService.startTimer(taskId);
+            TaskResponseDTO updatedTask = taskService.startTimer(taskId, userId);
             return ResponseEntity.ok(ApiResponse.success(updatedTask, "Timer started successfully"));
         } catch (IllegalArgumentException e) {
             log.error("Error starting timer: {}", e.getMessage());
@@ -686,6 +745,50 @@ public class TaskController {
         }
     }
 
+    // ==================== CHANGE HISTORY ====================
+
+    /**
+     * Get the most recent field-level changes of a task
+     */
+    @GetMapping("/{taskId}/revisions")
+    public ResponseEntity<ApiResponse<List<TaskRevisionDTO>>> getTaskRevisions(
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Fetching revisions for task: {}", taskId);
+        try {
+            List<TaskRevisionDTO> revisions = taskService.getTaskRevisions(taskId, limit);
+            return ResponseEntity.ok(ApiResponse.success(revisions, revisions.size()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error getting task revisions: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get task revisions: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reconstruct the tracked fields of a task as they were at a point in time
+     */
+    @GetMapping("/{taskId}/history")
+    public ResponseEntity<ApiResponse<TaskRevisionDTO>> getTaskStateAt(
+            @PathVariable Long taskId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.debug("Reconstructing task {} as of {}", taskId, at);
+        try {
+            TaskRevisionDTO state = taskService.getTaskStateAt(taskId, at);
+            return ResponseEntity.ok(ApiResponse.success(state, "Task state reconstructed"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error reconstructing task state: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to reconstruct task state: " + e.getMessage()));
+        }
+    }
+
     // ==================== TASK VALIDATION ====================
 
     /**
@@ -748,10 +851,11 @@ public class TaskController {
     @PatchMapping("/bulk/status")
     public ResponseEntity<ApiResponse<String>> bulkUpdateTaskStatus(
             @RequestParam List<Long> taskIds,
-            @RequestParam TaskStatus status) {
-        log.info("Bulk updating {} tasks to status: {}", taskIds.size(), status);
+            @RequestParam TaskStatus status,
+            @RequestParam(required = false) Long userId) {
+        log.info("Bulk updating {} tasks to status: {} by user {}", taskIds.size(), status, userId);
         try {
-            taskIds.forEach(taskId -> taskService.updateTaskStatus(taskId, status));
+            taskIds.forEach(taskId -> taskService.updateTaskStatus(taskId, status, userId, null));
             String message = "Successfully updated " + taskIds.size() + " tasks";
             return ResponseEntity.ok(ApiResponse.success(message, "Bulk status update completed"));
         } catch (Exception e) {
@@ -767,10 +871,11 @@ public class TaskController {
     @PatchMapping("/bulk/assign/{assigneeId}")
     public ResponseEntity<ApiResponse<String>> bulkAssignTasks(
             @RequestParam List<Long> taskIds,
-            @PathVariable Long assigneeId) {
-        log.info("Bulk assigning {} tasks to user: {}", taskIds.size(), assigneeId);
+            @PathVariable Long assigneeId,
+            @RequestParam(required = false) Long userId) {
+        log.info("Bulk assigning {} tasks to user: {} by user {}", taskIds.size(), assigneeId, userId);
         try {
-            taskIds.forEach(taskId -> taskService.assignTask(taskId, assigneeId));
+            taskIds.forEach(taskId -> taskService.assignTask(taskId, assigneeId, userId, null));
             String message = "Successfully assigned " + taskIds.size() + " tasks";
             return ResponseEntity.ok(ApiResponse.success(message, "Bulk assignment completed"));
         } catch (Exception e) {
@@ -4,14 +4,19 @@ import com.taskManagement.dto.common.ApiResponse;
 import com.taskManagement.dto.team.*;
 import com.taskManagement.dto.team.member.*;
 import com.taskManagement.entity.TeamRole;
+import com.taskManagement.exception.PreconditionFailedException;
 import com.taskManagement.service.TeamService;
 import com.taskManagement.service.TeamMemberService;
+import com.taskManagement.service.etag.ResourceETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -21,12 +26,13 @@ import java.util.Optional;
 @RequestMapping("/api/teams")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @Validated
 public class TeamController {
 
     private final TeamService teamService;
     private final TeamMemberService teamMemberService;
+    private final ResourceETags resourceETags;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -49,9 +55,12 @@ public class TeamController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<TeamResponseDTO>> getTeamById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<TeamResponseDTO>> getTeamById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Getting team by ID: {}", id);
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.team(id))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             Optional<TeamResponseDTO> team = teamService.getTeamById(id);
             if (team.isPresent()) {
                 return ResponseEntity.ok(ApiResponse.success(team.get(), "Team found"));
@@ -85,9 +94,12 @@ public class TeamController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TeamResponseDTO>>> getAllTeams() {
+    public ResponseEntity<ApiResponse<List<TeamResponseDTO>>> getAllTeams(WebRequest webRequest) {
         log.info("Getting all teams");
         try {
+            if (resourceETags.isNotModified(webRequest, resourceETags.teams())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             List<TeamResponseDTO> teams = teamService.getAllTeams();
             return ResponseEntity.ok(ApiResponse.success(teams, teams.size()));
         } catch (Exception e) {
@@ -112,11 +124,16 @@ public class TeamController {
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TeamResponseDTO>> updateTeam(@PathVariable Long id,
-                                                                   @Valid @RequestBody TeamUpdateDTO teamUpdateDTO) {
+                                                                   @Valid @RequestBody TeamUpdateDTO teamUpdateDTO,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating team with ID: {}", id);
         try {
-            TeamResponseDTO updatedTeam = teamService.updateTeam(id, teamUpdateDTO);
-            return ResponseEntity.ok(ApiResponse.success(updatedTeam, "Team updated successfully"));
+            TeamResponseDTO updatedTeam = teamService.updateTeam(id, teamUpdateDTO, resourceETags.teamVersion(ifMatch, id));
+            return resourceETags.teamWritten(id, updatedTeam.getVersion()).body(ApiResponse.success(updatedTeam, "Team updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of team {}: {}", id, e.getMessage());
+            return resourceETags.teamConflict(id)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating team: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -366,11 +383,16 @@ public class TeamController {
 
     @PatchMapping("/{teamId}/avatar")
     public ResponseEntity<ApiResponse<TeamResponseDTO>> updateTeamAvatar(@PathVariable Long teamId,
-                                                                         @RequestBody AvatarUpdateRequest request) {
+                                                                         @RequestBody AvatarUpdateRequest request,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating avatar for team: {}", teamId);
         try {
-            TeamResponseDTO team = teamService.updateTeamAvatar(teamId, request.getAvatarUrl());
-            return ResponseEntity.ok(ApiResponse.success(team, "Team avatar updated successfully"));
+            TeamResponseDTO team = teamService.updateTeamAvatar(teamId, request.getAvatarUrl(), resourceETags.teamVersion(ifMatch, teamId));
+            return resourceETags.teamWritten(teamId, team.getVersion()).body(ApiResponse.success(team, "Team avatar updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of team {}: {}", teamId, e.getMessage());
+            return resourceETags.teamConflict(teamId)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating team avatar: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -384,11 +406,16 @@ public class TeamController {
 
     @PatchMapping("/{teamId}/capacity")
     public ResponseEntity<ApiResponse<TeamResponseDTO>> updateTeamCapacity(@PathVariable Long teamId,
-                                                                           @RequestBody CapacityUpdateRequest request) {
+                                                                           @RequestBody CapacityUpdateRequest request,
+                                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating capacity for team {} to {}", teamId, request.getMaxMembers());
         try {
-            TeamResponseDTO team = teamService.updateTeamCapacity(teamId, request.getMaxMembers());
-            return ResponseEntity.ok(ApiResponse.success(team, "Team capacity updated successfully"));
+            TeamResponseDTO team = teamService.updateTeamCapacity(teamId, request.getMaxMembers(), resourceETags.teamVersion(ifMatch, teamId));
+            return resourceETags.teamWritten(teamId, team.getVersion()).body(ApiResponse.success(team, "Team capacity updated successfully"));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of team {}: {}", teamId, e.getMessage());
+            return resourceETags.teamConflict(teamId)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             log.error("Error updating team capacity: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,19 @@
+package com.taskManagement.dto.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityFeedDTO {
+    private List<ActivityResponseDTO> activities; // Newest first
+    private Long nextBefore; // Pass as "before" to fetch older entries
+    private Boolean hasMore;
+
+}
@@ -0,0 +1,26 @@
+package com.taskManagement.dto.activity;
+
+import com.taskManagement.entity.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityResponseDTO {
+    private Long sequence; // Position in the activity log, increasing over time
+    private ActivityType type;
+    private Long actorId;
+    private Long projectId;
+    private Long teamId;
+    private String entityType;
+    private Long entityId;
+    private String detail;
+    private LocalDateTime occurredAt;
+
+}
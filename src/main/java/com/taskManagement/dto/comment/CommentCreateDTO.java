@@ -0,0 +1,23 @@
+package com.taskManagement.dto.comment;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentCreateDTO {
+    @NotBlank(message = "Comment content is required")
+    @Size(max = 10000, message = "Comment cannot exceed 10000 characters")
+    private String content;
+
+    @NotNull(message = "Author ID is required")
+    private Long authorId;
+
+    private Long parentCommentId; // Set for replies
+
+}
@@ -0,0 +1,33 @@
+package com.taskManagement.dto.comment;
+
+import com.taskManagement.dto.user.UserSummaryDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentResponseDTO {
+    private Long id;
+    private String content;
+    private Boolean isEdited;
+    private LocalDateTime editedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long taskId;
+    private Long parentCommentId;
+    private UserSummaryDTO author;
+
+    // Thread view only
+    private Integer depth;
+    private Long replyCount; // Direct replies
+    private List<CommentResponseDTO> replies;
+
+}
@@ -0,0 +1,19 @@
+package com.taskManagement.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentThreadPageDTO {
+    private List<CommentResponseDTO> threads; // Top-level comments with their replies nested
+    private String nextCursor; // Null when there are no more pages
+    private Boolean hasMore;
+
+}
@@ -0,0 +1,17 @@
+package com.taskManagement.dto.comment;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentUpdateDTO {
+    @NotBlank(message = "Comment content is required")
+    @Size(max = 10000, message = "Comment cannot exceed 10000 characters")
+    private String content;
+
+}
@@ -5,6 +5,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +27,7 @@ public class ApiResponse <T>{
                 .success(true)
                 .message("Operation successful")
                 .data(data)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(currentTimestamp())
                 .build();
     }
 
@@ -33,7 +38,7 @@ public class ApiResponse <T>{
                 .message("Operation successful")
                 .data(data)
                 .count(count)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(currentTimestamp())
                 .build();
     }
 
@@ -42,7 +47,7 @@ public class ApiResponse <T>{
                 .success(true)
                 .message(message)
                 .data(data)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(currentTimestamp())
                 .build();
     }
 
@@ -51,9 +56,41 @@ public class ApiResponse <T>{
         return ApiResponse.<T>builder()
                 .success(false)
                 .message(message)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(currentTimestamp())
                 .build();
     }
 
+    // Same text as LocalDateTime.now().toString(), at the clock's precision; the
+    // date and time up to the second are formatted once per second
+    private static final DateTimeFormatter UP_TO_SECOND = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static volatile CachedSecond lastSecond = new CachedSecond(Long.MIN_VALUE, null, null);
+
+    private static String currentTimestamp() {
+        Instant now = Instant.now();
+        CachedSecond cached = lastSecond;
+        if (cached.epochSecond() != now.getEpochSecond()) {
+            LocalDateTime second = LocalDateTime.ofInstant(Instant.ofEpochSecond(now.getEpochSecond()), ZoneId.systemDefault());
+            cached = new CachedSecond(now.getEpochSecond(), second.toString(), second.format(UP_TO_SECOND));
+            lastSecond = cached;
+        }
+        int nanos = now.getNano();
+        if (nanos == 0) {
+            return cached.whole();
+        }
+        // Three, six or nine fraction digits, as LocalTime.toString() prints them
+        String fraction;
+        if (nanos % 1_000_000 == 0) {
+            fraction = Integer.toString(nanos / 1_000_000 + 1_000).substring(1);
+        } else if (nanos % 1_000 == 0) {
+            fraction = Integer.toString(nanos / 1_000 + 1_000_000).substring(1);
+        } else {
+            fraction = Integer.toString(nanos + 1_000_000_000).substring(1);
+        }
+        return cached.upToSecond() + '.' + fraction;
+    }
+
+    private record CachedSecond(long epochSecond, String whole, String upToSecond) {
+    }
 
 }
@@ -0,0 +1,84 @@
+package com.taskManagement.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the {@link ApiResponse} envelope directly instead of through the
+ * reflective bean serializer. Field names are encoded once, as is the default
+ * success message, so per response only the values and the payload are
+ * written. Field order matches the bean serializer's output. Null fields are
+ * written unless {@code spring.jackson.default-property-inclusion} says
+ * otherwise.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString COUNT = new SerializedString("count");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString DEFAULT_MESSAGE = new SerializedString("Operation successful");
+
+    @SuppressWarnings("unchecked")
+    public ApiResponseSerializer() {
+        super((Class<ApiResponse<?>>) (Class<?>) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean writeNulls = writesNulls(provider);
+        gen.writeStartObject(response);
+
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(response.isSuccess());
+
+        String message = response.getMessage();
+        if (message != null || writeNulls) {
+            gen.writeFieldName(MESSAGE);
+            if (DEFAULT_MESSAGE.getValue().equals(message)) {
+                gen.writeString(DEFAULT_MESSAGE);
+            } else {
+                gen.writeString(message);
+            }
+        }
+
+        Object data = response.getData();
+        if (data != null) {
+            gen.writeFieldName(DATA);
+            provider.defaultSerializeValue(data, gen);
+        } else if (writeNulls) {
+            gen.writeFieldName(DATA);
+            gen.writeNull();
+        }
+
+        Integer count = response.getCount();
+        if (count != null) {
+            gen.writeFieldName(COUNT);
+            gen.writeNumber(count);
+        } else if (writeNulls) {
+            gen.writeFieldName(COUNT);
+            gen.writeNull();
+        }
+
+        if (response.getTimestamp() != null || writeNulls) {
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeString(response.getTimestamp());
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static boolean writesNulls(SerializerProvider provider) {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(ApiResponse.class)
+                .getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.taskManagement.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileAttachmentResponseDTO {
+    private Long id;
+    private String fileName;
+    private String originalFileName;
+    private String fileType;
+    private Long fileSize;
+    private String formattedFileSize;
+    private String fileExtension;
+    private Long downloadCount;
+    private Boolean isPublic;
+    private String checksum;
+    private String downloadUrl;
+    private String thumbnailUrl; // Only for images
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Relationship info
+    private Long taskId;
+    private Long uploadedById;
+    private String uploadedByName;
+
+}
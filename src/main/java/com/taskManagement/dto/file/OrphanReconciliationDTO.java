@@ -0,0 +1,33 @@
+package com.taskManagement.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrphanReconciliationDTO {
+    private Boolean dryRun;
+
+    // Storage side
+    private Long scannedFiles;
+    private Long referencedFiles;
+    private Long orphanedFiles;
+    private Long orphanedBytes;
+    private Long deletedFiles; // 0 in a dry run
+    private Long skippedRecentFiles; // Unreferenced but too new to be judged
+
+    // Database side
+    private Long missingFiles; // Referenced paths with nothing on disk
+    private Long unreferencedBlobs; // Zero-ref blob rows (removed unless dry run)
+
+    private List<String> sampleOrphans; // First orphaned paths, capped
+    private List<String> sampleMissing;
+    private Long durationMs;
+
+}
@@ -0,0 +1,24 @@
+package com.taskManagement.dto.file;
+
+import com.taskManagement.entity.StorageScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageUsageDTO {
+    private StorageScope scopeType;
+    private Long scopeId;
+    private Long bytesUsed;
+    private Long fileCount;
+    private Long quotaBytes; // null when the scope has no quota
+    private Long bytesRemaining;
+    private LocalDateTime updatedAt;
+
+}
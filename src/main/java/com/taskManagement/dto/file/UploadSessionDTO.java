@@ -0,0 +1,35 @@
+package com.taskManagement.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionDTO {
+    private String sessionId;
+    private Long taskId;
+    private Long userId;
+    private String fileName;
+    private String fileType;
+    private String status; // OPEN, COMPLETING
+
+    // Progress
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private Integer receivedChunks;
+    private Long bytesReceived;
+    private Long bytesHashed; // Contiguous prefix already folded into the checksum
+    private List<Integer> missingChunks; // First missing chunk indexes, capped
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,20 @@
+package com.taskManagement.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPageDTO {
+    private List<NotificationResponseDTO> items;
+    private String nextCursor; // Null when there are no more pages
+    private Boolean hasMore;
+    private Long unreadCount;
+
+}
@@ -0,0 +1,35 @@
+package com.taskManagement.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPipelineStatsDTO {
+    // Coalescing stage
+    private Long coalesced; // Events merged into an aggregated notification
+    private Long digested;  // Events held for a user's digest
+    private Integer openBursts;
+
+    // Enqueue stage
+    private Long enqueued;
+    private Long callerRuns; // Written on the caller thread because the queue was full
+    private Integer queueDepth;
+    private Integer queueCapacity;
+
+    // Write stage
+    private Long batchesWritten;
+    private Long notificationsWritten;
+    private Long writeFailures;
+    private Double averageBatchSize;
+    private Double averageBatchWriteMillis;
+
+    // Durable fallback
+    private Long spilled;
+    private Long replayed;
+
+}
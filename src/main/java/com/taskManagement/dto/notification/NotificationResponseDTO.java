@@ -0,0 +1,34 @@
+package com.taskManagement.dto.notification;
+
+import com.taskManagement.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationResponseDTO {
+    private Long id;
+    private String title;
+    private String message;
+    private NotificationType type;
+    private Boolean isRead;
+    private LocalDateTime readAt;
+    private Long entityId;
+    private String entityType;
+    private String actionUrl;
+    private Integer aggregateCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    // Relationships (IDs and display names only)
+    private Long recipientId;
+    private Long senderId;
+    private String senderName;
+
+}
@@ -29,6 +29,7 @@ public class ProjectResponseDTO {
     private String colorCode;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Nested DTOs for relationships
     private TeamSummaryDTO team;
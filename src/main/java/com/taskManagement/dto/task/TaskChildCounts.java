@@ -0,0 +1,20 @@
+package com.taskManagement.dto.task;
+
+/**
+ * Child collection sizes of one task, read with an aggregate query instead of
+ * initializing the collections.
+ */
+public interface TaskChildCounts {
+    Long getTaskId();
+
+    Integer getSubtaskCount();
+
+    Integer getCompletedSubtaskCount();
+
+    Integer getCommentCount();
+
+    Integer getAttachmentCount();
+
+    Integer getDependencyCount();
+
+}
@@ -32,6 +32,7 @@ public class TaskResponseDTO {
     private Boolean isMilestone;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Nested DTOs for relationships
     private ProjectSummaryDTO project;
@@ -0,0 +1,23 @@
+package com.taskManagement.dto.task;
+
+import com.taskManagement.entity.TaskRevisionKind;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskRevisionDTO {
+    private Long taskId;
+    private Integer revisionNumber;
+    private TaskRevisionKind kind;
+    private Map<String, Object> fields; // Changed fields for a diff, every tracked field for a snapshot
+    private LocalDateTime createdAt;
+
+}
@@ -25,6 +25,7 @@ public class TeamResponseDTO {
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Aggregated data
     private Integer currentMemberCount;
@@ -0,0 +1,16 @@
+package com.taskManagement.entity;
+
+public enum ActivityType {
+    TASK_CREATED,          // Task or subtask created
+    TASK_STATUS_CHANGED,   // Task moved to another status
+    TASK_ASSIGNED,         // Task assigned or reassigned
+    TASK_UNASSIGNED,       // Assignee removed from task
+    COMMENT_ADDED,         // Comment or reply posted on a task
+    ATTACHMENT_ADDED,      // File attached to a task
+    ATTACHMENT_REMOVED,    // File removed from a task
+    MEMBER_JOINED,         // User added to team or invitation accepted
+    MEMBER_LEFT,           // User removed from team or invitation declined
+    MEMBER_ACTIVATED,      // Membership reactivated
+    MEMBER_DEACTIVATED     // Membership deactivated
+
+}
@@ -3,12 +3,17 @@ package com.taskManagement.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "file_attachments")
+@Table(name = "file_attachments", indexes = {
+        @Index(name = "idx_file_attachments_task", columnList = "task_id"),
+        @Index(name = "idx_file_attachments_uploader", columnList = "uploaded_by")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,7 +41,8 @@ public class FileAttachment {
     @Column(name = "file_extension")
     private String fileExtension;
 
-    @Column(name = "download_count")
+    // Written only by the batched counter flush, so entity saves never overwrite it
+    @Column(name = "download_count", updatable = false)
     private Long downloadCount = 0L;
 
     @Column(name = "is_public")
@@ -52,10 +58,14 @@ public class FileAttachment {
     private LocalDateTime updatedAt;
 
     // Relationships
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
     private Task task;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by", nullable = false)
     private User uploadedBy;
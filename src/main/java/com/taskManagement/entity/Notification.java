@@ -3,12 +3,15 @@ package com.taskManagement.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        indexes = @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +45,9 @@ public class Notification {
     @Column(name = "action_url")
     private String actionUrl; // URL to navigate to when clicked
 
+    @Column(name = "aggregate_count")
+    private Integer aggregateCount = 1; // Number of events merged into this notification
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -49,10 +55,14 @@ public class Notification {
     private LocalDateTime expiresAt;
 
     // Relationships
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_id", nullable = false)
     private User recipient;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id")
     private User sender; // Can be null for system notifications
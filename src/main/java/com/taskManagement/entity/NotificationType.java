@@ -15,7 +15,8 @@ public enum NotificationType {
     SYSTEM_ANNOUNCEMENT,   // System-wide announcement
     MENTION,               // User mentioned in comment
     FILE_UPLOADED,         // New file attached to task
-    DEADLINE_REMINDER      // General deadline reminder
+    DEADLINE_REMINDER,     // General deadline reminder
+    DIGEST                 // Periodic summary of coalesced notifications
 
 
 }
@@ -0,0 +1,8 @@
+package com.taskManagement.entity;
+
+public enum StorageScope {
+    UPLOADER,   // Everything a user has uploaded
+    TASK,       // Attachments of one task
+    TEAM        // Attachments of all tasks in the team's projects
+
+}
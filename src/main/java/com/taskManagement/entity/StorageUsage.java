@@ -0,0 +1,41 @@
+package com.taskManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running attachment totals for one uploader, task or team. Maintained with
+ * deltas on upload and delete, and corrected by a periodic reconciliation.
+ */
+@Entity
+@Table(name = "storage_usage",
+        uniqueConstraints = @UniqueConstraint(name = "uk_storage_usage_scope", columnNames = {"scope_type", "scope_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 20)
+    private StorageScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "bytes_used", nullable = false)
+    private Long bytesUsed = 0L;
+
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+}
@@ -3,13 +3,16 @@ package com.taskManagement.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "task_dependencies",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"prerequisite_task_id", "dependent_task_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"prerequisite_task_id", "dependent_task_id"}),
+        indexes = @Index(name = "idx_task_dependencies_dependent", columnList = "dependent_task_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,10 +22,14 @@ public class TaskDependency {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "prerequisite_task_id", nullable = false)
     private Task prerequisiteTask;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dependent_task_id", nullable = false)
     private Task dependentTask;
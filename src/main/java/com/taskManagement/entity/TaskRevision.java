@@ -0,0 +1,51 @@
+package com.taskManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's change history. The payload is a compact binary list
+ * of (field id, value) pairs; see TaskRevisionCodec. The task id is a plain
+ * column so history outlives the task row.
+ */
+@Entity
+@Table(name = "task_revisions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_revisions_number",
+                columnNames = {"task_id", "revision_number", "kind"}),
+        indexes = @Index(name = "idx_task_revisions_task_kind_created", columnList = "task_id, kind, created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "revision_number", nullable = false)
+    private Integer revisionNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskRevisionKind kind;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+
+    // When the revision's state took effect
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
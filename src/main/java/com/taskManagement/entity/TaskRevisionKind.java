@@ -0,0 +1,7 @@
+package com.taskManagement.entity;
+
+public enum TaskRevisionKind {
+    SNAPSHOT,   // Every tracked field as of the revision
+    DIFF        // Only the fields changed by one update
+
+}
@@ -0,0 +1,62 @@
+package com.taskManagement.mapper;
+
+import com.taskManagement.dto.comment.CommentCreateDTO;
+import com.taskManagement.dto.comment.CommentResponseDTO;
+import com.taskManagement.entity.Comment;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class CommentMapper {
+
+    private final UserMapper userMapper;
+
+    // Task and author carry only their IDs; the service loads the real entities
+    public Comment toEntity(Long taskId, CommentCreateDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        Task task = new Task();
+        task.setId(taskId);
+        User author = new User();
+        author.setId(dto.getAuthorId());
+
+        Comment comment = new Comment();
+        comment.setContent(dto.getContent());
+        comment.setTask(task);
+        comment.setAuthor(author);
+        return comment;
+    }
+
+    public CommentResponseDTO toResponseDTO(Comment comment) {
+        if (comment == null) {
+            return null;
+        }
+
+        return CommentResponseDTO.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .isEdited(comment.getIsEdited())
+                .editedAt(comment.getEditedAt())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .taskId(comment.getTask() != null ? comment.getTask().getId() : null)
+                .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+                .author(userMapper.toSummaryDTO(comment.getAuthor()))
+                .build();
+    }
+
+    public List<CommentResponseDTO> toResponseDTOList(List<Comment> comments) {
+        return comments.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+}
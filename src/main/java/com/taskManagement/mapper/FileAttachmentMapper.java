@@ -0,0 +1,60 @@
+package com.taskManagement.mapper;
+
+import com.taskManagement.dto.file.FileAttachmentResponseDTO;
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.service.file.DownloadCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class FileAttachmentMapper {
+
+    private final DownloadCounters downloadCounters;
+
+    public FileAttachmentResponseDTO toResponseDTO(FileAttachment file) {
+        if (file == null) {
+            return null;
+        }
+
+        return FileAttachmentResponseDTO.builder()
+                .id(file.getId())
+                .fileName(file.getFileName())
+                .originalFileName(file.getOriginalFileName())
+                .fileType(file.getFileType())
+                .fileSize(file.getFileSize())
+                .formattedFileSize(file.getFileSize() != null ? file.getFormattedFileSize() : null)
+                .fileExtension(file.getFileExtension())
+                .downloadCount(downloadCount(file))
+                .isPublic(file.getIsPublic())
+                .checksum(file.getChecksum())
+                .downloadUrl("/api/files/" + file.getId() + "/download")
+                .thumbnailUrl(file.isImage() ? "/api/files/" + file.getId() + "/thumbnail" : null)
+                .createdAt(file.getCreatedAt())
+                .updatedAt(file.getUpdatedAt())
+                .taskId(file.getTask() != null ? file.getTask().getId() : null)
+                .uploadedById(file.getUploadedBy() != null ? file.getUploadedBy().getId() : null)
+                .uploadedByName(file.getUploadedBy() != null ? file.getUploadedBy().getFullName() : null)
+                .build();
+    }
+
+    // Stored count plus downloads not yet flushed
+    private Long downloadCount(FileAttachment file) {
+        long stored = file.getDownloadCount() != null ? file.getDownloadCount() : 0L;
+        return file.getId() != null ? stored + downloadCounters.pending(file.getId()) : stored;
+    }
+
+    public List<FileAttachmentResponseDTO> toResponseDTOList(List<FileAttachment> files) {
+        if (files == null) {
+            return null;
+        }
+
+        return files.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.taskManagement.mapper;
+
+import com.taskManagement.dto.notification.NotificationResponseDTO;
+import com.taskManagement.entity.Notification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class NotificationMapper {
+
+    public NotificationResponseDTO toResponseDTO(Notification notification) {
+        if (notification == null) {
+            return null;
+        }
+
+        return NotificationResponseDTO.builder()
+                .id(notification.getId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .isRead(notification.getIsRead())
+                .readAt(notification.getReadAt())
+                .entityId(notification.getEntityId())
+                .entityType(notification.getEntityType())
+                .actionUrl(notification.getActionUrl())
+                .aggregateCount(notification.getAggregateCount())
+                .createdAt(notification.getCreatedAt())
+                .expiresAt(notification.getExpiresAt())
+                .recipientId(notification.getRecipient() != null ? notification.getRecipient().getId() : null)
+                .senderId(notification.getSender() != null ? notification.getSender().getId() : null)
+                .senderName(notification.getSender() != null ? notification.getSender().getFullName() : null)
+                .build();
+    }
+
+    public List<NotificationResponseDTO> toResponseDTOList(List<Notification> notifications) {
+        if (notifications == null) {
+            return null;
+        }
+
+        return notifications.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+}
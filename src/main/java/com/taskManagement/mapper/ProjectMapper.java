@@ -62,6 +62,7 @@ public class ProjectMapper {
                 .colorCode(project.getColorCode())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
                 .team(toTeamSummaryDTO(project.getTeam()))
                 .projectManager(toUserSummaryDTO(project.getProjectManager()))
                 .taskCount(project.getTasks() != null ? project.getTasks().size() : 0)
@@ -49,6 +49,7 @@ public class TeamMapper {
                 .isActive(team.getIsActive())
                 .createdAt(team.getCreatedAt())
                 .updatedAt(team.getUpdatedAt())
+                .version(team.getVersion())
                 .currentMemberCount(calculateCurrentMemberCount(team.getMembers()))
                 .activeProjectsCount(calculateActiveProjectsCount(team.getProjects()))
                 .members(toTeamMemberSummarySet(team.getMembers()))
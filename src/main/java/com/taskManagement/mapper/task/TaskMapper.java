@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -61,8 +62,11 @@ public  class TaskMapper {
 
     // ==================== READ OPERATIONS ====================
 
-    public TaskResponseDTO toResponseDTO(Task task) {
+    // Child counts come from TaskRepository.findChildCounts, keyed by task ID, so
+    // mapping never initializes the comment, attachment or dependency collections
+    public TaskResponseDTO toResponseDTO(Task task, Map<Long, TaskChildCounts> counts) {
         if (task == null) return null;
+        TaskChildCounts taskCounts = counts.get(task.getId());
 
         return TaskResponseDTO.builder()
                 .id(task.getId())
@@ -79,24 +83,26 @@ public  class TaskMapper {
                 .isMilestone(task.getIsMilestone())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .project(task.getProject() != null ? toProjectSummary(task.getProject()) : null)
                 .creator(task.getCreator() != null ? toUserSummary(task.getCreator()) : null)
                 .assignee(task.getAssignee() != null ? toUserSummary(task.getAssignee()) : null)
-                .parentTask(task.getParentTask() != null ? toSummaryDTO(task.getParentTask()) : null)
-                .subtaskCount(calculateSubtaskCount(task.getSubtasks()))
-                .completedSubtaskCount(calculateCompletedSubtaskCount(task.getSubtasks()))
-                .commentCount(calculateCommentCount(task.getComments()))
-                .attachmentCount(calculateAttachmentCount(task.getAttachments()))
-                .dependencyCount(calculateDependencyCount(task.getDependencies()))
+                .parentTask(task.getParentTask() != null ? toSummaryDTO(task.getParentTask(), counts) : null)
+                .subtaskCount(taskCounts != null ? taskCounts.getSubtaskCount() : 0)
+                .completedSubtaskCount(taskCounts != null ? taskCounts.getCompletedSubtaskCount() : 0)
+                .commentCount(taskCounts != null ? taskCounts.getCommentCount() : 0)
+                .attachmentCount(taskCounts != null ? taskCounts.getAttachmentCount() : 0)
+                .dependencyCount(taskCounts != null ? taskCounts.getDependencyCount() : 0)
                 .daysUntilDue(calculateDaysUntilDue(task.getDueDate()))
                 .isOverdue(calculateIsOverdue(task.getDueDate()))
                 .timeSpentPercentage(calculateTimeSpentPercentage(task))
-                .subtasks(subtasksToSummaryList(task.getSubtasks()))
+                .subtasks(subtasksToSummaryList(task.getSubtasks(), counts))
                 .build();
     }
 
-    public TaskSummaryDTO toSummaryDTO(Task task) {
+    public TaskSummaryDTO toSummaryDTO(Task task, Map<Long, TaskChildCounts> counts) {
         if (task == null) return null;
+        TaskChildCounts taskCounts = counts.get(task.getId());
 
         return TaskSummaryDTO.builder()
                 .id(task.getId())
@@ -111,7 +117,7 @@ public  class TaskMapper {
                 .assigneeName(task.getAssignee() != null ? task.getAssignee().getFullName() : null)
                 .creatorName(task.getCreator() != null ? task.getCreator().getFullName() : null)
                 .isOverdue(calculateIsOverdue(task.getDueDate()))
-                .subtaskCount(calculateSubtaskCount(task.getSubtasks()))
+                .subtaskCount(taskCounts != null ? taskCounts.getSubtaskCount() : 0)
                 .build();
     }
 
@@ -146,52 +152,29 @@ public  class TaskMapper {
 
     // ==================== LIST OPERATIONS ====================
 
-    public List<TaskResponseDTO> toResponseDTOList(List<Task> tasks) {
+    public List<TaskResponseDTO> toResponseDTOList(List<Task> tasks, Map<Long, TaskChildCounts> counts) {
         if (tasks == null) return null;
         return tasks.stream()
-                .map(this::toResponseDTO)
+                .map(task -> toResponseDTO(task, counts))
                 .collect(Collectors.toList());
     }
 
-    public List<TaskSummaryDTO> toSummaryDTOList(List<Task> tasks) {
+    public List<TaskSummaryDTO> toSummaryDTOList(List<Task> tasks, Map<Long, TaskChildCounts> counts) {
         if (tasks == null) return null;
         return tasks.stream()
-                .map(this::toSummaryDTO)
+                .map(task -> toSummaryDTO(task, counts))
                 .collect(Collectors.toList());
     }
 
-    public List<TaskSummaryDTO> subtasksToSummaryList(Set<Task> subtasks) {
+    public List<TaskSummaryDTO> subtasksToSummaryList(Set<Task> subtasks, Map<Long, TaskChildCounts> counts) {
         if (subtasks == null) return null;
         return subtasks.stream()
-                .map(this::toSummaryDTO)
+                .map(task -> toSummaryDTO(task, counts))
                 .collect(Collectors.toList());
     }
 
     // ==================== HELPER METHODS ====================
 
-    private Integer calculateSubtaskCount(Set<Task> subtasks) {
-        return subtasks != null ? subtasks.size() : 0;
-    }
-
-    private Integer calculateCompletedSubtaskCount(Set<Task> subtasks) {
-        if (subtasks == null) return 0;
-        return (int) subtasks.stream()
-                .filter(task -> task.getStatus() == com.taskManagement.entity.TaskStatus.COMPLETED)
-                .count();
-    }
-
-    private Integer calculateCommentCount(Set<?> comments) {
-        return comments != null ? comments.size() : 0;
-    }
-
-    private Integer calculateAttachmentCount(Set<?> attachments) {
-        return attachments != null ? attachments.size() : 0;
-    }
-
-    private Integer calculateDependencyCount(Set<?> dependencies) {
-        return dependencies != null ? dependencies.size() : 0;
-    }
-
     private Long calculateDaysUntilDue(LocalDateTime dueDate) {
         if (dueDate == null) return null;
         return ChronoUnit.DAYS.between(LocalDateTime.now(), dueDate);
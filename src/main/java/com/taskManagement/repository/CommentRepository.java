@@ -1,6 +1,10 @@
 package com.taskManagement.repository;
 import com.taskManagement.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +25,17 @@ public interface CommentRepository extends JpaRepository<Comment, Long>{
 
     List<Comment> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
 
+    List<Comment> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
+
+    long countByParentCommentId(Long parentCommentId);
+
+    // Removes a comment with every reply below it in one statement
+    @Modifying
+    @Query(value = "WITH RECURSIVE subtree AS (" +
+            "SELECT id FROM comments WHERE id = :id " +
+            "UNION ALL SELECT c.id FROM comments c JOIN subtree s ON c.parent_comment_id = s.id) " +
+            "DELETE FROM comments WHERE id IN (SELECT id FROM subtree)",
+            nativeQuery = true)
+    int deleteThread(@Param("id") Long id);
+
 }
@@ -0,0 +1,83 @@
+package com.taskManagement.repository;
+
+import com.taskManagement.entity.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+
+    // Every task a cascading delete removes: the roots selected into "doomed" and all their subtasks
+    String DOOMED_TASK_TREE = " UNION SELECT t.id FROM tasks t JOIN doomed d ON t.parent_task_id = d.id) ";
+
+    // One decrement per attachment of those tasks whose path is the shared blob's
+    String RELEASE_DOOMED_ATTACHMENTS =
+            "UPDATE file_blobs b SET ref_count = GREATEST(b.ref_count - r.refs, 0), updated_at = now() " +
+            "FROM (SELECT f.checksum, f.file_path, COUNT(*) AS refs FROM file_attachments f " +
+            "JOIN doomed d ON d.id = f.task_id GROUP BY f.checksum, f.file_path) r " +
+            "WHERE b.checksum = r.checksum AND b.storage_path = r.file_path";
+
+    List<FileBlob> findByRefCountLessThanEqual(Integer refCount);
+
+    // Takes a row lock, so a concurrent cleanup of the same blob waits for this transaction
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (checksum, storage_path, file_size, ref_count, created_at, updated_at) " +
+            "VALUES (:checksum, :storagePath, :fileSize, 1, now(), now()) " +
+            "ON CONFLICT (checksum) DO UPDATE SET ref_count = file_blobs.ref_count + 1, updated_at = now()",
+            nativeQuery = true)
+    int acquire(@Param("checksum") String checksum,
+                @Param("storagePath") String storagePath,
+                @Param("fileSize") Long fileSize);
+
+    @Modifying
+    @Query(value = "UPDATE file_blobs SET ref_count = GREATEST(ref_count - 1, 0), updated_at = now() " +
+            "WHERE checksum = :checksum", nativeQuery = true)
+    int release(@Param("checksum") String checksum);
+
+    // Release what deleting a task, project, team or user cascades away; run before the delete
+    @Modifying
+    @Query(value = "WITH RECURSIVE doomed(id) AS (SELECT CAST(:taskId AS bigint)" + DOOMED_TASK_TREE +
+            RELEASE_DOOMED_ATTACHMENTS, nativeQuery = true)
+    int releaseForTask(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query(value = "WITH RECURSIVE doomed(id) AS (SELECT id FROM tasks WHERE project_id = :projectId" +
+            DOOMED_TASK_TREE + RELEASE_DOOMED_ATTACHMENTS, nativeQuery = true)
+    int releaseForProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "WITH RECURSIVE doomed(id) AS (SELECT t.id FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE p.team_id = :teamId" + DOOMED_TASK_TREE + RELEASE_DOOMED_ATTACHMENTS, nativeQuery = true)
+    int releaseForTeam(@Param("teamId") Long teamId);
+
+    // Deleting a user cascades to the tasks they created or are assigned to
+    @Modifying
+    @Query(value = "WITH RECURSIVE doomed(id) AS (SELECT id FROM tasks WHERE creator_id = :userId " +
+            "OR assignee_id = :userId" + DOOMED_TASK_TREE + RELEASE_DOOMED_ATTACHMENTS, nativeQuery = true)
+    int releaseForUser(@Param("userId") Long userId);
+
+    /**
+     * Sets every count to the number of attachments pointing at the blob. Rows
+     * written within the last {@code settleMinutes} are skipped: an upload or
+     * delete still in flight is not in this statement's snapshot, and the
+     * recheck after its row lock drops the row because its updated_at moved.
+     */
+    @Modifying
+    @Query(value = "UPDATE file_blobs b SET ref_count = COALESCE(r.refs, 0), updated_at = now() " +
+            "FROM file_blobs cur LEFT JOIN (SELECT checksum, file_path, COUNT(*) AS refs FROM file_attachments " +
+            "WHERE checksum IS NOT NULL GROUP BY checksum, file_path) r " +
+            "ON r.checksum = cur.checksum AND r.file_path = cur.storage_path " +
+            "WHERE b.id = cur.id AND b.ref_count <> COALESCE(r.refs, 0) " +
+            "AND b.updated_at < now() - make_interval(mins => :settleMinutes)", nativeQuery = true)
+    int recomputeRefCounts(@Param("settleMinutes") int settleMinutes);
+
+    @Modifying
+    @Query(value = "DELETE FROM file_blobs WHERE checksum = :checksum AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("checksum") String checksum);
+
+}
@@ -5,9 +5,13 @@ import com.taskManagement.entity.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,4 +32,39 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByRecipientIdAndIsReadTrue(Long recipientId);
 
     List<Notification> findByTypeAndCreatedAtAfter(NotificationType type, LocalDateTime date);
+
+    long countByRecipientIdAndType(Long recipientId, NotificationType type);
+
+    // Stream replay (Last-Event-ID)
+    List<Notification> findByRecipientIdAndIdGreaterThanOrderByIdAsc(Long recipientId, Long id, Pageable pageable);
+
+    // Keyset-paginated inbox on (recipient_id, created_at, id)
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.sender " +
+            "WHERE n.recipient.id = :recipientId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.sender " +
+            "WHERE n.recipient.id = :recipientId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageAfter(@Param("recipientId") Long recipientId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    // Set-based read state updates
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+            "WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllAsReadByRecipientId(@Param("recipientId") Long recipientId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+            "WHERE n.id IN :ids AND n.isRead = false")
+    int markAsReadByIds(@Param("ids") Collection<Long> ids, @Param("readAt") LocalDateTime readAt);
+
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n " +
+            "WHERE n.id IN :ids AND n.isRead = false GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientForIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,87 @@
+package com.taskManagement.repository;
+
+import com.taskManagement.entity.StorageScope;
+import com.taskManagement.entity.StorageUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StorageUsageRepository extends JpaRepository<StorageUsage, Long> {
+    Optional<StorageUsage> findByScopeTypeAndScopeId(StorageScope scopeType, Long scopeId);
+
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (scope_type, scope_id, bytes_used, file_count, updated_at) " +
+            "VALUES (:scopeType, :scopeId, :bytes, :files, now()) " +
+            "ON CONFLICT (scope_type, scope_id) DO UPDATE SET " +
+            "bytes_used = GREATEST(storage_usage.bytes_used + EXCLUDED.bytes_used, 0), " +
+            "file_count = GREATEST(storage_usage.file_count + EXCLUDED.file_count, 0), " +
+            "updated_at = now()",
+            nativeQuery = true)
+    int applyDelta(@Param("scopeType") String scopeType,
+                   @Param("scopeId") Long scopeId,
+                   @Param("bytes") long bytes,
+                   @Param("files") long files);
+
+    // ==================== RECONCILIATION ====================
+
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (scope_type, scope_id, bytes_used, file_count, updated_at) " +
+            "SELECT 'UPLOADER', f.uploaded_by, COALESCE(SUM(f.file_size), 0), COUNT(*), now() " +
+            "FROM file_attachments f GROUP BY f.uploaded_by " +
+            "ON CONFLICT (scope_type, scope_id) DO UPDATE SET bytes_used = EXCLUDED.bytes_used, " +
+            "file_count = EXCLUDED.file_count, updated_at = now() " +
+            "WHERE storage_usage.bytes_used <> EXCLUDED.bytes_used OR storage_usage.file_count <> EXCLUDED.file_count",
+            nativeQuery = true)
+    int reconcileUploaders();
+
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (scope_type, scope_id, bytes_used, file_count, updated_at) " +
+            "SELECT 'TASK', f.task_id, COALESCE(SUM(f.file_size), 0), COUNT(*), now() " +
+            "FROM file_attachments f GROUP BY f.task_id " +
+            "ON CONFLICT (scope_type, scope_id) DO UPDATE SET bytes_used = EXCLUDED.bytes_used, " +
+            "file_count = EXCLUDED.file_count, updated_at = now() " +
+            "WHERE storage_usage.bytes_used <> EXCLUDED.bytes_used OR storage_usage.file_count <> EXCLUDED.file_count",
+            nativeQuery = true)
+    int reconcileTasks();
+
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (scope_type, scope_id, bytes_used, file_count, updated_at) " +
+            "SELECT 'TEAM', p.team_id, COALESCE(SUM(f.file_size), 0), COUNT(*), now() " +
+            "FROM file_attachments f JOIN tasks t ON t.id = f.task_id JOIN projects p ON p.id = t.project_id " +
+            "GROUP BY p.team_id " +
+            "ON CONFLICT (scope_type, scope_id) DO UPDATE SET bytes_used = EXCLUDED.bytes_used, " +
+            "file_count = EXCLUDED.file_count, updated_at = now() " +
+            "WHERE storage_usage.bytes_used <> EXCLUDED.bytes_used OR storage_usage.file_count <> EXCLUDED.file_count",
+            nativeQuery = true)
+    int reconcileTeams();
+
+    // Scopes that no longer have any attachments, one anti-join per scope type so each
+    // lookup is answered from the foreign key index of its own column
+    @Modifying
+    @Query(value = "UPDATE storage_usage u SET bytes_used = 0, file_count = 0, updated_at = now() " +
+            "WHERE u.scope_type = 'UPLOADER' AND u.file_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM file_attachments f WHERE f.uploaded_by = u.scope_id)",
+            nativeQuery = true)
+    int resetEmptyUploaderScopes();
+
+    @Modifying
+    @Query(value = "UPDATE storage_usage u SET bytes_used = 0, file_count = 0, updated_at = now() " +
+            "WHERE u.scope_type = 'TASK' AND u.file_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM file_attachments f WHERE f.task_id = u.scope_id)",
+            nativeQuery = true)
+    int resetEmptyTaskScopes();
+
+    @Modifying
+    @Query(value = "UPDATE storage_usage u SET bytes_used = 0, file_count = 0, updated_at = now() " +
+            "WHERE u.scope_type = 'TEAM' AND u.file_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM projects p JOIN tasks t ON t.project_id = p.id " +
+            "JOIN file_attachments f ON f.task_id = t.id WHERE p.team_id = u.scope_id)",
+            nativeQuery = true)
+    int resetEmptyTeamScopes();
+
+}
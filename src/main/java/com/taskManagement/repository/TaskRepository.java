@@ -1,11 +1,14 @@
 package com.taskManagement.repository;
 
+import com.taskManagement.dto.task.TaskChildCounts;
 import com.taskManagement.entity.Task;
 import com.taskManagement.entity.TaskStatus;
 import com.taskManagement.entity.Priority;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -80,4 +83,27 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProgressPercentageGreaterThan(Integer percentage);
     List<Task> findByProgressPercentageBetween(Integer minPercentage, Integer maxPercentage);
     List<Task> findByProjectIdAndProgressPercentageLessThan(Long projectId, Integer percentage);
-}
\ No newline at end of file
+    
+    // ==================== CHILD COUNTS ====================
+    // One grouped count per child table, each answered from its foreign key index. The IDs are
+    // bound once as an array: an expanded IN list hits PostgreSQL's 32767 bind parameter limit
+    @Query(value = "WITH ids AS (SELECT unnest(CAST(:ids AS bigint[])) AS id) " +
+            "SELECT t.id AS \"taskId\", " +
+            "COALESCE(s.total, 0) AS \"subtaskCount\", COALESCE(s.completed, 0) AS \"completedSubtaskCount\", " +
+            "COALESCE(c.total, 0) AS \"commentCount\", COALESCE(f.total, 0) AS \"attachmentCount\", " +
+            "COALESCE(d.total, 0) AS \"dependencyCount\" " +
+            "FROM tasks t " +
+            "LEFT JOIN (SELECT parent_task_id AS id, COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed " +
+            "FROM tasks WHERE parent_task_id IN (SELECT id FROM ids) GROUP BY parent_task_id) s ON s.id = t.id " +
+            "LEFT JOIN (SELECT task_id AS id, COUNT(*) AS total " +
+            "FROM comments WHERE task_id IN (SELECT id FROM ids) GROUP BY task_id) c ON c.id = t.id " +
+            "LEFT JOIN (SELECT task_id AS id, COUNT(*) AS total " +
+            "FROM file_attachments WHERE task_id IN (SELECT id FROM ids) GROUP BY task_id) f ON f.id = t.id " +
+            "LEFT JOIN (SELECT dependent_task_id AS id, COUNT(*) AS total " +
+            "FROM task_dependencies WHERE dependent_task_id IN (SELECT id FROM ids) GROUP BY dependent_task_id) d " +
+            "ON d.id = t.id " +
+            "WHERE t.id IN (SELECT id FROM ids)",
+            nativeQuery = true)
+    List<TaskChildCounts> findChildCounts(@Param("ids") Long[] ids);
+}
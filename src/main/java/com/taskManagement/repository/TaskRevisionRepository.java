@@ -0,0 +1,50 @@
+package com.taskManagement.repository;
+
+import com.taskManagement.entity.TaskRevision;
+import com.taskManagement.entity.TaskRevisionKind;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskRevisionRepository extends JpaRepository<TaskRevision, Long> {
+
+    @Query("SELECT MAX(r.revisionNumber) FROM TaskRevision r WHERE r.taskId = :taskId")
+    Integer findLatestRevisionNumber(@Param("taskId") Long taskId);
+
+    boolean existsByTaskId(Long taskId);
+
+    Optional<TaskRevision> findFirstByTaskIdAndKindOrderByRevisionNumberDesc(Long taskId, TaskRevisionKind kind);
+
+    Optional<TaskRevision> findFirstByTaskIdAndKindAndCreatedAtLessThanEqualOrderByRevisionNumberDesc(
+            Long taskId, TaskRevisionKind kind, LocalDateTime at);
+
+    List<TaskRevision> findByTaskIdAndKindAndRevisionNumberGreaterThanOrderByRevisionNumberAsc(
+            Long taskId, TaskRevisionKind kind, Integer revisionNumber);
+
+    List<TaskRevision> findByTaskIdAndKindAndRevisionNumberGreaterThanAndCreatedAtLessThanEqualOrderByRevisionNumberAsc(
+            Long taskId, TaskRevisionKind kind, Integer revisionNumber, LocalDateTime at);
+
+    List<TaskRevision> findByTaskIdAndKindOrderByRevisionNumberDesc(Long taskId, TaskRevisionKind kind, Pageable pageable);
+
+    @Query("SELECT MAX(r.id) FROM TaskRevision r")
+    Long findLatestId();
+
+    // Tasks given a diff with id in (afterId, upToId] that now have at least :threshold diffs since
+    // their latest snapshot. Diff numbers are consecutive, so that count is the newest diff's number
+    // minus the snapshot's, and only the tasks touched in the id range are looked at.
+    @Query(value = "SELECT c.task_id FROM (SELECT d.task_id, MAX(d.revision_number) AS head, MAX(d.id) AS last_id " +
+            "FROM task_revisions d WHERE d.kind = 'DIFF' AND d.id > :afterId AND d.id <= :upToId GROUP BY d.task_id) c " +
+            "WHERE c.head - COALESCE((SELECT MAX(s.revision_number) FROM task_revisions s " +
+            "WHERE s.task_id = c.task_id AND s.kind = 'SNAPSHOT'), 0) >= :threshold " +
+            "ORDER BY c.last_id LIMIT :limit", nativeQuery = true)
+    List<Long> findTasksNeedingSnapshot(@Param("afterId") long afterId, @Param("upToId") long upToId,
+                                        @Param("threshold") int threshold, @Param("limit") int limit);
+
+}
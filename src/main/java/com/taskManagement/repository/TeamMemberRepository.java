@@ -23,4 +23,9 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
 
     List<TeamMember> findByTeamIdAndIsActiveTrueOrderByJoinedAtDesc(Long teamId);
 
+    // Rows of (user id, username, user active flag) for the team's active memberships
+    @Query("SELECT u.id, u.username, u.isActive FROM TeamMember tm JOIN tm.user u " +
+            "WHERE tm.team.id = :teamId AND tm.isActive = true")
+    List<Object[]> findActiveMemberUsernames(@Param("teamId") Long teamId);
+
 }
@@ -22,5 +22,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByPasswordResetToken(String token);
 
+    @Query("SELECT u.id FROM User u WHERE u.notificationDigest = true")
+    List<Long> findIdsByNotificationDigestTrue();
+
 
 }
@@ -1,4 +1,5 @@
 package com.taskManagement.service;
+import com.taskManagement.dto.comment.CommentThreadPageDTO;
 import com.taskManagement.entity.Comment;
 
 import java.util.List;
@@ -23,6 +24,9 @@ public interface CommentService {
 
     List<Comment> getTopLevelCommentsByTaskId(Long taskId);
 
+    // Top-level comments with all replies nested, paged by cursor
+    CommentThreadPageDTO getCommentThreads(Long taskId, String cursor, int size);
+
     // Comments by user
     List<Comment> getCommentsByAuthorId(Long authorId);
 
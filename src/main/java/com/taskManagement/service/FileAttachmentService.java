@@ -1,7 +1,9 @@
 package com.taskManagement.service;
 import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.service.file.AttachmentStorage;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,9 +11,13 @@ public interface FileAttachmentService {
     // Basic CRUD operations
     FileAttachment uploadFile(Long taskId, Long userId, MultipartFile file);
 
+    // Attach a fully received upload (e.g. a finished chunked upload session)
+    FileAttachment attachUploadedContent(Long taskId, Long userId, String originalFileName, String fileType,
+                                         AttachmentStorage.TempFile content);
+
     Optional<FileAttachment> getFileById(Long id);
 
-    void deleteFile(Long id);
+    void deleteFile(Long id, Long userId);
 
     // File retrieval
     List<FileAttachment> getFilesByTaskId(Long taskId);
@@ -52,9 +58,15 @@ public interface FileAttachmentService {
 
     boolean isFileSizeAllowed(long fileSize);
 
+    // Size limit plus the uploader, task and team storage quotas
+    boolean isFileSizeAllowed(Long taskId, Long uploaderId, long fileSize);
+
     // File operations
     byte[] downloadFile(Long fileId);
 
+    // Location of the stored bytes, for streaming downloads
+    Path getStoredFilePath(FileAttachment file);
+
     String generateDownloadUrl(Long fileId);
 
     void cleanupOrphanedFiles();
@@ -1,10 +1,12 @@
 package com.taskManagement.service;
+import com.taskManagement.dto.notification.NotificationPageDTO;
 import com.taskManagement.entity.Notification;
 import com.taskManagement.entity.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,12 @@ public interface NotificationService {
 
     List<Notification> getReadNotificationsByUserId(Long userId);
 
+    // Keyset-paginated inbox, newest first; pass the previous page's nextCursor to continue
+    NotificationPageDTO getInbox(Long userId, String cursor, int size);
+
+    // Notifications created after the given ID, oldest first (stream resume)
+    List<Notification> getNotificationsAfter(Long userId, Long lastNotificationId, int limit);
+
     // Notifications by type
     List<Notification> getNotificationsByType(Long userId, NotificationType type);
 
@@ -42,6 +50,9 @@ public interface NotificationService {
 
     long countNotificationsByType(Long userId, NotificationType type);
 
+    // Busy notification types arrive as a periodic digest instead of one by one
+    void setDigestMode(Long userId, boolean enabled);
+
     // Notification creation helpers
     void notifyTaskAssigned(Long taskId, Long assigneeId, Long assignerId);
 
@@ -59,6 +70,8 @@ public interface NotificationService {
 
     void notifyMentioned(Long taskId, Long mentionedUserId, Long mentionerUserId);
 
+    void notifyMentioned(Long taskId, Collection<Long> mentionedUserIds, Long mentionerUserId);
+
     void notifyFileUploaded(Long taskId, Long uploaderId, List<Long> subscriberIds);
 
     // Notification cleanup
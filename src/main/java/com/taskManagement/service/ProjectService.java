@@ -1,5 +1,6 @@
 package com.taskManagement.service;
 
+import com.taskManagement.dto.activity.ActivityFeedDTO;
 import com.taskManagement.dto.project.ProjectCreateDTO;
 import com.taskManagement.dto.project.ProjectResponseDTO;
 import com.taskManagement.dto.project.ProjectSummaryDTO;
@@ -17,7 +18,7 @@ public interface ProjectService {
     Optional<ProjectResponseDTO> getProjectById(Long id);
     List<ProjectResponseDTO> getAllProjects();
     List<ProjectSummaryDTO> getAllProjectsSummary();
-    ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO projectUpdateDTO);
+    ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO projectUpdateDTO, Long expectedVersion);
     void deleteProject(Long id);
 
     // ==================== FILTER & SEARCH OPERATIONS ====================
@@ -29,8 +30,11 @@ public interface ProjectService {
     List<ProjectResponseDTO> getOverdueProjects();
 
     // ==================== STATUS MANAGEMENT ====================
-    ProjectResponseDTO updateProjectStatus(Long id, ProjectStatus status);
-    ProjectResponseDTO updateProjectProgress(Long id, Integer progressPercentage);
+    ProjectResponseDTO updateProjectStatus(Long id, ProjectStatus status, Long expectedVersion);
+    ProjectResponseDTO updateProjectProgress(Long id, Integer progressPercentage, Long expectedVersion);
+
+    // ==================== ACTIVITY ====================
+    ActivityFeedDTO getProjectActivity(Long projectId, Long before, int limit);
 
     // ==================== VALIDATION & UTILITY ====================
     boolean existsByName(String name);
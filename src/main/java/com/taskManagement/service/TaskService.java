@@ -16,7 +16,7 @@ public interface TaskService {
     TaskResponseDTO createTask(TaskCreateDTO createDTO);
     TaskResponseDTO getTaskById(Long id);
     List<TaskResponseDTO> getAllTasks();
-    TaskResponseDTO updateTask(Long id, TaskUpdateDTO updateDTO);
+    TaskResponseDTO updateTask(Long id, TaskUpdateDTO updateDTO, Long userId, Long expectedVersion);
     void deleteTask(Long id);
 
     // ==================== TASKS BY PROJECT ====================
@@ -38,10 +38,10 @@ public interface TaskService {
     List<TaskSummaryDTO> getAllOverdueTasks();
 
     // ==================== TASK STATUS MANAGEMENT ====================
-    TaskResponseDTO updateTaskStatus(Long id, TaskStatus status);
-    TaskResponseDTO updateTaskPriority(Long id, Priority priority);
-    TaskResponseDTO assignTask(Long taskId, Long assigneeId);
-    TaskResponseDTO unassignTask(Long taskId);
+    TaskResponseDTO updateTaskStatus(Long id, TaskStatus status, Long userId, Long expectedVersion);
+    TaskResponseDTO updateTaskPriority(Long id, Priority priority, Long expectedVersion);
+    TaskResponseDTO assignTask(Long taskId, Long assigneeId, Long userId, Long expectedVersion);
+    TaskResponseDTO unassignTask(Long taskId, Long userId, Long expectedVersion);
 
     // ==================== SUBTASKS ====================
     List<TaskSummaryDTO> getSubtasks(Long parentTaskId);
@@ -52,10 +52,14 @@ public interface TaskService {
     Double getTaskCompletionPercentage(Long projectId);
 
     // ==================== TIME TRACKING ====================
-    TaskResponseDTO startTimer(Long taskId);
+    TaskResponseDTO startTimer(Long taskId, Long userId);
     TaskResponseDTO stopTimer(Long taskId);
     Double getTotalTimeSpent(Long taskId);
 
+    // ==================== CHANGE HISTORY ====================
+    List<TaskRevisionDTO> getTaskRevisions(Long taskId, int limit);
+    TaskRevisionDTO getTaskStateAt(Long taskId, LocalDateTime at);
+
     // ==================== TASK VALIDATION ====================
     boolean canUserAccessTask(Long userId, Long taskId);
     boolean canUserEditTask(Long userId, Long taskId);
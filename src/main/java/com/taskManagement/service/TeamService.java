@@ -24,7 +24,7 @@ public interface TeamService {
     
     List<TeamSummaryDTO> getAllTeamsSummary();
     
-    TeamResponseDTO updateTeam(Long id, TeamUpdateDTO teamUpdateDTO);
+    TeamResponseDTO updateTeam(Long id, TeamUpdateDTO teamUpdateDTO, Long expectedVersion);
     
     void deleteTeam(Long id);
     
@@ -66,9 +66,9 @@ public interface TeamService {
     
     TeamResponseDTO updateTeamSettings(Long id, String name, String description, String avatarUrl);
     
-    TeamResponseDTO updateTeamAvatar(Long id, String avatarUrl);
+    TeamResponseDTO updateTeamAvatar(Long id, String avatarUrl, Long expectedVersion);
     
-    TeamResponseDTO updateTeamCapacity(Long id, Integer maxMembers);
+    TeamResponseDTO updateTeamCapacity(Long id, Integer maxMembers, Long expectedVersion);
     
     // ==================== TEAM MEMBER MANAGEMENT ====================
     
@@ -0,0 +1,268 @@
+package com.taskManagement.service.activity;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of who did what, kept outside the database.
+ *
+ * Producers drop records into a lock-free ring buffer and return immediately;
+ * a single writer thread numbers them and appends them to memory-mapped
+ * segment files, rolling to a new segment when the current one is full and
+ * deleting the oldest beyond the retention limit. Index entries are written
+ * every few records and flushed to disk together with the data on a fixed
+ * interval. Feeds read the newest segments directly, and the last activity
+ * time per team is kept in memory, rebuilt from the segments at startup.
+ *
+ * A full ring buffer drops the record rather than blocking the request.
+ */
+@Component
+@Slf4j
+public class ActivityLog {
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final int indexInterval;
+    private final long checkpointIntervalNanos;
+    private final int feedMaxSegments;
+    private final ActivityRingBuffer ringBuffer;
+
+    private final ConcurrentNavigableMap<Long, ActivitySegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> lastActivityByTeam = new ConcurrentHashMap<>();
+
+    // Writer thread state
+    private ActivitySegment active;
+    private long nextSequence;
+    private int sinceIndexEntry;
+    private long lastCheckpointAt;
+    private boolean dirty;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private final LongAdder dropped = new LongAdder();
+
+    public ActivityLog(
+            @Value("${activity.log.directory:data/activity}") String directory,
+            @Value("${activity.log.segment-bytes:16777216}") int segmentBytes,
+            @Value("${activity.log.max-segments:32}") int maxSegments,
+            @Value("${activity.log.index-interval:128}") int indexInterval,
+            @Value("${activity.log.checkpoint-interval-ms:1000}") long checkpointIntervalMs,
+            @Value("${activity.log.ring-capacity:65536}") int ringCapacity,
+            @Value("${activity.feed.max-segments:4}") int feedMaxSegments) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = Math.max(64 * 1024, segmentBytes);
+        this.maxSegments = Math.max(2, maxSegments);
+        this.indexInterval = Math.max(1, indexInterval);
+        this.checkpointIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(10, checkpointIntervalMs));
+        this.feedMaxSegments = Math.max(1, feedMaxSegments);
+        this.ringBuffer = new ActivityRingBuffer(ringCapacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(ActivitySegment.PREFIX) && name.endsWith(ActivitySegment.LOG_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            ActivitySegment segment = ActivitySegment.open(files.get(i), i == files.size() - 1);
+            segments.put(segment.baseSequence(), segment);
+            segment.forEach(this::trackTeamActivity);
+        }
+
+        if (segments.isEmpty()) {
+            active = ActivitySegment.create(directory, 0, segmentBytes);
+            segments.put(0L, active);
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+        nextSequence = active.lastSequence() + 1;
+        lastCheckpointAt = System.nanoTime();
+        log.info("Activity log opened at {} with {} segments, next sequence {}", directory, segments.size(), nextSequence);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "activity-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // ==================== PRODUCERS ====================
+
+    /**
+     * Queues a record for the writer without blocking. Returns {@code false} if
+     * the ring buffer is full and the record was dropped.
+     */
+    public boolean append(ActivityRecord record) {
+        if (running && ringBuffer.offer(record)) {
+            return true;
+        }
+        dropped.increment();
+        // One line per thousand drops is enough to notice a stalled writer
+        if (dropped.sum() % 1000 == 1) {
+            log.warn("Activity ring buffer full ({} slots), {} records dropped so far",
+                    ringBuffer.capacity(), dropped.sum());
+        }
+        return false;
+    }
+
+    // ==================== WRITER ====================
+
+    private void runWriter() {
+        while (running) {
+            try {
+                if (ringBuffer.drain(this::write, DRAIN_BATCH) == 0) {
+                    checkpointIfDue();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error in activity log writer", e);
+            }
+        }
+    }
+
+    private void write(ActivityRecord pending) {
+        ActivityRecord record = pending.withSequence(nextSequence);
+        try {
+            boolean indexed = sinceIndexEntry >= indexInterval;
+            if (!active.append(record, indexed)) {
+                roll();
+                indexed = true;
+                if (!active.append(record, true)) {
+                    log.error("Activity record {} does not fit in an empty segment, skipping", record.type());
+                    return;
+                }
+            }
+            sinceIndexEntry = indexed ? 1 : sinceIndexEntry + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nextSequence++;
+        dirty = true;
+        trackTeamActivity(record);
+    }
+
+    private void roll() throws IOException {
+        active.checkpoint();
+        ActivitySegment next = ActivitySegment.create(directory, nextSequence, segmentBytes);
+        segments.put(next.baseSequence(), next);
+        active = next;
+        lastCheckpointAt = System.nanoTime();
+
+        while (segments.size() > maxSegments) {
+            Map.Entry<Long, ActivitySegment> oldest = segments.pollFirstEntry();
+            oldest.getValue().delete();
+            log.debug("Deleted activity segment starting at {}", oldest.getKey());
+        }
+    }
+
+    private void checkpointIfDue() throws IOException {
+        if (dirty && System.nanoTime() - lastCheckpointAt >= checkpointIntervalNanos) {
+            active.checkpoint();
+            lastCheckpointAt = System.nanoTime();
+            dirty = false;
+        }
+    }
+
+    private void trackTeamActivity(ActivityRecord record) {
+        if (record.teamId() != null) {
+            lastActivityByTeam.merge(record.teamId(), record.timestamp(), Math::max);
+        }
+    }
+
+    // ==================== READERS ====================
+
+    /**
+     * Returns up to {@code limit} records matching the filter with a sequence
+     * below {@code beforeSequence}, newest first. Only the newest segments are
+     * searched, so sparse filters may return fewer records than exist.
+     */
+    public List<ActivityRecord> findRecent(Predicate<ActivityRecord> filter, long beforeSequence, int limit) {
+        List<ActivityRecord> found = new ArrayList<>(Math.min(limit, 256));
+        int searched = 0;
+        for (ActivitySegment segment : segments.headMap(beforeSequence).descendingMap().values()) {
+            if (searched++ >= feedMaxSegments) {
+                break;
+            }
+            boolean completed = segment.forEachNewestFirst(beforeSequence, record -> {
+                if (filter.test(record)) {
+                    found.add(record);
+                }
+                return found.size() < limit;
+            });
+            if (!completed) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    public Optional<LocalDateTime> getLastActivity(Long teamId) {
+        Long timestamp = teamId != null ? lastActivityByTeam.get(teamId) : null;
+        return Optional.ofNullable(timestamp).map(ActivityLog::toLocalDateTime);
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // ==================== SHUTDOWN ====================
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        try {
+            while (ringBuffer.drain(this::write, DRAIN_BATCH) > 0) {
+                // flush what producers queued before the writer stopped
+            }
+        } catch (Exception e) {
+            log.warn("Could not flush activity records at shutdown: {}", e.getMessage());
+        }
+        for (ActivitySegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Could not close activity segment {}: {}", segment.baseSequence(), e.getMessage());
+            }
+        }
+    }
+}
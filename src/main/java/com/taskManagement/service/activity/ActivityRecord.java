@@ -0,0 +1,23 @@
+package com.taskManagement.service.activity;
+
+import com.taskManagement.entity.ActivityType;
+
+/**
+ * One entry of the activity log. The sequence is assigned by the log writer;
+ * records created by producers carry -1 until then.
+ */
+public record ActivityRecord(
+        long sequence,
+        long timestamp,
+        ActivityType type,
+        Long actorId,
+        Long projectId,
+        Long teamId,
+        String entityType,
+        Long entityId,
+        String detail) {
+
+    ActivityRecord withSequence(long sequence) {
+        return new ActivityRecord(sequence, timestamp, type, actorId, projectId, teamId, entityType, entityId, detail);
+    }
+}
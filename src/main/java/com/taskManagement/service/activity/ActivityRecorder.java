@@ -0,0 +1,97 @@
+package com.taskManagement.service.activity;
+
+import com.taskManagement.entity.ActivityType;
+import com.taskManagement.entity.Comment;
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.TaskStatus;
+import com.taskManagement.entity.TeamMember;
+import com.taskManagement.entity.User;
+import com.taskManagement.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns service mutations into activity records. Everything the record needs
+ * is read from the entities right away; the record reaches the
+ * {@link ActivityLog} only once the surrounding transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityRecorder {
+
+    private static final int MAX_DETAIL_LENGTH = 200;
+
+    private final ActivityLog activityLog;
+
+    // ==================== TASKS ====================
+
+    public void taskCreated(Task task) {
+        recordForTask(ActivityType.TASK_CREATED, idOf(task.getCreator()), task, task.getTitle());
+    }
+
+    public void taskStatusChanged(Task task, TaskStatus previousStatus, Long actorId) {
+        recordForTask(ActivityType.TASK_STATUS_CHANGED, actorId, task, previousStatus + " -> " + task.getStatus());
+    }
+
+    public void taskAssigned(Task task, Long actorId) {
+        User assignee = task.getAssignee();
+        if (assignee == null) {
+            recordForTask(ActivityType.TASK_UNASSIGNED, actorId, task, task.getTitle());
+        } else {
+            recordForTask(ActivityType.TASK_ASSIGNED, actorId, task, assignee.getUsername());
+        }
+    }
+
+    // ==================== COMMENTS & ATTACHMENTS ====================
+
+    public void commentAdded(Comment comment) {
+        record(ActivityType.COMMENT_ADDED, idOf(comment.getAuthor()), comment.getTask(),
+                "COMMENT", comment.getId(), comment.getContent());
+    }
+
+    public void attachmentAdded(FileAttachment attachment) {
+        record(ActivityType.ATTACHMENT_ADDED, idOf(attachment.getUploadedBy()), attachment.getTask(),
+                "FILE", attachment.getId(), attachment.getOriginalFileName());
+    }
+
+    public void attachmentRemoved(FileAttachment attachment, Long actorId) {
+        record(ActivityType.ATTACHMENT_REMOVED, actorId, attachment.getTask(),
+                "FILE", attachment.getId(), attachment.getOriginalFileName());
+    }
+
+    // ==================== MEMBERSHIP ====================
+
+    public void membershipChanged(ActivityType type, TeamMember member) {
+        User user = member.getUser();
+        submit(new ActivityRecord(-1, System.currentTimeMillis(), type, idOf(user), null,
+                member.getTeam() != null ? member.getTeam().getId() : null,
+                "TEAM_MEMBER", member.getId(), user != null ? user.getUsername() : null));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void recordForTask(ActivityType type, Long actorId, Task task, String detail) {
+        record(type, actorId, task, "TASK", task.getId(), detail);
+    }
+
+    private void record(ActivityType type, Long actorId, Task task, String entityType, Long entityId, String detail) {
+        Project project = task != null ? task.getProject() : null;
+        Long teamId = project != null && project.getTeam() != null ? project.getTeam().getId() : null;
+        submit(new ActivityRecord(-1, System.currentTimeMillis(), type, actorId,
+                project != null ? project.getId() : null, teamId, entityType, entityId, truncate(detail)));
+    }
+
+    private void submit(ActivityRecord record) {
+        AfterCommit.run(() -> activityLog.append(record));
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private static String truncate(String detail) {
+        return detail != null && detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) : detail;
+    }
+}
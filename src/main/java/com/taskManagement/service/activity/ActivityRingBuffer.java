@@ -0,0 +1,65 @@
+package com.taskManagement.service.activity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ *
+ * Producers claim a slot by advancing the claim sequence with a CAS and then
+ * publish into it with a release store; the consumer takes published slots in
+ * claim order and clears each one before advancing its own sequence, which is
+ * what lets a producer reuse the slot one lap later. A producer that finds the
+ * buffer a full lap ahead of the consumer gets {@code false} instead of waiting.
+ */
+final class ActivityRingBuffer {
+
+    private final AtomicReferenceArray<ActivityRecord> slots;
+    private final int mask;
+    private final AtomicLong claimSequence = new AtomicLong();
+    private volatile long consumerSequence;
+
+    ActivityRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(ActivityRecord record) {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence - consumerSequence >= slots.length()) {
+                return false;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) sequence & mask, record);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} records to the sink in claim order. Stops early at
+     * a slot that was claimed but not yet published. Consumer thread only.
+     */
+    int drain(Consumer<ActivityRecord> sink, int max) {
+        long sequence = consumerSequence;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) sequence & mask;
+            ActivityRecord record = slots.getAcquire(index);
+            if (record == null) {
+                break;
+            }
+            slots.setPlain(index, null);
+            consumerSequence = ++sequence;
+            sink.accept(record);
+            drained++;
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,441 @@
+package com.taskManagement.service.activity;
+
+import com.taskManagement.entity.ActivityType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size, memory-mapped file of the activity log plus its index.
+ *
+ * Records are appended back to back as {@code [length][crc32][body]}; the
+ * length is written last, and the file is zero-filled, so a zero length marks
+ * the end. Every few records the writer adds an index entry (sequence,
+ * timestamp, position) to the companion {@code .idx} file. Readers use those
+ * entries to jump to the block holding a sequence and to walk blocks newest
+ * first; recovery uses the last entry to avoid rescanning the whole file.
+ *
+ * One thread appends; any number of threads read up to the published write
+ * position.
+ */
+@Slf4j
+final class ActivitySegment implements Closeable {
+
+    static final String PREFIX = "activity-";
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int HEADER_BYTES = 8;
+    private static final int INDEX_ENTRY_BYTES = 20;
+    private static final int FIXED_BODY_BYTES = 6 * Long.BYTES;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private final long baseSequence;
+    private final Path logFile;
+    private final Path indexFile;
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean writable;
+
+    private volatile Index index;
+    private volatile int writePosition;
+    private volatile long lastSequence = -1;
+    private int forcedPosition;
+
+    private ActivitySegment(long baseSequence, Path logFile, Path indexFile, FileChannel logChannel,
+                            FileChannel indexChannel, MappedByteBuffer buffer, boolean writable) {
+        this.baseSequence = baseSequence;
+        this.logFile = logFile;
+        this.indexFile = indexFile;
+        this.logChannel = logChannel;
+        this.indexChannel = indexChannel;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.writable = writable;
+        this.index = Index.EMPTY;
+    }
+
+    // ==================== OPEN & RECOVER ====================
+
+    static ActivitySegment create(Path directory, long baseSequence, int capacity) throws IOException {
+        Path logFile = directory.resolve(fileName(baseSequence, LOG_SUFFIX));
+        Path indexFile = directory.resolve(fileName(baseSequence, INDEX_SUFFIX));
+        FileChannel logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        return new ActivitySegment(baseSequence, logFile, indexFile, logChannel, indexChannel, buffer, true);
+    }
+
+    /**
+     * Opens an existing segment and finds its end. The tail segment is opened
+     * writable: a torn record at its end is cut off and the rest of the file
+     * zeroed so appends can resume there.
+     */
+    static ActivitySegment open(Path logFile, boolean writable) throws IOException {
+        String name = logFile.getFileName().toString();
+        long baseSequence = Long.parseLong(name.substring(PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+        Path indexFile = logFile.resolveSibling(fileName(baseSequence, INDEX_SUFFIX));
+
+        FileChannel logChannel = writable
+                ? FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(logFile, StandardOpenOption.READ);
+        FileChannel indexChannel = writable
+                ? FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : Files.exists(indexFile) ? FileChannel.open(indexFile, StandardOpenOption.READ) : null;
+        MappedByteBuffer buffer = logChannel.map(
+                writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, logChannel.size());
+
+        ActivitySegment segment = new ActivitySegment(baseSequence, logFile, indexFile, logChannel, indexChannel,
+                buffer, writable);
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        Index loaded = loadIndex();
+        while (true) {
+            int start = loaded.size > 0 ? loaded.positions[loaded.size - 1] : 0;
+            ScanResult scan = scan(start);
+            if (scan.records > 0 || loaded.size <= 1) {
+                writePosition = scan.end;
+                lastSequence = scan.lastSequence >= 0 ? scan.lastSequence
+                        : loaded.size > 0 ? loaded.sequences[0] - 1 : baseSequence - 1;
+                break;
+            }
+            // The last checkpoint points past the valid data; fall back to the one before it
+            loaded = loaded.truncate(loaded.size - 1);
+        }
+        if (loaded.size > 0 && loaded.positions[loaded.size - 1] >= writePosition) {
+            loaded = loaded.truncate(loaded.size - 1);
+        }
+        index = loaded;
+        forcedPosition = writePosition;
+
+        if (writable) {
+            indexChannel.truncate((long) loaded.size * INDEX_ENTRY_BYTES);
+            if (loaded.size == 0 && writePosition > 0) {
+                writeIndexEntry(buffer.getLong(HEADER_BYTES), buffer.getLong(HEADER_BYTES + 8), 0);
+            }
+            if (writePosition + Integer.BYTES <= capacity && buffer.getInt(writePosition) != 0) {
+                log.warn("Discarding torn activity records at {}:{}", logFile.getFileName(), writePosition);
+                for (int position = writePosition; position < capacity; position++) {
+                    buffer.put(position, (byte) 0);
+                }
+                buffer.force();
+            }
+        } else if (loaded.size == 0 && writePosition > 0) {
+            // Sealed segment without a usable index reads as one block
+            index = loaded.append(buffer.getLong(HEADER_BYTES), 0);
+        }
+    }
+
+    private Index loadIndex() throws IOException {
+        if (indexChannel == null) {
+            return Index.EMPTY;
+        }
+        int entries = (int) (indexChannel.size() / INDEX_ENTRY_BYTES);
+        ByteBuffer raw = ByteBuffer.allocate(entries * INDEX_ENTRY_BYTES);
+        while (raw.hasRemaining() && indexChannel.read(raw, raw.position()) > 0) {
+            // read until full
+        }
+        raw.flip();
+
+        Index loaded = Index.EMPTY;
+        int previousPosition = -1;
+        for (int i = 0; i < entries && raw.remaining() >= INDEX_ENTRY_BYTES; i++) {
+            long sequence = raw.getLong();
+            raw.getLong(); // timestamp
+            int position = raw.getInt();
+            if (position <= previousPosition || position >= capacity) {
+                break;
+            }
+            loaded = loaded.append(sequence, position);
+            previousPosition = position;
+        }
+        return loaded;
+    }
+
+    // ==================== APPEND ====================
+
+    /**
+     * Appends the record, returning {@code false} when it does not fit. Writer
+     * thread only.
+     */
+    boolean append(ActivityRecord record, boolean indexed) throws IOException {
+        byte[] type = record.type().name().getBytes(StandardCharsets.UTF_8);
+        byte[] entityType = bytes(record.entityType());
+        byte[] detail = bytes(record.detail());
+        int bodyLength = FIXED_BODY_BYTES + 3 * Short.BYTES + type.length + entityType.length + detail.length;
+
+        int position = writePosition;
+        // Keep room for the zero length that terminates the segment
+        if (position + HEADER_BYTES + bodyLength + Integer.BYTES > capacity) {
+            return false;
+        }
+
+        int cursor = position + HEADER_BYTES;
+        buffer.putLong(cursor, record.sequence());
+        buffer.putLong(cursor + 8, record.timestamp());
+        buffer.putLong(cursor + 16, orNull(record.actorId()));
+        buffer.putLong(cursor + 24, orNull(record.projectId()));
+        buffer.putLong(cursor + 32, orNull(record.teamId()));
+        buffer.putLong(cursor + 40, orNull(record.entityId()));
+        cursor += FIXED_BODY_BYTES;
+        cursor = putString(cursor, type);
+        cursor = putString(cursor, entityType);
+        putString(cursor, detail);
+
+        buffer.putInt(position + Integer.BYTES, crc(position + HEADER_BYTES, bodyLength));
+        buffer.putInt(position, bodyLength);
+
+        if (indexed || index.size == 0) {
+            writeIndexEntry(record.sequence(), record.timestamp(), position);
+        }
+        lastSequence = record.sequence();
+        writePosition = position + HEADER_BYTES + bodyLength;
+        return true;
+    }
+
+    private void writeIndexEntry(long sequence, long timestamp, int position) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putLong(sequence).putLong(timestamp).putInt(position).flip();
+        long offset = (long) index.size * INDEX_ENTRY_BYTES;
+        while (entry.hasRemaining()) {
+            offset += indexChannel.write(entry, offset);
+        }
+        index = index.append(sequence, position);
+    }
+
+    /**
+     * Flushes records and index entries written since the last checkpoint to disk.
+     */
+    void checkpoint() throws IOException {
+        int position = writePosition;
+        if (position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+        indexChannel.force(false);
+    }
+
+    // ==================== READ ====================
+
+    void forEach(Consumer<ActivityRecord> visitor) {
+        int end = writePosition;
+        int position = 0;
+        while (position < end) {
+            int length = buffer.getInt(position);
+            if (length <= 0) {
+                break;
+            }
+            visitor.accept(decode(position + HEADER_BYTES));
+            position += HEADER_BYTES + length;
+        }
+    }
+
+    /**
+     * Visits records with a sequence below {@code beforeSequence}, newest first,
+     * until the visitor returns {@code false}. Returns {@code false} if the
+     * visitor stopped the walk.
+     */
+    boolean forEachNewestFirst(long beforeSequence, Predicate<ActivityRecord> visitor) {
+        int end = writePosition;
+        Index snapshot = index;
+        List<ActivityRecord> block = new ArrayList<>();
+        for (int i = snapshot.size - 1; i >= 0; i--) {
+            if (snapshot.sequences[i] >= beforeSequence) {
+                continue;
+            }
+            int blockEnd = i + 1 < snapshot.size ? snapshot.positions[i + 1] : end;
+            block.clear();
+            int position = snapshot.positions[i];
+            while (position < blockEnd) {
+                int length = buffer.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                ActivityRecord record = decode(position + HEADER_BYTES);
+                if (record.sequence() < beforeSequence) {
+                    block.add(record);
+                }
+                position += HEADER_BYTES + length;
+            }
+            for (int j = block.size() - 1; j >= 0; j--) {
+                if (!visitor.test(block.get(j))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ActivityRecord decode(int offset) {
+        long sequence = buffer.getLong(offset);
+        long timestamp = buffer.getLong(offset + 8);
+        Long actorId = nullable(buffer.getLong(offset + 16));
+        Long projectId = nullable(buffer.getLong(offset + 24));
+        Long teamId = nullable(buffer.getLong(offset + 32));
+        Long entityId = nullable(buffer.getLong(offset + 40));
+        int cursor = offset + FIXED_BODY_BYTES;
+        int typeLength = Short.toUnsignedInt(buffer.getShort(cursor));
+        String type = getString(cursor + Short.BYTES, typeLength);
+        cursor += Short.BYTES + typeLength;
+        int entityTypeLength = Short.toUnsignedInt(buffer.getShort(cursor));
+        String entityType = getString(cursor + Short.BYTES, entityTypeLength);
+        cursor += Short.BYTES + entityTypeLength;
+        int detailLength = Short.toUnsignedInt(buffer.getShort(cursor));
+        String detail = getString(cursor + Short.BYTES, detailLength);
+        return new ActivityRecord(sequence, timestamp, ActivityType.valueOf(type), actorId, projectId, teamId,
+                emptyToNull(entityType), entityId, emptyToNull(detail));
+    }
+
+    private ScanResult scan(int start) {
+        int position = start;
+        int records = 0;
+        long last = -1;
+        while (position + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= FIXED_BODY_BYTES || position + HEADER_BYTES + length > capacity
+                    || buffer.getInt(position + Integer.BYTES) != crc(position + HEADER_BYTES, length)) {
+                break;
+            }
+            last = buffer.getLong(position + HEADER_BYTES);
+            records++;
+            position += HEADER_BYTES + length;
+        }
+        return new ScanResult(position, records, last);
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    boolean isEmpty() {
+        return writePosition == 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            checkpoint();
+        }
+        logChannel.close();
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+    }
+
+    // The mapping itself is released when the buffer is collected
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(indexFile);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    static String fileName(long baseSequence, String suffix) {
+        return PREFIX + String.format("%020d", baseSequence) + suffix;
+    }
+
+    private int putString(int offset, byte[] value) {
+        buffer.putShort(offset, (short) value.length);
+        buffer.put(offset + Short.BYTES, value);
+        return offset + Short.BYTES + value.length;
+    }
+
+    private String getString(int offset, int length) {
+        byte[] value = new byte[length];
+        buffer.get(offset, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int crc(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        return encoded.length <= 0xFFFF ? encoded : Arrays.copyOf(encoded, 0xFFFF);
+    }
+
+    private static long orNull(Long value) {
+        return value != null ? value : NULL_ID;
+    }
+
+    private static Long nullable(long value) {
+        return value != NULL_ID ? value : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ScanResult(int end, int records, long lastSequence) {
+    }
+
+    /**
+     * Append-only view of the index entries. Arrays are shared between
+     * snapshots; each snapshot only reads below its own size.
+     */
+    private static final class Index {
+
+        private static final Index EMPTY = new Index(new long[0], new int[0], 0);
+
+        private final long[] sequences;
+        private final int[] positions;
+        private final int size;
+
+        private Index(long[] sequences, int[] positions, int size) {
+            this.sequences = sequences;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        private Index append(long sequence, int position) {
+            long[] newSequences = sequences;
+            int[] newPositions = positions;
+            if (size == sequences.length) {
+                int length = Math.max(16, size * 2);
+                newSequences = Arrays.copyOf(sequences, length);
+                newPositions = Arrays.copyOf(positions, length);
+            }
+            newSequences[size] = sequence;
+            newPositions[size] = position;
+            return new Index(newSequences, newPositions, size + 1);
+        }
+
+        private Index truncate(int newSize) {
+            return new Index(sequences, positions, newSize);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskManagement.service.comment;
+
+import com.taskManagement.dto.comment.CommentResponseDTO;
+import com.taskManagement.dto.comment.CommentThreadPageDTO;
+import com.taskManagement.dto.user.UserSummaryDTO;
+import com.taskManagement.util.UtcTimestamps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads one page of a task's discussion as a thread tree with a single query.
+ *
+ * A recursive CTE picks the page of top-level comments by keyset, walks down
+ * to every reply below them and joins the author and the direct reply count,
+ * ordered by creation time. The flat rows are then linked into the tree in
+ * one pass. The page size plus one roots are selected so the query also
+ * answers whether another page exists.
+ */
+@Component
+public class CommentThreadQuery {
+
+    private static final String THREAD_SQL = """
+            WITH RECURSIVE candidate_roots AS (
+                SELECT c.id, c.created_at FROM comments c
+                WHERE c.task_id = ? AND c.parent_comment_id IS NULL %s
+                ORDER BY c.created_at, c.id
+                LIMIT ?
+            ), roots AS (
+                SELECT id FROM candidate_roots ORDER BY created_at, id LIMIT ?
+            ), thread AS (
+                SELECT c.id, 0 AS depth FROM comments c JOIN roots r ON r.id = c.id
+                UNION ALL
+                SELECT c.id, t.depth + 1 FROM comments c JOIN thread t ON c.parent_comment_id = t.id
+                WHERE t.depth < ?
+            )
+            SELECT c.id, c.content, c.is_edited, c.edited_at, c.created_at, c.updated_at,
+                   c.task_id, c.parent_comment_id, t.depth,
+                   (SELECT COUNT(*) FROM comments r WHERE r.parent_comment_id = c.id) AS reply_count,
+                   u.id AS author_id, u.username, u.first_name, u.last_name, u.profile_picture_url, u.is_active,
+                   (SELECT COUNT(*) FROM candidate_roots) AS candidate_count
+            FROM thread t
+            JOIN comments c ON c.id = t.id
+            JOIN users u ON u.id = c.author_id
+            ORDER BY c.created_at, c.id
+            """;
+
+    private static final String AFTER_CURSOR = "AND (c.created_at, c.id) > (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxDepth;
+
+    public CommentThreadQuery(
+            JdbcTemplate jdbcTemplate,
+            @Value("${comment.thread.max-depth:50}") int maxDepth) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxDepth = maxDepth;
+    }
+
+    public CommentThreadPageDTO findThreads(Long taskId, CommentCursor cursor, int pageSize) {
+        List<Object> args = new ArrayList<>();
+        args.add(taskId);
+        if (cursor != null) {
+            args.add(UtcTimestamps.toDatabase(cursor.createdAt()));
+            args.add(cursor.id());
+        }
+        args.add(pageSize + 1);
+        args.add(pageSize);
+        args.add(maxDepth);
+
+        long[] candidateCount = new long[1];
+        List<CommentResponseDTO> rows = jdbcTemplate.query(
+                String.format(THREAD_SQL, cursor != null ? AFTER_CURSOR : ""),
+                (rs, rowNum) -> {
+                    candidateCount[0] = rs.getLong("candidate_count");
+                    return toNode(rs);
+                },
+                args.toArray());
+
+        List<CommentResponseDTO> threads = link(rows);
+        boolean hasMore = candidateCount[0] > pageSize;
+        CommentResponseDTO last = threads.isEmpty() ? null : threads.get(threads.size() - 1);
+
+        return CommentThreadPageDTO.builder()
+                .threads(threads)
+                .nextCursor(hasMore && last != null ? new CommentCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    // Rows arrive in creation order, so siblings end up sorted in every replies list
+    private List<CommentResponseDTO> link(List<CommentResponseDTO> rows) {
+        Map<Long, CommentResponseDTO> byId = new HashMap<>();
+        for (CommentResponseDTO node : rows) {
+            byId.put(node.getId(), node);
+        }
+        List<CommentResponseDTO> roots = new ArrayList<>();
+        for (CommentResponseDTO node : rows) {
+            if (node.getDepth() == 0) {
+                roots.add(node);
+            } else {
+                byId.get(node.getParentCommentId()).getReplies().add(node);
+            }
+        }
+        return roots;
+    }
+
+    private CommentResponseDTO toNode(ResultSet rs) throws SQLException {
+        String firstName = rs.getString("first_name");
+        String lastName = rs.getString("last_name");
+        UserSummaryDTO author = UserSummaryDTO.builder()
+                .id(rs.getLong("author_id"))
+                .username(rs.getString("username"))
+                .fullName(firstName + " " + lastName)
+                .profilePictureUrl(rs.getString("profile_picture_url"))
+                .isActive((Boolean) rs.getObject("is_active"))
+                .build();
+
+        Number parentId = (Number) rs.getObject("parent_comment_id");
+        return CommentResponseDTO.builder()
+                .id(rs.getLong("id"))
+                .content(rs.getString("content"))
+                .isEdited((Boolean) rs.getObject("is_edited"))
+                .editedAt(UtcTimestamps.fromDatabase(rs.getTimestamp("edited_at")))
+                .createdAt(UtcTimestamps.fromDatabase(rs.getTimestamp("created_at")))
+                .updatedAt(UtcTimestamps.fromDatabase(rs.getTimestamp("updated_at")))
+                .taskId(rs.getLong("task_id"))
+                .parentCommentId(parentId != null ? parentId.longValue() : null)
+                .author(author)
+                .depth(rs.getInt("depth"))
+                .replyCount(rs.getLong("reply_count"))
+                .replies(new ArrayList<>())
+                .build();
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.taskManagement.service.comment;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed set of usernames.
+ *
+ * A single left-to-right pass over the text reports every occurrence of every
+ * username; an occurrence counts as a mention only when it directly follows an
+ * '@' that starts a word and is not itself followed by more username
+ * characters, so "@ann" does not match inside "@anna" or "bob@ann.io".
+ * Instances are immutable and safe to share between threads.
+ */
+final class MentionAutomaton {
+
+    static final MentionAutomaton EMPTY = build(Map.of());
+
+    private static final int ROOT = 0;
+
+    // Per state: outgoing edges, failure link, user id and length of the
+    // username ending here (-1 when none), and the nearest accepting suffix
+    private final List<Map<Character, Integer>> edges;
+    private final int[] failure;
+    private final long[] userIds;
+    private final int[] lengths;
+    private final int[] outputLink;
+
+    private MentionAutomaton(List<Map<Character, Integer>> edges, int[] failure,
+                             long[] userIds, int[] lengths, int[] outputLink) {
+        this.edges = edges;
+        this.failure = failure;
+        this.userIds = userIds;
+        this.lengths = lengths;
+        this.outputLink = outputLink;
+    }
+
+    static MentionAutomaton build(Map<String, Long> userIdsByUsername) {
+        List<Map<Character, Integer>> edges = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        edges.add(new HashMap<>());
+        ids.add(-1L);
+        lengths.add(-1);
+
+        for (Map.Entry<String, Long> entry : userIdsByUsername.entrySet()) {
+            String username = entry.getKey();
+            if (username == null || username.isEmpty() || entry.getValue() == null) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < username.length(); i++) {
+                char c = Character.toLowerCase(username.charAt(i));
+                Integer next = edges.get(state).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new HashMap<>());
+                    ids.add(-1L);
+                    lengths.add(-1);
+                    edges.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ids.set(state, entry.getValue());
+            lengths.set(state, username.length());
+        }
+
+        int size = edges.size();
+        int[] failure = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+        long[] idArray = ids.stream().mapToLong(Long::longValue).toArray();
+        int[] lengthArray = lengths.stream().mapToInt(Integer::intValue).toArray();
+
+        // Breadth-first so every failure target is finished before it is used
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edges.get(ROOT).values()) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : edges.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback != ROOT && !edges.get(fallback).containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer target = edges.get(fallback).get(edge.getKey());
+                failure[child] = target != null ? target : ROOT;
+                outputLink[child] = lengthArray[failure[child]] > 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+        return new MentionAutomaton(edges, failure, idArray, lengthArray, outputLink);
+    }
+
+    /**
+     * Returns the ids of all users mentioned in the text, in order of first mention.
+     */
+    Set<Long> findMentions(String text) {
+        Set<Long> mentioned = new LinkedHashSet<>();
+        if (text == null || text.isEmpty() || edges.get(ROOT).isEmpty()) {
+            return mentioned;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            Integer next = edges.get(state).get(c);
+            while (next == null && state != ROOT) {
+                state = failure[state];
+                next = edges.get(state).get(c);
+            }
+            state = next != null ? next : ROOT;
+
+            int match = lengths[state] > 0 ? state : outputLink[state];
+            while (match != -1) {
+                if (isMention(text, i - lengths[match] + 1, i)) {
+                    mentioned.add(userIds[match]);
+                }
+                match = outputLink[match];
+            }
+        }
+        return mentioned;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static boolean isMention(String text, int start, int end) {
+        if (start < 1 || text.charAt(start - 1) != '@') {
+            return false;
+        }
+        if (start >= 2 && isUsernameChar(text.charAt(start - 2))) {
+            return false;
+        }
+        return !continuesUsername(text, end + 1);
+    }
+
+    // A trailing '.' is sentence punctuation unless more of a name follows it
+    private static boolean continuesUsername(String text, int index) {
+        if (index >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(index);
+        if (c == '.') {
+            return index + 1 < text.length() && Character.isLetterOrDigit(text.charAt(index + 1));
+        }
+        return isUsernameChar(c);
+    }
+
+    private static boolean isUsernameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskManagement.service.comment;
+
+/**
+ * Published when the set of mentionable usernames may have changed, either for
+ * one team (membership changes) or for every team a user belongs to (user
+ * created, updated, activated or removed). Exactly one of the ids is set.
+ */
+public record MentionDirectoryChangedEvent(Long teamId, Long userId) {
+
+    public static MentionDirectoryChangedEvent forTeam(Long teamId) {
+        return new MentionDirectoryChangedEvent(teamId, null);
+    }
+
+    public static MentionDirectoryChangedEvent forUser(Long userId) {
+        return new MentionDirectoryChangedEvent(null, userId);
+    }
+}
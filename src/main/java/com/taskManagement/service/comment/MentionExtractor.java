@@ -0,0 +1,130 @@
+package com.taskManagement.service.comment;
+
+import com.taskManagement.entity.User;
+import com.taskManagement.repository.TeamMemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves @mentions in comment text to user ids.
+ *
+ * Mentions are restricted to the active members of the task's team. One
+ * {@link MentionAutomaton} is built per team on first use and kept until a
+ * {@link MentionDirectoryChangedEvent} touches that team or one of its
+ * members; only those teams are rebuilt, on their next use. A generation
+ * counter keeps an automaton that was being built while a change committed
+ * from being cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MentionExtractor {
+
+    private final TeamMemberRepository teamMemberRepository;
+
+    private final Map<Long, TeamDirectory> directories = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> teamsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the ids of the team's active members mentioned in the text.
+     */
+    public Set<Long> extract(Long teamId, String text) {
+        if (teamId == null || !mayContainMention(text)) {
+            return Set.of();
+        }
+        return directory(teamId).automaton().findMentions(text);
+    }
+
+    /**
+     * Returns the ids of the given users mentioned in the text, for tasks that
+     * do not belong to a team.
+     */
+    public Set<Long> extractAmong(Collection<User> users, String text) {
+        if (!mayContainMention(text)) {
+            return Set.of();
+        }
+        Map<String, Long> userIdsByUsername = new HashMap<>();
+        users.stream()
+                .filter(Objects::nonNull)
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()))
+                .forEach(user -> userIdsByUsername.put(user.getUsername(), user.getId()));
+        return MentionAutomaton.build(userIdsByUsername).findMentions(text);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDirectoryChanged(MentionDirectoryChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.teamId() != null) {
+            invalidate(event.teamId());
+        }
+        if (event.userId() != null) {
+            Set<Long> teamIds = teamsByUser.get(event.userId());
+            if (teamIds != null) {
+                List.copyOf(teamIds).forEach(this::invalidate);
+            }
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private TeamDirectory directory(Long teamId) {
+        TeamDirectory cached = directories.get(teamId);
+        if (cached != null) {
+            return cached;
+        }
+        long startedAt = generation.get();
+        TeamDirectory loaded = load(teamId);
+        TeamDirectory existing = directories.putIfAbsent(teamId, loaded);
+        if (existing == null && generation.get() != startedAt) {
+            directories.remove(teamId, loaded);
+        }
+        return existing != null ? existing : loaded;
+    }
+
+    private TeamDirectory load(Long teamId) {
+        Map<String, Long> userIdsByUsername = new HashMap<>();
+        Set<Long> memberIds = new HashSet<>();
+        for (Object[] row : teamMemberRepository.findActiveMemberUsernames(teamId)) {
+            Long userId = (Long) row[0];
+            memberIds.add(userId);
+            if (Boolean.TRUE.equals(row[2])) {
+                userIdsByUsername.put((String) row[1], userId);
+            }
+        }
+        // Index every member, active or not, so reactivating a user finds the team
+        memberIds.forEach(userId -> teamsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(teamId));
+        log.debug("Built mention automaton for team {} with {} usernames", teamId, userIdsByUsername.size());
+        return new TeamDirectory(MentionAutomaton.build(userIdsByUsername), memberIds);
+    }
+
+    private void invalidate(Long teamId) {
+        TeamDirectory removed = directories.remove(teamId);
+        if (removed != null) {
+            removed.memberIds().forEach(userId -> teamsByUser.computeIfPresent(userId, (id, teamIds) -> {
+                teamIds.remove(teamId);
+                return teamIds.isEmpty() ? null : teamIds;
+            }));
+        }
+    }
+
+    private static boolean mayContainMention(String text) {
+        return text != null && text.indexOf('@') >= 0;
+    }
+
+    private record TeamDirectory(MentionAutomaton automaton, Set<Long> memberIds) {
+    }
+}
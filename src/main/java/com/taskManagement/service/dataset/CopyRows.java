@@ -0,0 +1,117 @@
+package com.taskManagement.service.dataset;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Rows of one table in PostgreSQL's COPY text format, buffered in memory and
+ * sent with a single {@code COPY ... FROM STDIN}.
+ */
+final class CopyRows {
+
+    private static final String NULL = "\\N";
+
+    private final String table;
+    private final String columns;
+    private final StringBuilder text;
+    private boolean rowStarted;
+    private long rows;
+
+    CopyRows(String table, String columns, int expectedRows) {
+        this.table = table;
+        this.columns = columns;
+        this.text = new StringBuilder(Math.max(1024, expectedRows * 160));
+    }
+
+    CopyRows add(String value) {
+        separate();
+        if (value == null) {
+            text.append(NULL);
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> text.append("\\\\");
+                case '\t' -> text.append("\\t");
+                case '\n' -> text.append("\\n");
+                case '\r' -> text.append("\\r");
+                default -> text.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyRows add(long value) {
+        separate();
+        text.append(value);
+        return this;
+    }
+
+    CopyRows add(Long value) {
+        return value == null ? addNull() : add(value.longValue());
+    }
+
+    CopyRows add(double value) {
+        separate();
+        text.append(value);
+        return this;
+    }
+
+    CopyRows add(Double value) {
+        return value == null ? addNull() : add(value.doubleValue());
+    }
+
+    CopyRows add(boolean value) {
+        separate();
+        text.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyRows add(LocalDateTime value) {
+        if (value == null) {
+            return addNull();
+        }
+        separate();
+        text.append(value);
+        return this;
+    }
+
+    CopyRows add(Enum<?> value) {
+        return add(value != null ? value.name() : null);
+    }
+
+    CopyRows addNull() {
+        separate();
+        text.append(NULL);
+        return this;
+    }
+
+    void endRow() {
+        text.append('\n');
+        rowStarted = false;
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long copyTo(CopyManager copyManager) throws SQLException, IOException {
+        if (rows == 0) {
+            return 0;
+        }
+        return copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN", new StringReader(text.toString()));
+    }
+
+    private void separate() {
+        if (rowStarted) {
+            text.append('\t');
+        }
+        rowStarted = true;
+    }
+}
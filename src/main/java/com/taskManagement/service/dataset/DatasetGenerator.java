@@ -0,0 +1,288 @@
+package com.taskManagement.service.dataset;
+
+import com.taskManagement.service.notification.NotificationRetentionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills an empty database with a large, realistic dataset and exits. Active
+ * only with the {@code dataset} profile (see {@code application-dataset.properties}):
+ *
+ *   java -jar taskManagement.war --spring.profiles.active=dataset --dataset.tasks=1000000
+ *
+ * Tasks per project follow a Zipf distribution, subtasks form deep chains,
+ * and a few busy users own most assignments, comments and notifications. The
+ * same seed and anchor date always produce the same rows.
+ *
+ * Rows are written with {@code COPY ... FROM STDIN}: users, teams and projects
+ * first, then tasks (with their dependencies and comments) and notifications in
+ * parallel batches, each batch in its own transaction. Identity sequences are
+ * moved past the loaded IDs afterwards so the application can keep inserting.
+ */
+@Component
+@Profile("dataset")
+@Slf4j
+public class DatasetGenerator implements ApplicationRunner {
+
+    // Loaded in this order; truncated together
+    private static final String[] TABLES = {
+            "users", "teams", "team_members", "projects", "tasks", "task_dependencies", "comments", "notifications"
+    };
+    private static final String DEFAULT_PASSWORD = "password";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final NotificationRetentionManager notificationRetentionManager;
+    private final ApplicationContext applicationContext;
+
+    private final DatasetSettings settings;
+    private final boolean truncate;
+    private final int threads;
+    private final int batchTasks;
+
+    public DatasetGenerator(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            NotificationRetentionManager notificationRetentionManager,
+            ApplicationContext applicationContext,
+            @Value("${dataset.seed:42}") long seed,
+            @Value("${dataset.anchor:}") String anchor,
+            @Value("${dataset.tasks:100000}") long tasks,
+            @Value("${dataset.tasks-per-user:40}") int tasksPerUser,
+            @Value("${dataset.users-per-team:20}") int usersPerTeam,
+            @Value("${dataset.tasks-per-project:150}") int tasksPerProject,
+            @Value("${dataset.project-skew:1.0}") double projectSkew,
+            @Value("${dataset.subtask-ratio:0.4}") double subtaskRatio,
+            @Value("${dataset.max-subtask-depth:8}") int maxSubtaskDepth,
+            @Value("${dataset.dependency-ratio:0.1}") double dependencyRatio,
+            @Value("${dataset.comments-per-task:1.5}") double commentsPerTask,
+            @Value("${dataset.notifications-per-user:25}") int notificationsPerUser,
+            @Value("${dataset.truncate:false}") boolean truncate,
+            @Value("${dataset.threads:8}") int threads,
+            @Value("${dataset.batch-tasks:20000}") int batchTasks) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.notificationRetentionManager = notificationRetentionManager;
+        this.applicationContext = applicationContext;
+        this.settings = new DatasetSettings(seed, parseAnchor(anchor), Math.max(1, tasks), tasksPerUser, usersPerTeam,
+                tasksPerProject, projectSkew, subtaskRatio, Math.max(1, maxSubtaskDepth), dependencyRatio,
+                commentsPerTask, Math.max(0, notificationsPerUser));
+        this.truncate = truncate;
+        this.threads = Math.max(1, threads);
+        this.batchTasks = Math.max(1000, batchTasks);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            generate();
+        } catch (Exception e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    public void generate() throws Exception {
+        long started = System.nanoTime();
+        prepareTables();
+
+        DatasetPlan plan = DatasetPlan.create(settings);
+        DatasetRows rows = new DatasetRows(plan);
+        log.info("Generating dataset with seed {} anchored at {}: {} users, {} teams, {} members, {} projects, "
+                        + "{} tasks, {} notifications",
+                settings.seed(), settings.anchor(), plan.userCount, plan.teamCount, plan.teamMemberCount(),
+                plan.projectCount, plan.taskCount(), plan.notificationCount());
+
+        // One hash for everyone; BCrypt per user would dominate small runs
+        copy(rows.users(passwordEncoder.encode(DEFAULT_PASSWORD)));
+        copy(rows.teams(), rows.teamMembers(), rows.projects());
+        log.info("Loaded users, teams and projects in {} ms", elapsedMillis(started));
+
+        if (notificationRetentionManager.isPartitioned()) {
+            notificationRetentionManager.ensurePartitions(settings.anchor().toLocalDate().minusMonths(1),
+                    settings.anchor().toLocalDate());
+        }
+        loadInParallel(plan, rows);
+
+        resetSequences();
+        for (String table : TABLES) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        log.info("Dataset loaded in {} s", elapsedMillis(started) / 1000);
+    }
+
+    // ==================== LOADING ====================
+
+    private void loadInParallel(DatasetPlan plan, DatasetRows rows) throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        LongAdder tasks = new LongAdder();
+        LongAdder dependencies = new LongAdder();
+        LongAdder comments = new LongAdder();
+        LongAdder notifications = new LongAdder();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-copy-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (List<DatasetPlan.TaskSlice> batch : taskBatches(plan)) {
+                batches.add(pool.submit(() -> {
+                    DatasetRows.SliceRows sliceRows = rows.sliceRows(batchTasks);
+                    batch.forEach(slice -> rows.addSlice(slice, sliceRows));
+                    copy(sliceRows.tasks(), sliceRows.dependencies(), sliceRows.comments());
+                    tasks.add(sliceRows.tasks().rows());
+                    dependencies.add(sliceRows.dependencies().rows());
+                    comments.add(sliceRows.comments().rows());
+                    return null;
+                }));
+            }
+            for (int[] users : notificationBatches(plan)) {
+                batches.add(pool.submit(() -> {
+                    CopyRows notificationRows = rows.notifications(users[0], users[1]);
+                    copy(notificationRows);
+                    notifications.add(notificationRows.rows());
+                    return null;
+                }));
+            }
+
+            int done = 0;
+            for (Future<?> batch : batches) {
+                batch.get();
+                if (++done % 50 == 0) {
+                    log.info("Loaded {} of {} batches: {} tasks, {} comments, {} notifications",
+                            done, batches.size(), tasks.sum(), comments.sum(), notifications.sum());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long millis = Math.max(1, elapsedMillis(started));
+        long total = tasks.sum() + dependencies.sum() + comments.sum() + notifications.sum();
+        log.info("Loaded {} tasks, {} dependencies, {} comments and {} notifications in {} ms ({} rows/s)",
+                tasks.sum(), dependencies.sum(), comments.sum(), notifications.sum(), millis, total * 1000 / millis);
+    }
+
+    private List<List<DatasetPlan.TaskSlice>> taskBatches(DatasetPlan plan) {
+        List<List<DatasetPlan.TaskSlice>> batches = new ArrayList<>();
+        List<DatasetPlan.TaskSlice> batch = new ArrayList<>();
+        int size = 0;
+        for (DatasetPlan.TaskSlice slice : plan.taskSlices(batchTasks)) {
+            batch.add(slice);
+            size += slice.count();
+            if (size >= batchTasks) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                size = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    // Inclusive user ID ranges holding about one batch of notifications each
+    private List<int[]> notificationBatches(DatasetPlan plan) {
+        List<int[]> batches = new ArrayList<>();
+        int from = 1;
+        for (int user = 1; user <= plan.userCount; user++) {
+            if (plan.firstNotification[user] - plan.firstNotification[from - 1] >= batchTasks || user == plan.userCount) {
+                batches.add(new int[]{from, user});
+                from = user + 1;
+            }
+        }
+        return batches;
+    }
+
+    // The tables go in one transaction, in order, so later ones can reference earlier ones
+    private void copy(CopyRows... tables) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL synchronous_commit TO OFF");
+                }
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                for (CopyRows table : tables) {
+                    table.copyTo(copyManager);
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // ==================== TABLE MAINTENANCE ====================
+
+    private void prepareTables() {
+        Boolean populated = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users) OR EXISTS (SELECT 1 FROM tasks)", Boolean.class);
+        if (!Boolean.TRUE.equals(populated)) {
+            return;
+        }
+        if (!truncate) {
+            throw new IllegalStateException(
+                    "Database already has users or tasks; set dataset.truncate=true to replace them");
+        }
+        // CASCADE also empties tables that reference these, such as attachments and revisions
+        log.warn("Truncating {} and every table referencing them", String.join(", ", TABLES));
+        jdbcTemplate.execute("TRUNCATE TABLE " + String.join(", ", TABLES) + " RESTART IDENTITY CASCADE");
+    }
+
+    private void resetSequences() {
+        for (String table : TABLES) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), "
+                    + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)", Long.class, table);
+        }
+    }
+
+    private static LocalDateTime parseAnchor(String anchor) {
+        if (anchor == null || anchor.isBlank()) {
+            return LocalDate.now().atStartOfDay();
+        }
+        return anchor.contains("T") ? LocalDateTime.parse(anchor) : LocalDate.parse(anchor).atStartOfDay();
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,209 @@
+package com.taskManagement.service.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * The sequential, cheap part of a dataset: who is in which team, which team
+ * owns each project and how many tasks and notifications every project and
+ * user gets. Row IDs follow from these counts, so the expensive rows can be
+ * generated in parallel slices that never need to coordinate.
+ *
+ * Every random choice comes from a generator seeded by the dataset seed plus
+ * the stream and key it belongs to, so the same settings always produce the
+ * same rows no matter how slices are scheduled.
+ */
+final class DatasetPlan {
+
+    static final long STREAM_PLAN = 1;
+    static final long STREAM_USERS = 2;
+    static final long STREAM_TEAMS = 3;
+    static final long STREAM_PROJECTS = 4;
+    static final long STREAM_TASKS = 5;
+    static final long STREAM_NOTIFICATIONS = 6;
+
+    // Comment and dependency IDs are derived from the task ID, leaving gaps
+    static final int MAX_COMMENTS_PER_TASK = 16;
+    static final int MAX_DEPENDENCIES_PER_TASK = 4;
+    static final int MAX_NOTIFICATIONS_PER_USER = 5000;
+
+    /** A run of tasks of one project whose parents and prerequisites stay inside the run. */
+    record TaskSlice(int projectId, long firstTaskId, int count, int index) {
+    }
+
+    final DatasetSettings settings;
+    final int userCount;
+    final int teamCount;
+    final int projectCount;
+
+    // Member user IDs per team, lowest (busiest) first
+    final long[][] teamMembers;
+    final int[] projectTeam;
+    final long[] projectManager;
+    final int[] projectAgeDays;
+    final long[] projectFirstTask;
+    final long[] firstNotification;
+
+    private DatasetPlan(DatasetSettings settings) {
+        this.settings = settings;
+        this.userCount = settings.userCount();
+        this.teamCount = settings.teamCount();
+        this.projectCount = settings.projectCount();
+        this.teamMembers = new long[teamCount][];
+        this.projectTeam = new int[projectCount];
+        this.projectManager = new long[projectCount];
+        this.projectAgeDays = new int[projectCount];
+        this.projectFirstTask = new long[projectCount + 1];
+        this.firstNotification = new long[userCount + 1];
+    }
+
+    static DatasetPlan create(DatasetSettings settings) {
+        DatasetPlan plan = new DatasetPlan(settings);
+        SplittableRandom random = random(settings.seed(), STREAM_PLAN, 0);
+        plan.assignTeams(random);
+        plan.assignProjects(random);
+        plan.distributeTasks(random);
+        plan.distributeNotifications();
+        return plan;
+    }
+
+    long taskCount() {
+        return projectFirstTask[projectCount] - 1;
+    }
+
+    long notificationCount() {
+        return firstNotification[userCount] - 1;
+    }
+
+    long teamMemberCount() {
+        long count = 0;
+        for (long[] members : teamMembers) {
+            count += members.length;
+        }
+        return count;
+    }
+
+    // ==================== TEAMS ====================
+
+    // Everyone joins one team round-robin; busy users are added to many more
+    private void assignTeams(SplittableRandom random) {
+        List<TreeSet<Long>> members = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            members.add(new TreeSet<>());
+        }
+        for (long user = 1; user <= userCount; user++) {
+            members.get((int) ((user - 1) % teamCount)).add(user);
+        }
+        int extra = Math.max(2, settings.usersPerTeam() / 4);
+        for (TreeSet<Long> team : members) {
+            int added = random.nextInt(extra + 1);
+            for (int i = 0; i < added; i++) {
+                team.add(busyUser(random, userCount));
+            }
+        }
+        for (int t = 0; t < teamCount; t++) {
+            teamMembers[t] = members.get(t).stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    /** A member of the team, skewed toward the busiest ones. */
+    long pickMember(SplittableRandom random, int teamId) {
+        long[] members = teamMembers[teamId - 1];
+        return members[(int) (Math.pow(random.nextDouble(), 2.5) * members.length)];
+    }
+
+    static long busyUser(SplittableRandom random, int userCount) {
+        return 1 + (long) (Math.pow(random.nextDouble(), 3) * userCount);
+    }
+
+    // ==================== PROJECTS AND TASKS ====================
+
+    private void assignProjects(SplittableRandom random) {
+        for (int p = 0; p < projectCount; p++) {
+            projectTeam[p] = 1 + random.nextInt(teamCount);
+            projectManager[p] = pickMember(random, projectTeam[p]);
+            projectAgeDays[p] = 30 + random.nextInt(700);
+        }
+    }
+
+    // Zipfian: the project at rank r gets a share proportional to 1 / r^skew,
+    // and ranks are shuffled so the big projects are spread over the ID range
+    private void distributeTasks(SplittableRandom random) {
+        long spare = Math.max(0, settings.tasks() - projectCount);
+        double[] weights = new double[projectCount];
+        double total = 0;
+        for (int r = 0; r < projectCount; r++) {
+            weights[r] = 1.0 / Math.pow(r + 1, settings.projectSkew());
+            total += weights[r];
+        }
+        long[] byRank = new long[projectCount];
+        long assigned = 0;
+        for (int r = 0; r < projectCount; r++) {
+            byRank[r] = 1 + (long) (spare * weights[r] / total);
+            assigned += byRank[r];
+        }
+        for (int r = 0; assigned < settings.tasks(); r = (r + 1) % projectCount) {
+            byRank[r]++;
+            assigned++;
+        }
+
+        int[] ranks = new int[projectCount];
+        Arrays.setAll(ranks, r -> r);
+        for (int i = projectCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+        projectFirstTask[0] = 1;
+        for (int p = 0; p < projectCount; p++) {
+            projectFirstTask[p + 1] = projectFirstTask[p] + byRank[ranks[p]];
+        }
+    }
+
+    /** Tasks cut into slices of at most {@code sliceSize}, in ID order. */
+    List<TaskSlice> taskSlices(int sliceSize) {
+        List<TaskSlice> slices = new ArrayList<>();
+        for (int p = 0; p < projectCount; p++) {
+            long first = projectFirstTask[p];
+            long end = projectFirstTask[p + 1];
+            for (int index = 0; first < end; index++, first += sliceSize) {
+                slices.add(new TaskSlice(p + 1, first, (int) Math.min(sliceSize, end - first), index));
+            }
+        }
+        return slices;
+    }
+
+    // ==================== NOTIFICATIONS ====================
+
+    // Also Zipfian over user IDs, so busy users have the longest inboxes
+    private void distributeNotifications() {
+        double[] weights = new double[userCount];
+        double total = 0;
+        for (int u = 0; u < userCount; u++) {
+            weights[u] = 1.0 / Math.pow(u + 1, 0.8);
+            total += weights[u];
+        }
+        double volume = (double) settings.notificationsPerUser() * userCount;
+        firstNotification[0] = 1;
+        for (int u = 0; u < userCount; u++) {
+            long count = Math.min(MAX_NOTIFICATIONS_PER_USER, Math.round(volume * weights[u] / total));
+            firstNotification[u + 1] = firstNotification[u] + count;
+        }
+    }
+
+    // ==================== RANDOMNESS ====================
+
+    static SplittableRandom random(long seed, long stream, long key) {
+        return new SplittableRandom(mix(mix(seed + stream * 0x9E3779B97F4A7C15L) + key));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,393 @@
+package com.taskManagement.service.dataset;
+
+import com.taskManagement.entity.DependencyType;
+import com.taskManagement.entity.NotificationType;
+import com.taskManagement.entity.Priority;
+import com.taskManagement.entity.ProjectStatus;
+import com.taskManagement.entity.TaskStatus;
+import com.taskManagement.entity.TeamRole;
+import com.taskManagement.entity.UserRole;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Turns a {@link DatasetPlan} into COPY rows, one table at a time. Tasks,
+ * their dependencies and comments are produced per slice so slices can be
+ * generated and loaded in parallel.
+ */
+final class DatasetRows {
+
+    static final String USER_COLUMNS = "id, username, email, password, first_name, last_name, profile_picture_url, "
+            + "phone_number, job_title, bio, role, is_active, email_verified, last_login, notification_digest, "
+            + "created_at, updated_at";
+    static final String TEAM_COLUMNS = "id, name, description, team_code, avatar_url, max_members, is_active, "
+            + "created_at, updated_at, version";
+    static final String TEAM_MEMBER_COLUMNS = "id, team_id, user_id, role, joined_at, updated_at, invited_by, is_active";
+    static final String PROJECT_COLUMNS = "id, name, description, status, priority, start_date, end_date, budget, "
+            + "progress_percentage, color_code, created_at, updated_at, version, team_id, project_manager_id";
+    static final String TASK_COLUMNS = "id, title, description, status, priority, due_date, start_date, completed_at, "
+            + "estimated_hours, actual_hours, progress_percentage, is_milestone, created_at, updated_at, version, "
+            + "project_id, creator_id, assignee_id, parent_task_id";
+    static final String DEPENDENCY_COLUMNS = "id, prerequisite_task_id, dependent_task_id, type, created_at";
+    static final String COMMENT_COLUMNS = "id, content, is_edited, edited_at, created_at, updated_at, task_id, "
+            + "author_id, parent_comment_id";
+    static final String NOTIFICATION_COLUMNS = "id, title, message, type, is_read, read_at, entity_id, entity_type, "
+            + "action_url, aggregate_count, created_at, expires_at, recipient_id, sender_id";
+
+    private static final String[] WORDS = {
+            "migrate", "billing", "dashboard", "review", "release", "schema", "invoice", "onboarding",
+            "latency", "export", "report", "cleanup", "audit", "search", "mobile", "sync", "payment",
+            "login", "cache", "upload", "profile", "settings", "webhook", "backup", "pricing", "roadmap",
+            "feedback", "analytics", "email", "checkout", "permissions", "calendar"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Sokha", "Dara", "Vanna", "Maria", "James", "Linh", "Chen", "Aisha", "Lucas", "Emma",
+            "Noah", "Sophea", "Ravi", "Yuki", "Omar", "Elena", "Kofi", "Ines", "Piotr", "Hana"
+    };
+    private static final String[] LAST_NAMES = {
+            "Chan", "Kim", "Nguyen", "Smith", "Garcia", "Sok", "Patel", "Muller", "Rossi", "Silva",
+            "Tanaka", "Ali", "Novak", "Dubois", "Mensah", "Lopez", "Keo", "Haddad", "Berg", "Ivanov"
+    };
+    private static final String[] JOB_TITLES = {
+            "Software Engineer", "Product Designer", "Product Manager", "QA Engineer", "Data Analyst",
+            "DevOps Engineer", "Engineering Manager", "Technical Writer"
+    };
+    private static final TaskStatus[] TASK_STATUSES = {
+            TaskStatus.COMPLETED, TaskStatus.COMPLETED, TaskStatus.COMPLETED, TaskStatus.COMPLETED,
+            TaskStatus.COMPLETED, TaskStatus.COMPLETED, TaskStatus.COMPLETED, TaskStatus.TODO,
+            TaskStatus.TODO, TaskStatus.TODO, TaskStatus.TODO, TaskStatus.TODO, TaskStatus.IN_PROGRESS,
+            TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS, TaskStatus.IN_REVIEW,
+            TaskStatus.IN_REVIEW, TaskStatus.ON_HOLD, TaskStatus.CANCELLED
+    };
+    private static final NotificationType[] NOTIFICATION_TYPES = {
+            NotificationType.TASK_ASSIGNED, NotificationType.TASK_ASSIGNED, NotificationType.TASK_COMMENT,
+            NotificationType.TASK_COMMENT, NotificationType.TASK_COMMENT, NotificationType.MENTION,
+            NotificationType.TASK_DUE_SOON, NotificationType.TASK_OVERDUE, NotificationType.TASK_COMPLETED,
+            NotificationType.FILE_UPLOADED, NotificationType.DEPENDENCY_RESOLVED, NotificationType.PROJECT_UPDATED
+    };
+    // Window of earlier tasks a subtask parent or prerequisite is picked from
+    private static final int LOOKBACK = 200;
+    private static final int NOTIFICATION_DAYS = 30;
+
+    private final DatasetPlan plan;
+    private final LocalDateTime anchor;
+    private final long seed;
+
+    DatasetRows(DatasetPlan plan) {
+        this.plan = plan;
+        this.anchor = plan.settings.anchor();
+        this.seed = plan.settings.seed();
+    }
+
+    // ==================== PEOPLE AND TEAMS ====================
+
+    CopyRows users(String passwordHash) {
+        CopyRows rows = new CopyRows("users", USER_COLUMNS, plan.userCount);
+        for (long id = 1; id <= plan.userCount; id++) {
+            SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_USERS, id);
+            LocalDateTime createdAt = anchor.minusMinutes(random.nextInt(60 * 24 * 900));
+            rows.add(id)
+                    .add("user" + id)
+                    .add("user" + id + "@example.com")
+                    .add(passwordHash)
+                    .add(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .add(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .add(random.nextInt(3) == 0 ? null : "https://cdn.example.com/avatars/" + id + ".png")
+                    .add(random.nextBoolean() ? "+855" + (10000000 + random.nextInt(89999999)) : null)
+                    .add(random.nextInt(5) == 0 ? null : JOB_TITLES[random.nextInt(JOB_TITLES.length)])
+                    .add(random.nextInt(4) == 0 ? sentence(random, 12, 30) : null)
+                    .add(id == 1 ? UserRole.SUPER_ADMIN : random.nextInt(100) == 0 ? UserRole.ADMIN : UserRole.USER)
+                    .add(random.nextInt(40) != 0)
+                    .add(random.nextInt(6) != 0)
+                    .add(between(random, createdAt, anchor))
+                    .add(random.nextInt(10) == 0)
+                    .add(createdAt)
+                    .add(between(random, createdAt, anchor))
+                    .endRow();
+        }
+        return rows;
+    }
+
+    CopyRows teams() {
+        CopyRows rows = new CopyRows("teams", TEAM_COLUMNS, plan.teamCount);
+        for (int id = 1; id <= plan.teamCount; id++) {
+            SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_TEAMS, id);
+            LocalDateTime createdAt = anchor.minusDays(400 + random.nextInt(500));
+            rows.add(id)
+                    .add(capitalize(words(random, 2)) + " Team")
+                    .add(random.nextInt(4) == 0 ? null : sentence(random, 8, 25))
+                    .add(String.format("TEAM%08d", id))
+                    .add(random.nextBoolean() ? "https://cdn.example.com/teams/" + id + ".png" : null)
+                    .add(Math.max(50, plan.teamMembers[id - 1].length))
+                    .add(random.nextInt(20) != 0)
+                    .add(createdAt)
+                    .add(between(random, createdAt, anchor))
+                    .add(random.nextInt(10))
+                    .endRow();
+        }
+        return rows;
+    }
+
+    CopyRows teamMembers() {
+        CopyRows rows = new CopyRows("team_members", TEAM_MEMBER_COLUMNS, (int) plan.teamMemberCount());
+        long id = 1;
+        for (int team = 1; team <= plan.teamCount; team++) {
+            SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_TEAMS, -team);
+            long[] members = plan.teamMembers[team - 1];
+            LocalDateTime founded = anchor.minusDays(400);
+            for (int i = 0; i < members.length; i++) {
+                LocalDateTime joinedAt = between(random, founded, anchor);
+                rows.add(id++)
+                        .add(team)
+                        .add(members[i])
+                        .add(i == 0 ? TeamRole.OWNER : memberRole(random))
+                        .add(joinedAt)
+                        .add(between(random, joinedAt, anchor))
+                        .add(i == 0 ? null : members[0])
+                        .add(i == 0 || random.nextInt(15) != 0)
+                        .endRow();
+            }
+        }
+        return rows;
+    }
+
+    CopyRows projects() {
+        CopyRows rows = new CopyRows("projects", PROJECT_COLUMNS, plan.projectCount);
+        ProjectStatus[] statuses = ProjectStatus.values();
+        Priority[] priorities = Priority.values();
+        for (int id = 1; id <= plan.projectCount; id++) {
+            SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_PROJECTS, id);
+            LocalDateTime startDate = anchor.minusDays(plan.projectAgeDays[id - 1]);
+            rows.add(id)
+                    .add(capitalize(words(random, 2 + random.nextInt(3))))
+                    .add(random.nextInt(4) == 0 ? null : sentence(random, 15, 60))
+                    .add(statuses[random.nextInt(statuses.length)])
+                    .add(priorities[random.nextInt(priorities.length)])
+                    .add(startDate)
+                    .add(random.nextInt(5) == 0 ? null : startDate.plusDays(60 + random.nextInt(600)))
+                    .add(random.nextInt(3) == 0 ? null : (Double) (1000.0 * (1 + random.nextInt(500))))
+                    .add(random.nextInt(101))
+                    .add(String.format("#%06x", random.nextInt(0x1000000)))
+                    .add(startDate)
+                    .add(between(random, startDate, anchor))
+                    .add(random.nextInt(20))
+                    .add(plan.projectTeam[id - 1])
+                    .add(plan.projectManager[id - 1])
+                    .endRow();
+        }
+        return rows;
+    }
+
+    // ==================== TASKS ====================
+
+    /** Tasks of one or more slices, with their dependencies and comments. */
+    record SliceRows(CopyRows tasks, CopyRows dependencies, CopyRows comments) {
+    }
+
+    SliceRows sliceRows(int expectedTasks) {
+        DatasetSettings settings = plan.settings;
+        return new SliceRows(
+                new CopyRows("tasks", TASK_COLUMNS, expectedTasks),
+                new CopyRows("task_dependencies", DEPENDENCY_COLUMNS, (int) (expectedTasks * settings.dependencyRatio() * 2)),
+                new CopyRows("comments", COMMENT_COLUMNS, (int) (expectedTasks * settings.commentsPerTask())));
+    }
+
+    void addSlice(DatasetPlan.TaskSlice slice, SliceRows rows) {
+        DatasetSettings settings = plan.settings;
+        SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_TASKS,
+                ((long) slice.projectId() << 24) + slice.index());
+        int team = plan.projectTeam[slice.projectId() - 1];
+        LocalDateTime projectStart = anchor.minusDays(plan.projectAgeDays[slice.projectId() - 1]);
+
+        int[] depth = new int[slice.count()];
+        LocalDateTime[] createdAt = new LocalDateTime[slice.count()];
+
+        for (int k = 0; k < slice.count(); k++) {
+            long id = slice.firstTaskId() + k;
+            Long parent = null;
+            if (k > 0 && random.nextDouble() < settings.subtaskRatio()) {
+                // Mostly extend the previous task's chain, which grows deep trees
+                int candidate = random.nextInt(10) < 6 ? k - 1 : k - 1 - random.nextInt(Math.min(k, LOOKBACK));
+                if (depth[candidate] < settings.maxSubtaskDepth()) {
+                    parent = slice.firstTaskId() + candidate;
+                    depth[k] = depth[candidate] + 1;
+                }
+            }
+            createdAt[k] = parent != null
+                    ? between(random, createdAt[(int) (parent - slice.firstTaskId())], anchor)
+                    : between(random, projectStart, anchor);
+            long creator = plan.pickMember(random, team);
+            Long assignee = random.nextInt(100) < 85 ? plan.pickMember(random, team) : null;
+            TaskStatus status = TASK_STATUSES[random.nextInt(TASK_STATUSES.length)];
+            addTask(rows.tasks(), random, id, slice.projectId(), createdAt[k], status, creator, assignee, parent);
+
+            if (k > 0 && random.nextDouble() < settings.dependencyRatio()) {
+                addDependencies(rows.dependencies(), random, slice, k, createdAt[k]);
+            }
+            addComments(rows.comments(), random, id, team, createdAt[k], creator, assignee);
+        }
+    }
+
+    private void addTask(CopyRows tasks, SplittableRandom random, long id, int projectId, LocalDateTime createdAt,
+                         TaskStatus status, long creator, Long assignee, Long parent) {
+        LocalDateTime completedAt = status == TaskStatus.COMPLETED
+                ? min(createdAt.plusHours(1 + random.nextInt(24 * 60)), anchor) : null;
+        Double estimated = random.nextInt(10) < 7 ? (double) (1 + random.nextInt(40)) : null;
+        double actual = estimated == null ? random.nextInt(20)
+                : status == TaskStatus.COMPLETED ? Math.round(estimated * (0.5 + random.nextDouble() * 1.3))
+                : Math.round(estimated * random.nextDouble());
+        int progress = switch (status) {
+            case COMPLETED -> 100;
+            case TODO -> 0;
+            default -> 5 + random.nextInt(91);
+        };
+
+        tasks.add(id)
+                .add(capitalize(words(random, 3 + random.nextInt(6))))
+                .add(random.nextInt(3) == 0 ? null : sentence(random, 10, 80))
+                .add(status)
+                .add(random.nextInt(10) < 6 ? Priority.MEDIUM : Priority.values()[random.nextInt(Priority.values().length)])
+                .add(random.nextInt(4) == 0 ? null : createdAt.plusDays(1 + random.nextInt(90)))
+                .add(random.nextBoolean() ? createdAt.plusDays(random.nextInt(10)) : null)
+                .add(completedAt)
+                .add(estimated)
+                .add(actual)
+                .add(progress)
+                .add(random.nextInt(50) == 0)
+                .add(createdAt)
+                .add(completedAt != null ? completedAt : between(random, createdAt, anchor))
+                .add(random.nextInt(6))
+                .add(projectId)
+                .add(creator)
+                .add(assignee)
+                .add(parent)
+                .endRow();
+    }
+
+    private void addDependencies(CopyRows dependencies, SplittableRandom random, DatasetPlan.TaskSlice slice,
+                                 int k, LocalDateTime createdAt) {
+        long dependent = slice.firstTaskId() + k;
+        int window = Math.min(k, LOOKBACK);
+        int count = Math.min(window, 1 + random.nextInt(DatasetPlan.MAX_DEPENDENCIES_PER_TASK - 1));
+        // Distinct offsets back from the dependent task, so no pair repeats and no cycle forms
+        int first = 1 + random.nextInt(window - count + 1);
+        for (int j = 0; j < count; j++) {
+            dependencies.add(dependent * DatasetPlan.MAX_DEPENDENCIES_PER_TASK + j)
+                    .add(dependent - first - j)
+                    .add(dependent)
+                    .add(random.nextInt(10) < 8 ? DependencyType.FINISH_TO_START
+                            : DependencyType.values()[random.nextInt(DependencyType.values().length)])
+                    .add(createdAt)
+                    .endRow();
+        }
+    }
+
+    private void addComments(CopyRows comments, SplittableRandom random, long taskId, int team,
+                             LocalDateTime createdAt, long creator, Long assignee) {
+        double more = plan.settings.commentsPerTask() / (1 + plan.settings.commentsPerTask());
+        int count = 0;
+        while (count < DatasetPlan.MAX_COMMENTS_PER_TASK && random.nextDouble() < more) {
+            count++;
+        }
+        LocalDateTime at = createdAt;
+        for (int j = 0; j < count; j++) {
+            at = min(at.plusMinutes(5 + random.nextInt(60 * 48)), anchor);
+            long author = switch (random.nextInt(4)) {
+                case 0 -> creator;
+                case 1 -> assignee != null ? assignee : creator;
+                default -> plan.pickMember(random, team);
+            };
+            String content = sentence(random, 4, 40);
+            if (random.nextInt(10) == 0) {
+                content = "@user" + plan.pickMember(random, team) + " " + content;
+            }
+            boolean edited = random.nextInt(12) == 0;
+            comments.add(taskId * DatasetPlan.MAX_COMMENTS_PER_TASK + j)
+                    .add(content)
+                    .add(edited)
+                    .add(edited ? min(at.plusMinutes(1 + random.nextInt(120)), anchor) : null)
+                    .add(at)
+                    .add(at)
+                    .add(taskId)
+                    .add(author)
+                    .add(j > 0 && random.nextInt(10) < 3
+                            ? (Long) (taskId * DatasetPlan.MAX_COMMENTS_PER_TASK + random.nextInt(j)) : null)
+                    .endRow();
+        }
+    }
+
+    // ==================== NOTIFICATIONS ====================
+
+    CopyRows notifications(int fromUser, int toUser) {
+        CopyRows rows = new CopyRows("notifications", NOTIFICATION_COLUMNS,
+                (int) (plan.firstNotification[toUser] - plan.firstNotification[fromUser - 1]));
+        long tasks = plan.taskCount();
+        LocalDateTime oldest = anchor.minusDays(NOTIFICATION_DAYS);
+        for (int user = fromUser; user <= toUser; user++) {
+            SplittableRandom random = DatasetPlan.random(seed, DatasetPlan.STREAM_NOTIFICATIONS, user);
+            for (long id = plan.firstNotification[user - 1]; id < plan.firstNotification[user]; id++) {
+                NotificationType type = NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)];
+                long taskId = 1 + (long) (random.nextDouble() * tasks);
+                LocalDateTime createdAt = between(random, oldest, anchor);
+                // Most of what is older than a few days has been read
+                boolean read = createdAt.isBefore(anchor.minusDays(3)) ? random.nextInt(10) < 8 : random.nextInt(10) < 3;
+                rows.add(id)
+                        .add(type.name().replace('_', ' ').toLowerCase())
+                        .add(sentence(random, 6, 20))
+                        .add(type)
+                        .add(read)
+                        .add(read ? between(random, createdAt, anchor) : null)
+                        .add(taskId)
+                        .add("TASK")
+                        .add("/tasks/" + taskId)
+                        .add(type == NotificationType.TASK_COMMENT && random.nextInt(5) == 0 ? 2 + random.nextInt(8) : 1)
+                        .add(createdAt)
+                        .add(createdAt.plusDays(NOTIFICATION_DAYS))
+                        .add(user)
+                        .add(random.nextInt(10) == 0 ? null : (Long) DatasetPlan.busyUser(random, plan.userCount))
+                        .endRow();
+            }
+        }
+        return rows;
+    }
+
+    // ==================== HELPERS ====================
+
+    private static TeamRole memberRole(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 5) return TeamRole.ADMIN;
+        if (roll < 15) return TeamRole.MANAGER;
+        if (roll < 18) return TeamRole.VIEWER;
+        return TeamRole.MEMBER;
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long minutes = Duration.between(from, to).toMinutes();
+        return minutes <= 0 ? from : from.plusMinutes(random.nextLong(minutes + 1));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String sentence(SplittableRandom random, int minWords, int maxWords) {
+        return capitalize(words(random, minWords + random.nextInt(maxWords - minWords + 1))) + ".";
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
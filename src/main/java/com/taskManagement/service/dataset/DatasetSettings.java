@@ -0,0 +1,34 @@
+package com.taskManagement.service.dataset;
+
+import java.time.LocalDateTime;
+
+/**
+ * Knobs of one generated dataset. Everything else (users, teams, projects) is
+ * derived from the task count, so a single number picks the scale.
+ */
+record DatasetSettings(
+        long seed,
+        LocalDateTime anchor,
+        long tasks,
+        int tasksPerUser,
+        int usersPerTeam,
+        int tasksPerProject,
+        double projectSkew,
+        double subtaskRatio,
+        int maxSubtaskDepth,
+        double dependencyRatio,
+        double commentsPerTask,
+        int notificationsPerUser) {
+
+    int userCount() {
+        return (int) Math.max(50, tasks / Math.max(1, tasksPerUser));
+    }
+
+    int teamCount() {
+        return Math.max(5, userCount() / Math.max(1, usersPerTeam));
+    }
+
+    int projectCount() {
+        return (int) Math.max(10, Math.min(tasks, tasks / Math.max(1, tasksPerProject)));
+    }
+}
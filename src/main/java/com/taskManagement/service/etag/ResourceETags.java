@@ -0,0 +1,299 @@
+package com.taskManagement.service.etag;
+
+import com.taskManagement.util.UtcTimestamps;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Weak ETags for the task, project and team reads that dashboards poll.
+ *
+ * Each tag is the md5 of a single aggregate query over the rows its response
+ * renders: the resource's own updated_at, the updated_at of the users, teams
+ * and projects it embeds by name, and a count plus max id for each child
+ * collection it counts, so deleting one comment and adding another still
+ * changes the tag. Collections use count, max id and max updated_at over the
+ * same tables. Fields the mappers compute from the clock (overdue flags and
+ * whole days until a due date) are evaluated in the query against the same
+ * "now", so a task turning overdue changes its tag without any row changing.
+ *
+ * The tag is computed before the response is built: a write landing in
+ * between yields a newer body under an older tag, which only costs the client
+ * one extra full fetch on its next poll.
+ *
+ * Single-resource tags also carry the row's @Version ({@code W/"task-42-v7-..."}),
+ * which is what If-Match on PUT and PATCH is checked against. A successful
+ * write answers with the version alone ({@code W/"task-42-v8"}), taken from
+ * the DTO it returns: that is all the next If-Match needs, and it saves
+ * re-running the aggregate query right after the flush. The next conditional
+ * GET then misses once and picks up the full tag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceETags {
+
+    // Values ChronoUnit.DAYS.between(now, date) and now.isAfter(date) give in the mappers
+    private static final String DAYS_UNTIL = "trunc(extract(epoch FROM %s - :now) / 86400)";
+    private static final String PASSED = "%s < :now";
+
+    private static final Pattern VERSIONED_TAG = Pattern.compile("(?:W/)?\"([a-z]+)-(\\d+)-v(\\d+)(?:-[0-9a-f]+)?\"");
+    // No row ever has this version, so a foreign tag always fails the check
+    private static final long UNMATCHABLE_VERSION = -1L;
+
+    private static final String TASK_SQL = """
+            SELECT 'v' || COALESCE(t.version, 0) || '-' || md5(ROW(
+                t.updated_at, %s, %s,
+                p.updated_at, tm.updated_at, pm.updated_at, %s,
+                (SELECT COUNT(*) FROM tasks pt WHERE pt.project_id = p.id),
+                cu.updated_at, au.updated_at,
+                pa.updated_at, %s, pcu.updated_at, pau.updated_at,
+                (SELECT COUNT(*) FROM tasks ps WHERE ps.parent_task_id = pa.id),
+                s.*,
+                (SELECT COUNT(*) FROM tasks g JOIN tasks sub ON sub.id = g.parent_task_id WHERE sub.parent_task_id = t.id),
+                (SELECT ROW(COUNT(*), MAX(c.id)) FROM comments c WHERE c.task_id = t.id),
+                (SELECT ROW(COUNT(*), MAX(f.id)) FROM file_attachments f WHERE f.task_id = t.id),
+                (SELECT ROW(COUNT(*), MAX(d.id)) FROM task_dependencies d WHERE d.dependent_task_id = t.id)
+            )::text)
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            LEFT JOIN teams tm ON tm.id = p.team_id
+            LEFT JOIN users pm ON pm.id = p.project_manager_id
+            LEFT JOIN users cu ON cu.id = t.creator_id
+            LEFT JOIN users au ON au.id = t.assignee_id
+            LEFT JOIN tasks pa ON pa.id = t.parent_task_id
+            LEFT JOIN users pcu ON pcu.id = pa.creator_id
+            LEFT JOIN users pau ON pau.id = pa.assignee_id
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS total, MAX(sub.id) AS max_id,
+                       MAX(GREATEST(sub.updated_at, su.updated_at, sa.updated_at)) AS last_updated,
+                       COUNT(*) FILTER (WHERE %s) AS overdue,
+                       COUNT(*) FILTER (WHERE sub.status = 'COMPLETED') AS completed
+                FROM tasks sub
+                LEFT JOIN users su ON su.id = sub.creator_id
+                LEFT JOIN users sa ON sa.id = sub.assignee_id
+                WHERE sub.parent_task_id = t.id
+            ) s
+            WHERE t.id = :id
+            """.formatted(
+            PASSED.formatted("t.due_date"), DAYS_UNTIL.formatted("t.due_date"),
+            PASSED.formatted("p.end_date"), PASSED.formatted("pa.due_date"),
+            PASSED.formatted("sub.due_date"));
+
+    private static final String PROJECT_TASKS_SQL = """
+            SELECT md5(ROW(
+                p.updated_at,
+                s.*,
+                (SELECT COUNT(*) FROM tasks c JOIN tasks pt ON pt.id = c.parent_task_id WHERE pt.project_id = p.id)
+            )::text)
+            FROM projects p
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS total, MAX(t.id) AS max_id,
+                       MAX(GREATEST(t.updated_at, cu.updated_at, au.updated_at)) AS last_updated,
+                       COUNT(*) FILTER (WHERE %s) AS overdue
+                FROM tasks t
+                LEFT JOIN users cu ON cu.id = t.creator_id
+                LEFT JOIN users au ON au.id = t.assignee_id
+                WHERE t.project_id = p.id
+            ) s
+            WHERE p.id = :id
+            """.formatted(PASSED.formatted("t.due_date"));
+
+    private static final String PROJECT_SQL = """
+            SELECT 'v' || COALESCE(p.version, 0) || '-' || md5(ROW(
+                p.updated_at, %s, %s,
+                tm.updated_at, pm.updated_at,
+                (SELECT ROW(COUNT(*), MAX(m.id)) FROM team_members m WHERE m.team_id = p.team_id),
+                (SELECT ROW(COUNT(*), MAX(t.id), COUNT(*) FILTER (WHERE t.status = 'COMPLETED'))
+                 FROM tasks t WHERE t.project_id = p.id)
+            )::text)
+            FROM projects p
+            LEFT JOIN teams tm ON tm.id = p.team_id
+            LEFT JOIN users pm ON pm.id = p.project_manager_id
+            WHERE p.id = :id
+            """.formatted(PASSED.formatted("p.end_date"), DAYS_UNTIL.formatted("p.end_date"));
+
+    private static final String TEAM_SQL = """
+            SELECT 'v' || COALESCE(tm.version, 0) || '-' || md5(ROW(
+                tm.updated_at,
+                (SELECT ROW(COUNT(*), MAX(m.id), MAX(GREATEST(m.updated_at, u.updated_at)))
+                 FROM team_members m JOIN users u ON u.id = m.user_id WHERE m.team_id = tm.id),
+                (SELECT ROW(COUNT(*), MAX(p.id), MAX(GREATEST(p.updated_at, pm.updated_at)), COUNT(*) FILTER (WHERE %s))
+                 FROM projects p LEFT JOIN users pm ON pm.id = p.project_manager_id WHERE p.team_id = tm.id),
+                (SELECT ROW(COUNT(*), MAX(t.id)) FROM tasks t JOIN projects p ON p.id = t.project_id WHERE p.team_id = tm.id)
+            )::text)
+            FROM teams tm
+            WHERE tm.id = :id
+            """.formatted(PASSED.formatted("p.end_date"));
+
+    // Whole-table aggregates shared by the collection tags
+    private static final String ALL_TASKS = "(SELECT ROW(COUNT(*), MAX(id), MAX(updated_at), "
+            + "COUNT(*) FILTER (WHERE " + PASSED.formatted("due_date") + "), "
+            + "SUM(" + DAYS_UNTIL.formatted("due_date") + ")) FROM tasks)";
+    private static final String ALL_PROJECTS = "(SELECT ROW(COUNT(*), MAX(id), MAX(updated_at), "
+            + "COUNT(*) FILTER (WHERE " + PASSED.formatted("end_date") + "), "
+            + "SUM(" + DAYS_UNTIL.formatted("end_date") + ")) FROM projects)";
+    private static final String ALL_TEAMS = "(SELECT ROW(COUNT(*), MAX(id), MAX(updated_at)) FROM teams)";
+    private static final String ALL_MEMBERS = "(SELECT ROW(COUNT(*), MAX(id), MAX(updated_at)) FROM team_members)";
+    private static final String ALL_USERS = "(SELECT MAX(updated_at) FROM users)";
+    private static final String ALL_COMPLETED_TASKS = "(SELECT COUNT(*) FROM tasks WHERE status = 'COMPLETED')";
+
+    private static final String TASKS_SQL = fingerprintOf(ALL_TASKS, ALL_COMPLETED_TASKS, ALL_PROJECTS, ALL_TEAMS, ALL_USERS,
+            "(SELECT ROW(COUNT(*), MAX(id)) FROM comments)",
+            "(SELECT ROW(COUNT(*), MAX(id)) FROM file_attachments)",
+            "(SELECT ROW(COUNT(*), MAX(id)) FROM task_dependencies)");
+    private static final String PROJECTS_SQL = fingerprintOf(ALL_PROJECTS, ALL_TEAMS, ALL_MEMBERS, ALL_USERS,
+            ALL_TASKS, ALL_COMPLETED_TASKS);
+    private static final String TEAMS_SQL = fingerprintOf(ALL_TEAMS, ALL_MEMBERS, ALL_USERS, ALL_PROJECTS, ALL_TASKS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // ==================== SINGLE RESOURCES ====================
+
+    public Optional<String> task(Long id) {
+        return query("task", TASK_SQL, id);
+    }
+
+    public Optional<String> project(Long id) {
+        return query("project", PROJECT_SQL, id);
+    }
+
+    public Optional<String> team(Long id) {
+        return query("team", TEAM_SQL, id);
+    }
+
+    // ==================== COLLECTIONS ====================
+
+    public Optional<String> tasks() {
+        return query("tasks", TASKS_SQL, null);
+    }
+
+    // Every task summary list scoped to one project
+    public Optional<String> tasksByProject(Long projectId) {
+        return query("project-tasks", PROJECT_TASKS_SQL, projectId);
+    }
+
+    public Optional<String> projects() {
+        return query("projects", PROJECTS_SQL, null);
+    }
+
+    public Optional<String> teams() {
+        return query("teams", TEAMS_SQL, null);
+    }
+
+    // ==================== REQUEST HANDLING ====================
+
+    /**
+     * Compares the tag with the request's If-None-Match and sets it on the
+     * response. Returns {@code true} when the caller should answer 304.
+     * A missing tag (unknown id) never matches, so the normal 404 path runs.
+     */
+    public boolean isNotModified(WebRequest request, Optional<String> etag) {
+        return etag.map(request::checkNotModified).orElse(false);
+    }
+
+    // ==================== CONDITIONAL WRITES ====================
+
+    public Long taskVersion(String ifMatch, Long id) {
+        return expectedVersion(ifMatch, "task", id);
+    }
+
+    public Long projectVersion(String ifMatch, Long id) {
+        return expectedVersion(ifMatch, "project", id);
+    }
+
+    public Long teamVersion(String ifMatch, Long id) {
+        return expectedVersion(ifMatch, "team", id);
+    }
+
+    /**
+     * Starts a 200 carrying the version the write left the resource at, so the
+     * client can send its next If-Match without re-reading.
+     */
+    public ResponseEntity.BodyBuilder taskWritten(Long id, Long version) {
+        return written("task", id, version);
+    }
+
+    public ResponseEntity.BodyBuilder projectWritten(Long id, Long version) {
+        return written("project", id, version);
+    }
+
+    public ResponseEntity.BodyBuilder teamWritten(Long id, Long version) {
+        return written("team", id, version);
+    }
+
+    /**
+     * Starts a 412 carrying the resource's current tag, so the client can
+     * re-read or retry against the version that won.
+     */
+    public ResponseEntity.BodyBuilder taskConflict(Long id) {
+        return conflict(task(id));
+    }
+
+    public ResponseEntity.BodyBuilder projectConflict(Long id) {
+        return conflict(project(id));
+    }
+
+    public ResponseEntity.BodyBuilder teamConflict(Long id) {
+        return conflict(team(id));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * The version a client expects from its If-Match header, or {@code null}
+     * when the header is absent or "*" and the write is unconditional. Only the
+     * version inside the tag is compared, so the weak tag from a read can be
+     * echoed back as is. Of several tags the first naming this resource is used.
+     */
+    private Long expectedVersion(String ifMatch, String kind, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = VERSIONED_TAG.matcher(ifMatch);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(kind) && matcher.group(2).equals(String.valueOf(id))) {
+                return Long.parseLong(matcher.group(3));
+            }
+        }
+        return UNMATCHABLE_VERSION;
+    }
+
+    private ResponseEntity.BodyBuilder written(String kind, Long id, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag("W/\"" + kind + "-" + id + "-v" + version + "\"");
+        }
+        return builder;
+    }
+
+    private ResponseEntity.BodyBuilder conflict(Optional<String> etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        etag.ifPresent(builder::eTag);
+        return builder;
+    }
+
+    private Optional<String> query(String kind, String sql, Long id) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", UtcTimestamps.toDatabase(LocalDateTime.now()))
+                .addValue("id", id);
+        List<String> hashes = jdbcTemplate.queryForList(sql, params, String.class);
+        return hashes.stream()
+                .findFirst()
+                .map(hash -> "W/\"" + kind + (id != null ? "-" + id : "") + "-" + hash + "\"");
+    }
+
+    private static String fingerprintOf(String... aggregates) {
+        return "SELECT md5(ROW(" + String.join(", ", aggregates) + ")::text)";
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.taskManagement.service.file;
+
+import com.taskManagement.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed attachment bytes on the local file system.
+ *
+ * Uploads are streamed to a temp file while their SHA-256 is computed in the
+ * same pass. The content then lives at {@code blobs/ab/cd/<sha256>}, so identical
+ * uploads share one file; reference counts are kept in {@code file_blobs}.
+ * Stored paths are relative to the storage root.
+ */
+@Component
+@Slf4j
+public class AttachmentStorage {
+
+    private static final String TEMP_DIR = ".tmp";
+    private static final String BLOB_DIR = "blobs";
+    private static final String THUMBNAIL_MARKER = ".thumb-";
+
+    private final Path root;
+
+    public AttachmentStorage(@Value("${file.storage.location:data/attachments}") String location) {
+        this.root = Paths.get(location).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root.resolve(TEMP_DIR));
+            Files.createDirectories(root.resolve(BLOB_DIR));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment storage at " + root, e);
+        }
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Stream content to a temp file, hashing it on the way.
+     */
+    public TempFile writeTemp(InputStream content) throws IOException {
+        Path temp = newTempFile("upload-");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new TempFile(temp, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Empty temp file for content that is assembled piece by piece.
+     */
+    public Path newTempFile(String prefix) throws IOException {
+        return Files.createTempFile(root.resolve(TEMP_DIR), prefix, ".part");
+    }
+
+    /**
+     * Move a temp file to its blob location, or drop it when identical content
+     * is already stored. Safe to call from concurrent uploads of the same content.
+     *
+     * @return true when the bytes were already on disk
+     */
+    public boolean commitBlob(TempFile temp) throws IOException {
+        Path target = resolve(blobPath(temp.checksum()));
+        try {
+            if (Files.exists(target)) {
+                return true;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp.path(), target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        } catch (FileAlreadyExistsException e) {
+            return true;
+        } finally {
+            Files.deleteIfExists(temp.path());
+        }
+    }
+
+    public void discard(TempFile temp) {
+        try {
+            Files.deleteIfExists(temp.path());
+        } catch (IOException e) {
+            log.warn("Could not delete temp upload {}: {}", temp.path(), e.getMessage());
+        }
+    }
+
+    // ==================== LOOKUP ====================
+
+    public String blobPath(String checksum) {
+        if (checksum == null || !checksum.matches("[0-9a-f]{64}")) {
+            throw new BadRequestException("Invalid SHA-256 checksum: " + checksum);
+        }
+        return BLOB_DIR + "/" + checksum.substring(0, 2) + "/" + checksum.substring(2, 4) + "/" + checksum;
+    }
+
+    // Thumbnails sit next to their blob: blobs/ab/cd/<sha256>.thumb-256.jpg
+    public String thumbnailPath(String checksum, int size) {
+        return blobPath(checksum) + THUMBNAIL_MARKER + size + ".jpg";
+    }
+
+    /**
+     * The blob a derived file (thumbnail) belongs to, or the path itself.
+     */
+    public Path ownerOf(Path path) {
+        String name = path.getFileName().toString();
+        int marker = name.indexOf(THUMBNAIL_MARKER);
+        return marker > 0 ? path.resolveSibling(name.substring(0, marker)) : path;
+    }
+
+    public boolean isBlobPath(String relativePath) {
+        return relativePath != null && relativePath.startsWith(BLOB_DIR + "/");
+    }
+
+    /**
+     * Absolute path of a stored file; rejects paths that escape the storage root.
+     */
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new BadRequestException("Invalid file path: " + relativePath);
+        }
+        return path;
+    }
+
+    /**
+     * Delete a blob together with the files derived from it.
+     */
+    public void deleteBlob(String relativePath) {
+        Path blob = resolve(relativePath);
+        String prefix = blob.getFileName() + THUMBNAIL_MARKER;
+        try (DirectoryStream<Path> derived = Files.newDirectoryStream(blob.getParent(), prefix + "*")) {
+            for (Path path : derived) {
+                Files.deleteIfExists(path);
+            }
+        } catch (NoSuchFileException e) {
+            // Directory already gone
+        } catch (IOException e) {
+            log.warn("Could not delete thumbnails of {}: {}", relativePath, e.getMessage());
+        }
+        delete(relativePath);
+    }
+
+    public void delete(String relativePath) {
+        try {
+            Files.deleteIfExists(resolve(relativePath));
+        } catch (IOException e) {
+            log.warn("Could not delete stored file {}: {}", relativePath, e.getMessage());
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path getTempDirectory() {
+        return root.resolve(TEMP_DIR);
+    }
+
+    public boolean isTemporary(Path path) {
+        return path.startsWith(getTempDirectory());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record TempFile(Path path, long size, String checksum) {
+    }
+
+}
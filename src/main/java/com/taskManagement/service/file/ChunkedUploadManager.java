@@ -0,0 +1,493 @@
+package com.taskManagement.service.file;
+
+import com.taskManagement.dto.file.UploadSessionDTO;
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.BusinessLogicException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.repository.TaskRepository;
+import com.taskManagement.repository.UserRepository;
+import com.taskManagement.service.FileAttachmentService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resumable chunked uploads.
+ *
+ * A session owns a temp file in the storage area. Chunks are PUT by offset and
+ * written with positional {@link FileChannel} writes, so several chunks of the
+ * same session can land in parallel and a dropped connection only loses the
+ * chunk in flight. The SHA-256 is folded in incrementally as the contiguous prefix of
+ * received chunks grows, so finishing the upload does not re-read the file.
+ * Sessions live in memory and expire after a period of inactivity.
+ */
+@Component
+@Slf4j
+public class ChunkedUploadManager {
+
+    private static final int MAX_REPORTED_MISSING = 1000;
+    private static final int HASH_BUFFER_BYTES = 256 * 1024;
+
+    private final AttachmentStorage storage;
+    private final FileAttachmentService fileAttachmentService;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadManager(
+            AttachmentStorage storage,
+            FileAttachmentService fileAttachmentService,
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            @Value("${file.upload.chunked.default-chunk-bytes:8388608}") int defaultChunkSize,
+            @Value("${file.upload.chunked.max-chunk-bytes:67108864}") int maxChunkSize,
+            @Value("${file.upload.chunked.max-sessions:1000}") int maxSessions,
+            @Value("${file.upload.chunked.idle-timeout-minutes:1440}") long idleTimeoutMinutes) {
+        this.storage = storage;
+        this.fileAttachmentService = fileAttachmentService;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMinutes * 60_000L;
+    }
+
+    // ==================== SESSION LIFECYCLE ====================
+
+    public UploadSessionDTO createSession(Long taskId, Long userId, String fileName, String fileType,
+                                          long totalSize, Integer chunkSize) {
+        if (!fileAttachmentService.isFileSizeAllowed(totalSize)) {
+            throw new BadRequestException("File size not allowed: " + totalSize);
+        }
+        String contentType = fileType != null ? fileType : "application/octet-stream";
+        if (!fileAttachmentService.isValidFileType(contentType)) {
+            throw new BadRequestException("File type not allowed: " + contentType);
+        }
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size <= 0 || size > maxChunkSize) {
+            throw new BadRequestException("Chunk size must be between 1 and " + maxChunkSize + " bytes");
+        }
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        // Checked up front so a large upload is refused before any chunk is sent
+        if (!fileAttachmentService.isFileSizeAllowed(taskId, userId, totalSize)) {
+            throw new BadRequestException("Storage quota exceeded for this upload");
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new BusinessLogicException("Too many uploads in progress, try again later");
+        }
+
+        UploadSession session;
+        try {
+            Path temp = storage.newTempFile("chunked-");
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            session = new UploadSession(UUID.randomUUID().toString(), taskId, userId,
+                    fileName != null ? fileName : "file", contentType, totalSize, size, temp, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create upload session", e);
+        }
+        sessions.put(session.id, session);
+
+        log.info("Created upload session {} for {} ({} bytes in {} chunks)",
+                session.id, session.fileName, totalSize, session.totalChunks);
+        return toDTO(session);
+    }
+
+    public UploadSessionDTO getSession(String sessionId) {
+        return toDTO(findSession(sessionId));
+    }
+
+    /**
+     * Write one chunk. {@code offset} must be a multiple of the chunk size and the
+     * body exactly one chunk long (shorter only for the last chunk). Re-sending a
+     * chunk that already arrived is accepted and ignored.
+     */
+    public UploadSessionDTO writeChunk(String sessionId, long offset, InputStream body) {
+        UploadSession session = findSession(sessionId);
+        if (offset < 0 || offset >= session.totalSize || offset % session.chunkSize != 0) {
+            throw new BadRequestException("Offset " + offset + " is not a chunk boundary");
+        }
+        int index = (int) (offset / session.chunkSize);
+        int expected = (int) Math.min(session.chunkSize, session.totalSize - offset);
+
+        session.touch();
+        if (session.isReceived(index)) {
+            return toDTO(session);
+        }
+        if (session.completing) {
+            throw new BusinessLogicException("Upload session is being completed");
+        }
+
+        try {
+            long written = writeAt(session.channel, offset, expected, body);
+            if (written != expected) {
+                throw new BadRequestException("Chunk " + index + " expected " + expected + " bytes but got " + written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write chunk " + index, e);
+        }
+
+        session.markReceived(index);
+        session.advanceDigest(false);
+        return toDTO(session);
+    }
+
+    /**
+     * Create the attachment once every chunk has arrived. The attachment row and
+     * blob reference are written in one transaction by the attachment service.
+     */
+    public FileAttachment complete(String sessionId, String expectedChecksum) {
+        UploadSession session = findSession(sessionId);
+        synchronized (session) {
+            if (session.completing) {
+                throw new BusinessLogicException("Upload session is already being completed");
+            }
+            if (session.receivedCount() < session.totalChunks) {
+                throw new BadRequestException("Upload incomplete: " + session.receivedCount() + " of "
+                        + session.totalChunks + " chunks received");
+            }
+            session.completing = true;
+        }
+
+        try {
+            String checksum = session.finishDigest();
+            if (expectedChecksum != null && !expectedChecksum.equalsIgnoreCase(checksum)) {
+                abort(sessionId);
+                throw new BadRequestException("Checksum mismatch: expected " + expectedChecksum + " but was " + checksum);
+            }
+            session.channel.force(false);
+            session.channel.close();
+
+            FileAttachment attachment = fileAttachmentService.attachUploadedContent(session.taskId, session.userId,
+                    session.fileName, session.fileType,
+                    new AttachmentStorage.TempFile(session.tempFile, session.totalSize, checksum));
+            sessions.remove(sessionId);
+            log.info("Completed upload session {} as attachment {}", sessionId, attachment.getId());
+            return attachment;
+        } catch (IOException e) {
+            abort(sessionId);
+            throw new UncheckedIOException("Failed to complete upload session " + sessionId, e);
+        } catch (RuntimeException e) {
+            // The attachment service consumes the temp file once it starts storing it
+            if (sessions.containsKey(sessionId) && !Files.exists(session.tempFile)) {
+                abort(sessionId);
+            } else if (sessions.containsKey(sessionId)) {
+                session.reopen();
+            }
+            throw e;
+        }
+    }
+
+    public void abort(String sessionId) {
+        UploadSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.discard();
+            log.info("Aborted upload session {}", sessionId);
+        }
+    }
+
+    // ==================== EXPIRY ====================
+
+    @Scheduled(fixedDelayString = "${file.upload.chunked.expiry-check-ms:600000}")
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        sessions.values().stream()
+                .filter(session -> !session.completing && session.lastActivity < cutoff)
+                .map(session -> session.id)
+                .collect(Collectors.toList())
+                .forEach(sessionId -> {
+                    log.info("Expiring idle upload session {}", sessionId);
+                    abort(sessionId);
+                });
+
+        // Leftovers from sessions lost in a restart
+        Set<Path> active = sessions.values().stream().map(session -> session.tempFile).collect(Collectors.toSet());
+        Instant staleBefore = Instant.ofEpochMilli(cutoff);
+        try (Stream<Path> files = Files.list(storage.getTempDirectory())) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (!active.contains(path) && Files.getLastModifiedTime(path).toInstant().isBefore(staleBefore)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean temp upload directory: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Sessions are in memory only; their temp files are removed by the next expiry run
+        sessions.values().forEach(UploadSession::closeChannel);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private UploadSession findSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    private static long writeAt(FileChannel channel, long offset, int expected, InputStream body) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(body);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(expected, 64 * 1024) + 1);
+        long position = offset;
+        long written = 0;
+        while (true) {
+            buffer.clear();
+            int read = source.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            if (written + read > expected) {
+                // Longer than the chunk it claims to be; never spill into the next chunk
+                return written + read;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            written += read;
+        }
+        return written;
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        int received;
+        synchronized (session) {
+            received = session.received.cardinality();
+            for (int i = session.received.nextClearBit(0);
+                 i < session.totalChunks && missing.size() < MAX_REPORTED_MISSING;
+                 i = session.received.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+        }
+        long bytesReceived = Math.min(session.totalSize, (long) received * session.chunkSize);
+        if (received > 0 && session.isReceived(session.totalChunks - 1)) {
+            // The last chunk is usually short
+            bytesReceived = (long) (received - 1) * session.chunkSize
+                    + (session.totalSize - (long) (session.totalChunks - 1) * session.chunkSize);
+        }
+
+        return UploadSessionDTO.builder()
+                .sessionId(session.id)
+                .taskId(session.taskId)
+                .userId(session.userId)
+                .fileName(session.fileName)
+                .fileType(session.fileType)
+                .status(session.completing ? "COMPLETING" : "OPEN")
+                .totalSize(session.totalSize)
+                .chunkSize(session.chunkSize)
+                .totalChunks(session.totalChunks)
+                .receivedChunks(received)
+                .bytesReceived(bytesReceived)
+                .bytesHashed(session.hashedBytes())
+                .missingChunks(missing)
+                .createdAt(session.createdAt)
+                .expiresAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(session.lastActivity + idleTimeoutMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UploadSession {
+        private final String id;
+        private final Long taskId;
+        private final Long userId;
+        private final String fileName;
+        private final String fileType;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final Path tempFile;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile FileChannel channel;
+        private volatile long lastActivity = System.currentTimeMillis();
+        private volatile boolean completing;
+
+        // Guarded by "this"
+        private final BitSet received = new BitSet();
+
+        // Guarded by digestLock: chunks [0, hashedChunks) are folded into the digest
+        private final ReentrantLock digestLock = new ReentrantLock();
+        private final MessageDigest digest = sha256();
+        private int hashedChunks;
+
+        private UploadSession(String id, Long taskId, Long userId, String fileName, String fileType,
+                              long totalSize, int chunkSize, Path tempFile, FileChannel channel) {
+            this.id = id;
+            this.taskId = taskId;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.fileType = fileType;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.tempFile = tempFile;
+            this.channel = channel;
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+
+        private synchronized boolean isReceived(int index) {
+            return received.get(index);
+        }
+
+        private synchronized void markReceived(int index) {
+            received.set(index);
+        }
+
+        private synchronized int receivedCount() {
+            return received.cardinality();
+        }
+
+        private long hashedBytes() {
+            digestLock.lock();
+            try {
+                return Math.min(totalSize, (long) hashedChunks * chunkSize);
+            } finally {
+                digestLock.unlock();
+            }
+        }
+
+        /**
+         * Hash every chunk that now extends the contiguous received prefix.
+         * Chunk writers do not wait for a thread that is already hashing; anything
+         * it misses is picked up by the next write or by completion, which waits.
+         */
+        private void advanceDigest(boolean wait) {
+            if (wait) {
+                digestLock.lock();
+            } else if (!digestLock.tryLock()) {
+                return;
+            }
+            try {
+                ByteBuffer buffer = null;
+                while (hashedChunks < totalChunks && isReceived(hashedChunks)) {
+                    if (buffer == null) {
+                        buffer = ByteBuffer.allocate(HASH_BUFFER_BYTES);
+                    }
+                    long start = (long) hashedChunks * chunkSize;
+                    long end = Math.min(totalSize, start + chunkSize);
+                    try {
+                        for (long position = start; position < end; ) {
+                            buffer.clear();
+                            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                            int read = channel.read(buffer, position);
+                            if (read < 0) {
+                                throw new IOException("Unexpected end of upload temp file at " + position);
+                            }
+                            buffer.flip();
+                            digest.update(buffer);
+                            position += read;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to hash upload chunk " + hashedChunks, e);
+                    }
+                    hashedChunks++;
+                }
+            } finally {
+                digestLock.unlock();
+            }
+        }
+
+        private String finishDigest() {
+            digestLock.lock();
+            try {
+                advanceDigest(true);
+                if (hashedChunks < totalChunks) {
+                    throw new BusinessLogicException("Checksum is incomplete for upload session " + id);
+                }
+                // Clone so a failed completion can still be retried
+                try {
+                    return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+                } catch (CloneNotSupportedException e) {
+                    throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+                }
+            } finally {
+                digestLock.unlock();
+            }
+        }
+
+        private void reopen() {
+            try {
+                channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to reopen upload session " + id, e);
+            }
+            completing = false;
+        }
+
+        private void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error closing upload session {}: {}", id, e.getMessage());
+            }
+        }
+
+        private void discard() {
+            closeChannel();
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Could not delete temp file of upload session {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.taskManagement.service.file;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind download counters.
+ *
+ * Downloads only bump a striped in-memory counter per file. Every flush interval
+ * the accumulated deltas are written with one batched
+ * {@code UPDATE ... SET download_count = download_count + ?}, so a popular file
+ * costs one row update per interval instead of one per hit. Reported counts add
+ * the pending delta, and the database lags by at most one flush interval.
+ */
+@Component
+@Slf4j
+public class DownloadCounters {
+
+    private static final String FLUSH_SQL =
+            "UPDATE file_attachments SET download_count = COALESCE(download_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Counters removed from the map on the previous flush. A download that looked
+    // one up just before removal may still add to it, so it is drained once more.
+    private List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+
+    public DownloadCounters(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${file.download-counter.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public void increment(Long fileId) {
+        pending.computeIfAbsent(fileId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Downloads counted in memory but not yet written.
+     */
+    public long pending(Long fileId) {
+        LongAdder adder = pending.get(fileId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    // ==================== FLUSHING ====================
+
+    @Scheduled(fixedDelayString = "${file.download-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Map.Entry<Long, LongAdder>> idle = new ArrayList<>();
+
+        for (Map.Entry<Long, LongAdder> entry : retired) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                updates.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                updates.add(new Object[]{delta, entry.getKey()});
+            } else {
+                idle.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        // Files without downloads since the last flush leave the map
+        retired = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : idle) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            // All chunks commit together, so a failure leaves none of the deltas written
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < updates.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, updates.subList(from, Math.min(from + batchSize, updates.size())));
+                }
+            });
+            log.debug("Flushed download counts for {} files", updates.size());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            log.warn("Download count flush failed, retrying next interval: {}", e.getMessage());
+            for (Object[] update : updates) {
+                pending.computeIfAbsent((Long) update[1], id -> new LongAdder()).add((Long) update[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush();
+    }
+
+}
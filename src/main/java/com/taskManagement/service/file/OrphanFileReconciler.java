@@ -0,0 +1,542 @@
+package com.taskManagement.service.file;
+
+import com.taskManagement.dto.file.OrphanReconciliationDTO;
+import com.taskManagement.entity.FileBlob;
+import com.taskManagement.exception.BusinessLogicException;
+import com.taskManagement.repository.FileBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reconciles the attachment directory against the database without loading
+ * either side into memory.
+ *
+ * The storage tree is cut into partitions (the {@code blobs/ab} shards and any
+ * top-level files), and each partition is listed in parallel by a fork-join
+ * directory visitor and sorted. Referenced paths are read from the database in
+ * the same order in keyset chunks: blob paths via the unique checksum index,
+ * attachment paths via a {@code COLLATE "C"} expression index created at
+ * startup. One merge pass over the two sorted streams then classifies every
+ * file as referenced or orphaned and every referenced path as present or
+ * missing. Blob reference counts are recomputed from the attachment rows
+ * first, so a count that drifted above zero cannot keep a blob forever.
+ * Directory listings and deletes are rate limited during business
+ * hours so a run does not compete with downloads for disk I/O.
+ */
+@Component
+@Slf4j
+public class OrphanFileReconciler {
+
+    private static final int PARTITION_DEPTH = 2;
+    private static final int MAX_SAMPLES = 100;
+
+    private static final String ATTACHMENT_PATHS_SQL =
+            "SELECT file_path FROM file_attachments WHERE file_path COLLATE \"C\" > ? " +
+            "ORDER BY file_path COLLATE \"C\" LIMIT ?";
+    // Blob paths are derived from the hex checksum, so checksum order is path order
+    private static final String BLOB_PATHS_SQL =
+            "SELECT checksum, storage_path FROM file_blobs WHERE checksum > ? ORDER BY checksum LIMIT ?";
+
+    private final AttachmentStorage storage;
+    private final FileBlobRepository fileBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int parallelism;
+    private final int chunkSize;
+    private final long minAgeMinutes;
+    private final boolean scheduledDryRun;
+    private final LocalTime businessHoursStart;
+    private final LocalTime businessHoursEnd;
+    private final IoThrottle throttle;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrphanFileReconciler(
+            AttachmentStorage storage,
+            FileBlobRepository fileBlobRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${file.reconcile.parallelism:4}") int parallelism,
+            @Value("${file.reconcile.db-chunk-size:5000}") int chunkSize,
+            @Value("${file.reconcile.min-age-minutes:60}") long minAgeMinutes,
+            @Value("${file.reconcile.scheduled-dry-run:false}") boolean scheduledDryRun,
+            @Value("${file.reconcile.business-hours-start:08:00}") String businessHoursStart,
+            @Value("${file.reconcile.business-hours-end:18:00}") String businessHoursEnd,
+            @Value("${file.reconcile.business-hours-ops-per-second:200}") int businessHoursOpsPerSecond) {
+        this.storage = storage;
+        this.fileBlobRepository = fileBlobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.minAgeMinutes = minAgeMinutes;
+        this.scheduledDryRun = scheduledDryRun;
+        this.businessHoursStart = LocalTime.parse(businessHoursStart);
+        this.businessHoursEnd = LocalTime.parse(businessHoursEnd);
+        this.throttle = new IoThrottle(businessHoursOpsPerSecond);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_file_attachments_file_path_c " +
+                    "ON file_attachments (file_path COLLATE \"C\")");
+        } catch (Exception e) {
+            log.warn("Could not create attachment path index: {}", e.getMessage());
+        }
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    @Scheduled(cron = "${file.reconcile.cron:0 0 4 * * *}")
+    public void runScheduled() {
+        try {
+            reconcile(scheduledDryRun);
+        } catch (BusinessLogicException e) {
+            log.info("Skipping scheduled reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run one reconciliation. In dry-run mode nothing is deleted and the result
+     * reports what a real run would remove. Only one run happens at a time.
+     */
+    public OrphanReconciliationDTO reconcile(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessLogicException("An orphaned file reconciliation is already running");
+        }
+        try {
+            return doReconcile(dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private OrphanReconciliationDTO doReconcile(boolean dryRun) {
+        long start = System.currentTimeMillis();
+        Result result = new Result();
+
+        if (!dryRun) {
+            recomputeRefCounts();
+        }
+        List<FileBlob> unreferenced = fileBlobRepository.findByRefCountLessThanEqual(0);
+        result.unreferencedBlobs = unreferenced.size();
+        if (!dryRun) {
+            // Removed first so the walk below sees their files as orphans only if the delete failed
+            result.unreferencedBlobs = removeUnreferencedBlobs(unreferenced);
+        }
+
+        Instant cutoff = Instant.now().minus(minAgeMinutes, ChronoUnit.MINUTES);
+        ReferencedPaths referenced = new ReferencedPaths();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Partition partition : partitions()) {
+                List<String> files = partition.directory
+                        ? pool.invoke(new DirectoryScan(storage.resolve(partition.key)))
+                        : List.of(partition.key);
+                for (String file : files) {
+                    classify(file, referenced, result, cutoff, dryRun);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        while (referenced.peek() != null) {
+            result.missing(referenced.next());
+        }
+
+        OrphanReconciliationDTO dto = result.toDTO(dryRun, System.currentTimeMillis() - start);
+        log.info("Orphaned file reconciliation ({}): scanned {}, orphaned {} ({} bytes), deleted {}, missing {} in {} ms",
+                dryRun ? "dry run" : "delete", dto.getScannedFiles(), dto.getOrphanedFiles(), dto.getOrphanedBytes(),
+                dto.getDeletedFiles(), dto.getMissingFiles(), dto.getDurationMs());
+        return dto;
+    }
+
+    private void classify(String file, ReferencedPaths referenced, Result result, Instant cutoff, boolean dryRun) {
+        result.scanned++;
+        while (referenced.peek() != null && compare(referenced.peek(), file) < 0) {
+            result.missing(referenced.next());
+        }
+        if (file.equals(referenced.peek())) {
+            referenced.next();
+            result.referenced++;
+            return;
+        }
+
+        // Thumbnails sort right after their blob, which was the last referenced path consumed
+        Path path = storage.resolve(file);
+        Path owner = storage.ownerOf(path);
+        if (!owner.equals(path) && referenced.last() != null && owner.equals(storage.resolve(referenced.last()))) {
+            result.referenced++;
+            return;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", file, e.getMessage());
+            return;
+        }
+        if (attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+            // Possibly an upload whose row has not committed yet
+            result.skippedRecent++;
+            return;
+        }
+
+        result.orphan(file, attributes.size());
+        if (!dryRun) {
+            throttle();
+            try {
+                if (Files.deleteIfExists(path)) {
+                    result.deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete orphaned file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Corrects reference counts that drifted from file_attachments, e.g. from a
+     * delete path that removed attachments without releasing their blobs.
+     */
+    private void recomputeRefCounts() {
+        Integer corrected = transactionTemplate.execute(status ->
+                fileBlobRepository.recomputeRefCounts((int) Math.min(minAgeMinutes, Integer.MAX_VALUE)));
+        if (corrected != null && corrected > 0) {
+            log.warn("Blob reference count reconciliation corrected {} counts", corrected);
+        }
+    }
+
+    /**
+     * Each blob is deleted inside its own short transaction: the row delete
+     * re-checks the count and holds the row until the file is gone, so an upload
+     * of the same content waits and then stores the bytes again.
+     */
+    private long removeUnreferencedBlobs(List<FileBlob> blobs) {
+        long removed = 0;
+        for (FileBlob blob : blobs) {
+            Boolean deleted = transactionTemplate.execute(status -> {
+                if (fileBlobRepository.deleteIfUnreferenced(blob.getChecksum()) == 0) {
+                    return false;
+                }
+                throttle();
+                storage.deleteBlob(blob.getStoragePath());
+                return true;
+            });
+            if (Boolean.TRUE.equals(deleted)) {
+                removed++;
+            }
+        }
+        log.info("Removed {} unreferenced attachment blobs", removed);
+        return removed;
+    }
+
+    // ==================== STORAGE SIDE ====================
+
+    /**
+     * Directories at {@link #PARTITION_DEPTH} and files above it, in path order.
+     * A directory's key ends with '/', so it sorts exactly where its contents do.
+     */
+    private List<Partition> partitions() {
+        List<Partition> partitions = new ArrayList<>();
+        collectPartitions(storage.getRoot(), 1, partitions);
+        partitions.sort(Comparator.comparing((Partition partition) -> partition.key, OrphanFileReconciler::compare));
+        return partitions;
+    }
+
+    private void collectPartitions(Path directory, int depth, List<Partition> partitions) {
+        for (Path entry : list(directory)) {
+            if (storage.isTemporary(entry)) {
+                // Uploads in progress, expired by the upload manager
+                continue;
+            }
+            if (!Files.isDirectory(entry)) {
+                partitions.add(new Partition(relativeKey(entry), false));
+            } else if (depth < PARTITION_DEPTH) {
+                collectPartitions(entry, depth + 1, partitions);
+            } else {
+                partitions.add(new Partition(relativeKey(entry) + "/", true));
+            }
+        }
+    }
+
+    /**
+     * Lists one directory, forks a task per subdirectory and returns every file
+     * below it as a sorted list of storage-relative paths.
+     */
+    private final class DirectoryScan extends RecursiveTask<List<String>> {
+
+        private final Path directory;
+
+        private DirectoryScan(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<String> compute() {
+            List<String> files = new ArrayList<>();
+            List<DirectoryScan> subdirectories = new ArrayList<>();
+            for (Path entry : list(directory)) {
+                if (Files.isDirectory(entry)) {
+                    DirectoryScan scan = new DirectoryScan(entry);
+                    scan.fork();
+                    subdirectories.add(scan);
+                } else {
+                    files.add(relativeKey(entry));
+                }
+            }
+            for (DirectoryScan scan : subdirectories) {
+                files.addAll(scan.join());
+            }
+            files.sort(OrphanFileReconciler::compare);
+            return files;
+        }
+    }
+
+    private List<Path> list(Path directory) {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        } catch (NoSuchFileException e) {
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + directory, e);
+        }
+        throttle(entries.size());
+        return entries;
+    }
+
+    private String relativeKey(Path path) {
+        return storage.getRoot().relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    // ==================== DATABASE SIDE ====================
+
+    /**
+     * Attachment and blob paths merged into one ascending, duplicate-free
+     * sequence, each side fetched in keyset chunks.
+     */
+    private final class ReferencedPaths {
+
+        private final KeysetCursor attachments = new KeysetCursor(false);
+        private final KeysetCursor blobs = new KeysetCursor(true);
+        private String last;
+
+        String peek() {
+            String a = attachments.peek();
+            String b = blobs.peek();
+            if (a == null || b == null) {
+                return a != null ? a : b;
+            }
+            return compare(a, b) <= 0 ? a : b;
+        }
+
+        String next() {
+            String value = peek();
+            // Blob paths are usually also attachment paths; consume both copies
+            while (value != null && value.equals(attachments.peek())) {
+                attachments.next();
+            }
+            while (value != null && value.equals(blobs.peek())) {
+                blobs.next();
+            }
+            last = value;
+            return value;
+        }
+
+        String last() {
+            return last;
+        }
+    }
+
+    private final class KeysetCursor {
+
+        private final boolean blobs;
+        private List<String[]> chunk = List.of();
+        private int position;
+        private String afterKey = "";
+        private boolean exhausted;
+
+        private KeysetCursor(boolean blobs) {
+            this.blobs = blobs;
+        }
+
+        String peek() {
+            if (position >= chunk.size() && !exhausted) {
+                fetch();
+            }
+            return position < chunk.size() ? chunk.get(position)[1] : null;
+        }
+
+        void next() {
+            position++;
+        }
+
+        private void fetch() {
+            chunk = blobs
+                    ? jdbcTemplate.query(BLOB_PATHS_SQL,
+                            (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, afterKey, chunkSize)
+                    : jdbcTemplate.query(ATTACHMENT_PATHS_SQL,
+                            (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(1)}, afterKey, chunkSize);
+            position = 0;
+            exhausted = chunk.size() < chunkSize;
+            if (!chunk.isEmpty()) {
+                afterKey = chunk.get(chunk.size() - 1)[0];
+            }
+        }
+    }
+
+    // ==================== THROTTLING ====================
+
+    private void throttle() {
+        throttle(1);
+    }
+
+    private void throttle(int operations) {
+        if (operations > 0 && isBusinessHours()) {
+            throttle.acquire(operations);
+        }
+    }
+
+    private boolean isBusinessHours() {
+        LocalDateTime now = LocalDateTime.now();
+        DayOfWeek day = now.getDayOfWeek();
+        LocalTime time = now.toLocalTime();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY
+                && !time.isBefore(businessHoursStart) && time.isBefore(businessHoursEnd);
+    }
+
+    /**
+     * Spaces file system operations evenly at a fixed rate, shared by all
+     * scanning threads.
+     */
+    private static final class IoThrottle {
+
+        private final long nanosPerOperation;
+        private long nextFree = System.nanoTime();
+
+        private IoThrottle(int operationsPerSecond) {
+            this.nanosPerOperation = operationsPerSecond > 0 ? 1_000_000_000L / operationsPerSecond : 0L;
+        }
+
+        void acquire(int operations) {
+            if (nanosPerOperation == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                nextFree = Math.max(nextFree, now) + operations * nanosPerOperation;
+                wait = nextFree - now - nanosPerOperation * operations;
+            }
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    // Code point order, which is the byte order of UTF-8 and so matches COLLATE "C"
+    private static int compare(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private record Partition(String key, boolean directory) {
+    }
+
+    private static final class Result {
+        long scanned;
+        long referenced;
+        long orphaned;
+        long orphanedBytes;
+        long deleted;
+        long skippedRecent;
+        long missing;
+        long unreferencedBlobs;
+        final List<String> sampleOrphans = new ArrayList<>();
+        final List<String> sampleMissing = new ArrayList<>();
+
+        void orphan(String path, long size) {
+            orphaned++;
+            orphanedBytes += size;
+            if (sampleOrphans.size() < MAX_SAMPLES) {
+                sampleOrphans.add(path);
+            }
+        }
+
+        void missing(String path) {
+            missing++;
+            if (sampleMissing.size() < MAX_SAMPLES) {
+                sampleMissing.add(path);
+            }
+        }
+
+        OrphanReconciliationDTO toDTO(boolean dryRun, long durationMs) {
+            return OrphanReconciliationDTO.builder()
+                    .dryRun(dryRun)
+                    .scannedFiles(scanned)
+                    .referencedFiles(referenced)
+                    .orphanedFiles(orphaned)
+                    .orphanedBytes(orphanedBytes)
+                    .deletedFiles(deleted)
+                    .skippedRecentFiles(skippedRecent)
+                    .missingFiles(missing)
+                    .unreferencedBlobs(unreferencedBlobs)
+                    .sampleOrphans(sampleOrphans)
+                    .sampleMissing(sampleMissing)
+                    .durationMs(durationMs)
+                    .build();
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.taskManagement.service.file;
+
+import com.taskManagement.dto.file.StorageUsageDTO;
+import com.taskManagement.entity.StorageScope;
+import com.taskManagement.entity.StorageUsage;
+import com.taskManagement.repository.StorageUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Attachment storage totals per uploader, task and team.
+ *
+ * Uploads and deletes apply their size as a delta to the three scope rows in the
+ * same transaction as the attachment row, so reading usage or checking a quota
+ * is a primary-key lookup instead of a SUM over file_attachments. Rows are always
+ * touched in the order uploader, task, team to keep concurrent writers from
+ * deadlocking. A scheduled reconciliation recomputes the totals and corrects
+ * any drift, e.g. from attachments removed by cascading deletes.
+ */
+@Component
+@Slf4j
+public class StorageUsageTracker {
+
+    private final StorageUsageRepository storageUsageRepository;
+    private final long uploaderQuota;
+    private final long taskQuota;
+    private final long teamQuota;
+
+    public StorageUsageTracker(
+            StorageUsageRepository storageUsageRepository,
+            @Value("${file.quota.uploader-bytes:0}") long uploaderQuota,
+            @Value("${file.quota.task-bytes:0}") long taskQuota,
+            @Value("${file.quota.team-bytes:0}") long teamQuota) {
+        this.storageUsageRepository = storageUsageRepository;
+        this.uploaderQuota = uploaderQuota;
+        this.taskQuota = taskQuota;
+        this.teamQuota = teamQuota;
+    }
+
+    // ==================== DELTAS ====================
+
+    public void recordAdded(Long uploaderId, Long taskId, Long teamId, long bytes) {
+        apply(uploaderId, taskId, teamId, bytes, 1);
+    }
+
+    public void recordRemoved(Long uploaderId, Long taskId, Long teamId, long bytes) {
+        apply(uploaderId, taskId, teamId, -bytes, -1);
+    }
+
+    // ==================== QUOTAS ====================
+
+    /**
+     * The first scope whose quota {@code additionalBytes} would exceed. The check
+     * reads committed totals without locking, so parallel uploads can overshoot a
+     * quota by at most their own size; it is a soft limit.
+     */
+    public Optional<StorageScope> findExceededQuota(Long uploaderId, Long taskId, Long teamId, long additionalBytes) {
+        if (exceeds(StorageScope.UPLOADER, uploaderId, uploaderQuota, additionalBytes)) {
+            return Optional.of(StorageScope.UPLOADER);
+        }
+        if (exceeds(StorageScope.TASK, taskId, taskQuota, additionalBytes)) {
+            return Optional.of(StorageScope.TASK);
+        }
+        if (exceeds(StorageScope.TEAM, teamId, teamQuota, additionalBytes)) {
+            return Optional.of(StorageScope.TEAM);
+        }
+        return Optional.empty();
+    }
+
+    public long bytesUsed(StorageScope scope, Long scopeId) {
+        return storageUsageRepository.findByScopeTypeAndScopeId(scope, scopeId)
+                .map(StorageUsage::getBytesUsed)
+                .orElse(0L);
+    }
+
+    public StorageUsageDTO getUsage(StorageScope scope, Long scopeId) {
+        Optional<StorageUsage> usage = storageUsageRepository.findByScopeTypeAndScopeId(scope, scopeId);
+        long used = usage.map(StorageUsage::getBytesUsed).orElse(0L);
+        long quota = quotaFor(scope);
+        return StorageUsageDTO.builder()
+                .scopeType(scope)
+                .scopeId(scopeId)
+                .bytesUsed(used)
+                .fileCount(usage.map(StorageUsage::getFileCount).orElse(0L))
+                .quotaBytes(quota > 0 ? quota : null)
+                .bytesRemaining(quota > 0 ? Math.max(quota - used, 0L) : null)
+                .updatedAt(usage.map(StorageUsage::getUpdatedAt).orElse(null))
+                .build();
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    // First start with the counters: build them now rather than at the next scheduled run
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeIfEmpty() {
+        if (storageUsageRepository.count() == 0) {
+            log.info("No storage usage totals yet, computing them from existing attachments");
+            recompute();
+        }
+    }
+
+    /**
+     * Recompute every total from file_attachments. Rows that already match are
+     * left untouched. An upload committing while this runs can leave its own
+     * delta missing or doubled; the next run corrects it.
+     */
+    @Scheduled(cron = "${file.quota.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        recompute();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void recompute() {
+        long start = System.currentTimeMillis();
+        int corrected = storageUsageRepository.reconcileUploaders()
+                + storageUsageRepository.reconcileTasks()
+                + storageUsageRepository.reconcileTeams()
+                + storageUsageRepository.resetEmptyUploaderScopes()
+                + storageUsageRepository.resetEmptyTaskScopes()
+                + storageUsageRepository.resetEmptyTeamScopes();
+        if (corrected > 0) {
+            log.warn("Storage usage reconciliation corrected {} totals in {} ms",
+                    corrected, System.currentTimeMillis() - start);
+        } else {
+            log.info("Storage usage reconciliation found no drift ({} ms)", System.currentTimeMillis() - start);
+        }
+    }
+
+    private void apply(Long uploaderId, Long taskId, Long teamId, long bytes, long files) {
+        if (uploaderId != null) {
+            storageUsageRepository.applyDelta(StorageScope.UPLOADER.name(), uploaderId, bytes, files);
+        }
+        if (taskId != null) {
+            storageUsageRepository.applyDelta(StorageScope.TASK.name(), taskId, bytes, files);
+        }
+        if (teamId != null) {
+            storageUsageRepository.applyDelta(StorageScope.TEAM.name(), teamId, bytes, files);
+        }
+    }
+
+    private boolean exceeds(StorageScope scope, Long scopeId, long quota, long additionalBytes) {
+        return quota > 0 && scopeId != null && bytesUsed(scope, scopeId) + additionalBytes > quota;
+    }
+
+    private long quotaFor(StorageScope scope) {
+        switch (scope) {
+            case UPLOADER:
+                return uploaderQuota;
+            case TASK:
+                return taskQuota;
+            default:
+                return teamQuota;
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.taskManagement.service.file;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Background thumbnail generation for image attachments.
+ *
+ * Thumbnails are keyed by content checksum and size and stored next to the
+ * blob, so every attachment sharing the content shares its thumbnails. Work runs
+ * on a small bounded pool; when the queue is full the request is dropped and the
+ * thumbnail is generated on the next request for it instead.
+ */
+@Component
+@Slf4j
+public class ThumbnailGenerator {
+
+    private final AttachmentStorage storage;
+    private final List<Integer> sizes;
+    private final long maxSourcePixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailGenerator(
+            AttachmentStorage storage,
+            @Value("${file.thumbnail.sizes:128,256,512}") List<Integer> sizes,
+            @Value("${file.thumbnail.max-source-pixels:50000000}") long maxSourcePixels,
+            @Value("${file.thumbnail.threads:2}") int threads,
+            @Value("${file.thumbnail.queue-capacity:500}") int queueCapacity) {
+        this.storage = storage;
+        this.sizes = sizes.stream().sorted().distinct().collect(Collectors.toList());
+        this.maxSourcePixels = maxSourcePixels;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    // ==================== GENERATION ====================
+
+    /**
+     * Whether the stored content is an image format ImageIO can decode, judged
+     * from the bytes themselves: the uploader's declared content type is not
+     * trusted.
+     */
+    public boolean supports(String checksum) {
+        Path source = storage.resolve(storage.blobPath(checksum));
+        if (!Files.isRegularFile(source)) {
+            return false;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            return input != null && ImageIO.getImageReaders(input).hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Queue generation of every configured size for this content. Content that
+     * already has thumbnails, is being processed or is not an image is skipped.
+     */
+    public void submit(String checksum) {
+        if (hasAllSizes(checksum) || !supports(checksum) || !inFlight.add(checksum)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(checksum);
+                } finally {
+                    inFlight.remove(checksum);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(checksum);
+            log.debug("Thumbnail queue full, deferring thumbnails for {}", checksum);
+        }
+    }
+
+    /**
+     * Thumbnail file for the smallest configured size that is at least
+     * {@code requestedSize}. Empty while it has not been generated yet.
+     */
+    public Optional<Path> find(String checksum, int requestedSize) {
+        Path path = storage.resolve(storage.thumbnailPath(checksum, snapSize(requestedSize)));
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public int snapSize(int requestedSize) {
+        return sizes.stream()
+                .filter(size -> size >= requestedSize)
+                .findFirst()
+                .orElse(sizes.get(sizes.size() - 1));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private boolean hasAllSizes(String checksum) {
+        return sizes.stream().allMatch(size -> Files.isRegularFile(storage.resolve(storage.thumbnailPath(checksum, size))));
+    }
+
+    private void generate(String checksum) {
+        Path source = storage.resolve(storage.blobPath(checksum));
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = readBounded(source);
+            if (image == null) {
+                log.debug("No thumbnail for {}: unreadable or too large", checksum);
+                return;
+            }
+            // Largest first, each scaled from the previous result to keep the work small
+            BufferedImage previous = image;
+            for (int i = sizes.size() - 1; i >= 0; i--) {
+                int size = sizes.get(i);
+                previous = scale(previous, size);
+                write(previous, storage.resolve(storage.thumbnailPath(checksum, size)));
+            }
+            log.debug("Generated {} thumbnails for {} in {} ms", sizes.size(), checksum,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for {}: {}", checksum, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode the image unless its header announces more pixels than allowed,
+     * which keeps a crafted upload from exhausting the heap.
+     */
+    private BufferedImage readBounded(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxSourcePixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxSide) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            // Flatten transparency onto white; thumbnails are always JPEG
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        Path temp = storage.newTempFile("thumb-");
+        try {
+            if (!ImageIO.write(image, "jpg", temp.toFile())) {
+                throw new IOException("No JPEG writer available");
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.taskManagement.service.impl;
+
+import com.taskManagement.dto.comment.CommentThreadPageDTO;
+import com.taskManagement.entity.Comment;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.User;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.exception.UnauthorizedException;
+import com.taskManagement.repository.CommentRepository;
+import com.taskManagement.repository.TaskRepository;
+import com.taskManagement.repository.TeamMemberRepository;
+import com.taskManagement.repository.UserRepository;
+import com.taskManagement.service.CommentService;
+import com.taskManagement.service.NotificationService;
+import com.taskManagement.service.activity.ActivityRecorder;
+import com.taskManagement.service.comment.CommentCursor;
+import com.taskManagement.service.comment.CommentThreadQuery;
+import com.taskManagement.service.comment.MentionExtractor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CommentServiceImpl implements CommentService {
+
+    private static final int MAX_THREAD_PAGE_SIZE = 50;
+
+    private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final NotificationService notificationService;
+    private final CommentThreadQuery commentThreadQuery;
+    private final MentionExtractor mentionExtractor;
+    private final ActivityRecorder activityRecorder;
+
+    // ==================== BASIC CRUD OPERATIONS ====================
+
+    @Override
+    public Comment createComment(Comment comment) {
+        Task task = findTask(comment.getTask() != null ? comment.getTask().getId() : null);
+        User author = findUser(comment.getAuthor() != null ? comment.getAuthor().getId() : null);
+        log.info("Creating comment on task {} by user {}", task.getId(), author.getId());
+
+        if (comment.getContent() == null || comment.getContent().isBlank()) {
+            throw new BadRequestException("Comment content is required");
+        }
+        if (!canUserCommentOnTask(author.getId(), task.getId())) {
+            throw new UnauthorizedException("User " + author.getId() + " cannot comment on task " + task.getId());
+        }
+
+        comment.setTask(task);
+        comment.setAuthor(author);
+        Comment saved = commentRepository.save(comment);
+        activityRecorder.commentAdded(saved);
+        Set<Long> mentioned = mentionedUserIds(task, saved.getContent());
+        List<Long> subscribers = subscriberIds(saved).stream()
+                .filter(subscriberId -> !mentioned.contains(subscriberId))
+                .collect(Collectors.toList());
+        notificationService.notifyNewComment(task.getId(), author.getId(), subscribers);
+        notificationService.notifyMentioned(task.getId(), mentioned, author.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Comment> getCommentById(Long id) {
+        return commentRepository.findById(id);
+    }
+
+    @Override
+    public Comment updateComment(Long id, String content) {
+        if (content == null || content.isBlank()) {
+            throw new BadRequestException("Comment content is required");
+        }
+        Comment comment = findComment(id);
+        Set<Long> previouslyMentioned = mentionedUserIds(comment.getTask(), comment.getContent());
+        if (!content.equals(comment.getContent())) {
+            comment.setContent(content);
+            comment.setIsEdited(true);
+            comment.setEditedAt(LocalDateTime.now());
+        }
+        Comment saved = commentRepository.save(comment);
+
+        // Only people added by the edit hear about it
+        Set<Long> newlyMentioned = new LinkedHashSet<>(mentionedUserIds(saved.getTask(), content));
+        newlyMentioned.removeAll(previouslyMentioned);
+        notificationService.notifyMentioned(saved.getTask().getId(), newlyMentioned,
+                saved.getAuthor() != null ? saved.getAuthor().getId() : null);
+        return saved;
+    }
+
+    // Replies go with the comment
+    @Override
+    public void deleteComment(Long id) {
+        log.info("Deleting comment {} and its replies", id);
+        if (!commentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Comment not found with id: " + id);
+        }
+        int deleted = commentRepository.deleteThread(id);
+        log.debug("Deleted {} comments", deleted);
+    }
+
+    // ==================== COMMENTS BY TASK ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentsByTaskId(Long taskId) {
+        return commentRepository.findByTaskIdOrderByCreatedAtAsc(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentsByTaskIdOrderByDate(Long taskId) {
+        return commentRepository.findByTaskIdOrderByCreatedAtAsc(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentsByTaskIdOrderByDateDesc(Long taskId) {
+        return commentRepository.findByTaskIdOrderByCreatedAtDesc(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getTopLevelCommentsByTaskId(Long taskId) {
+        return commentRepository.findByTaskIdAndParentCommentIsNullOrderByCreatedAtAsc(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentThreadPageDTO getCommentThreads(Long taskId, String cursor, int size) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE));
+        CommentCursor position = cursor == null || cursor.isBlank() ? null : CommentCursor.decode(cursor);
+        return commentThreadQuery.findThreads(taskId, position, pageSize);
+    }
+
+    // ==================== COMMENTS BY USER ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentsByAuthorId(Long authorId) {
+        return commentRepository.findByAuthorId(authorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentsByAuthorIdOrderByDate(Long authorId) {
+        return commentRepository.findByAuthorIdOrderByCreatedAtDesc(authorId);
+    }
+
+    // ==================== REPLY MANAGEMENT ====================
+
+    @Override
+    public Comment replyToComment(Long parentCommentId, Comment reply) {
+        Comment parent = findComment(parentCommentId);
+        reply.setParentComment(parent);
+        reply.setTask(parent.getTask());
+        return createComment(reply);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getRepliesForComment(Long commentId) {
+        return commentRepository.findByParentCommentId(commentId);
+    }
+
+    // ==================== COMMENT STATISTICS ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countCommentsByTaskId(Long taskId) {
+        return commentRepository.countByTaskId(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countRepliesForComment(Long commentId) {
+        return commentRepository.countByParentCommentId(commentId);
+    }
+
+    // ==================== COMMENT VALIDATION ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserEditComment(Long userId, Long commentId) {
+        return isAuthor(findComment(commentId), userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserDeleteComment(Long userId, Long commentId) {
+        Comment comment = findComment(commentId);
+        Task task = comment.getTask();
+        return isAuthor(comment, userId)
+                || (task.getCreator() != null && Objects.equals(task.getCreator().getId(), userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserCommentOnTask(Long userId, Long taskId) {
+        Task task = findTask(taskId);
+        if (isParticipant(task, userId)) {
+            return true;
+        }
+        Project project = task.getProject();
+        return project != null && project.getTeam() != null
+                && teamMemberRepository.existsByTeamIdAndUserIdAndIsActiveTrue(project.getTeam().getId(), userId);
+    }
+
+    // ==================== COMMENT MODERATION ====================
+
+    @Override
+    public Comment markAsEdited(Long commentId) {
+        Comment comment = findComment(commentId);
+        comment.setIsEdited(true);
+        comment.setEditedAt(LocalDateTime.now());
+        return commentRepository.save(comment);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getRecentCommentsByUser(Long userId, int limit) {
+        return commentRepository.findByAuthorIdOrderByCreatedAtDesc(userId, PageRequest.of(0, Math.max(1, limit)));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private Comment findComment(Long id) {
+        return commentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+    }
+
+    private Task findTask(Long taskId) {
+        if (taskId == null) {
+            throw new BadRequestException("Task ID is required");
+        }
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    }
+
+    private User findUser(Long userId) {
+        if (userId == null) {
+            throw new BadRequestException("Author ID is required");
+        }
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    private boolean isAuthor(Comment comment, Long userId) {
+        return comment.getAuthor() != null && Objects.equals(comment.getAuthor().getId(), userId);
+    }
+
+    private boolean isParticipant(Task task, Long userId) {
+        return (task.getCreator() != null && Objects.equals(task.getCreator().getId(), userId))
+                || (task.getAssignee() != null && Objects.equals(task.getAssignee().getId(), userId));
+    }
+
+    // Mentions resolve against the task's team, or its participants when it has none
+    private Set<Long> mentionedUserIds(Task task, String content) {
+        Project project = task.getProject();
+        if (project != null && project.getTeam() != null) {
+            return mentionExtractor.extract(project.getTeam().getId(), content);
+        }
+        return mentionExtractor.extractAmong(Stream.of(task.getCreator(), task.getAssignee())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()), content);
+    }
+
+    // Task creator and assignee, plus the author being replied to
+    private List<Long> subscriberIds(Comment comment) {
+        Task task = comment.getTask();
+        User parentAuthor = comment.getParentComment() != null ? comment.getParentComment().getAuthor() : null;
+        return Stream.of(task.getCreator(), task.getAssignee(), parentAuthor)
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+}
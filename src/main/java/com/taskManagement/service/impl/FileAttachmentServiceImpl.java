@@ -0,0 +1,423 @@
+package com.taskManagement.service.impl;
+
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.StorageScope;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.User;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.repository.FileAttachmentRepository;
+import com.taskManagement.repository.FileBlobRepository;
+import com.taskManagement.repository.TaskRepository;
+import com.taskManagement.repository.TeamMemberRepository;
+import com.taskManagement.repository.UserRepository;
+import com.taskManagement.service.FileAttachmentService;
+import com.taskManagement.service.NotificationService;
+import com.taskManagement.service.activity.ActivityRecorder;
+import com.taskManagement.service.file.AttachmentStorage;
+import com.taskManagement.service.file.DownloadCounters;
+import com.taskManagement.service.file.OrphanFileReconciler;
+import com.taskManagement.service.file.StorageUsageTracker;
+import com.taskManagement.service.file.ThumbnailGenerator;
+import com.taskManagement.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FileAttachmentServiceImpl implements FileAttachmentService {
+
+    private final FileAttachmentRepository fileAttachmentRepository;
+    private final FileBlobRepository fileBlobRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final NotificationService notificationService;
+    private final AttachmentStorage storage;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final DownloadCounters downloadCounters;
+    private final StorageUsageTracker storageUsageTracker;
+    private final OrphanFileReconciler orphanFileReconciler;
+    private final ActivityRecorder activityRecorder;
+
+    @Value("${file.upload.max-size-bytes:524288000}")
+    private long maxFileSize;
+
+    private static final Set<String> ALLOWED_TYPE_PREFIXES = Set.of("image/", "text/", "video/", "audio/");
+    private static final Set<String> ALLOWED_TYPES = Set.of(
+            "application/pdf",
+            "application/zip",
+            "application/json",
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/vnd.ms-excel",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "application/vnd.ms-powerpoint",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "application/octet-stream");
+
+    // ==================== BASIC CRUD OPERATIONS ====================
+
+    @Override
+    public FileAttachment uploadFile(Long taskId, Long userId, MultipartFile file) {
+        log.info("Uploading file {} to task {} by user {}", file.getOriginalFilename(), taskId, userId);
+
+        if (file.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        if (!isFileSizeAllowed(file.getSize())) {
+            throw new BadRequestException("File exceeds the maximum size of " + maxFileSize + " bytes");
+        }
+        String contentType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
+        if (!isValidFileType(contentType)) {
+            throw new BadRequestException("File type not allowed: " + contentType);
+        }
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        User uploader = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        checkQuota(task, userId, file.getSize());
+
+        String originalFileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
+        AttachmentStorage.TempFile temp;
+        try (InputStream in = file.getInputStream()) {
+            temp = storage.writeTemp(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file " + originalFileName, e);
+        }
+        return storeAttachment(task, uploader, originalFileName, contentType, temp);
+    }
+
+    @Override
+    public FileAttachment attachUploadedContent(Long taskId, Long userId, String originalFileName, String fileType,
+                                                AttachmentStorage.TempFile content) {
+        String contentType = fileType != null ? fileType : "application/octet-stream";
+        if (!isValidFileType(contentType)) {
+            throw new BadRequestException("File type not allowed: " + contentType);
+        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        User uploader = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        checkQuota(task, userId, content.size());
+        return storeAttachment(task, uploader, originalFileName, contentType, content);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FileAttachment> getFileById(Long id) {
+        return fileAttachmentRepository.findById(id);
+    }
+
+    @Override
+    public void deleteFile(Long id, Long userId) {
+        log.info("Deleting file attachment: {}", id);
+        FileAttachment attachment = findAttachment(id);
+        String filePath = attachment.getFilePath();
+        fileAttachmentRepository.delete(attachment);
+        activityRecorder.attachmentRemoved(attachment, userId);
+        storageUsageTracker.recordRemoved(uploaderIdOf(attachment), attachment.getTask().getId(),
+                teamIdOf(attachment.getTask()), sizeOf(attachment));
+
+        if (storage.isBlobPath(filePath)) {
+            // Shared content is only removed by cleanupOrphanedFiles once nothing references it
+            fileBlobRepository.release(attachment.getChecksum());
+        } else {
+            AfterCommit.run(() -> storage.delete(filePath));
+        }
+    }
+
+    // ==================== FILE RETRIEVAL ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getFilesByTaskId(Long taskId) {
+        return fileAttachmentRepository.findByTaskId(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getFilesByTaskIdOrderByDate(Long taskId) {
+        return fileAttachmentRepository.findByTaskIdOrderByCreatedAtDesc(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getFilesByUploaderId(Long uploaderId) {
+        return fileAttachmentRepository.findByUploadedById(uploaderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getFilesByUploaderIdOrderByDate(Long uploaderId) {
+        return fileAttachmentRepository.findByUploadedByIdOrderByCreatedAtDesc(uploaderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getPublicFilesByTaskId(Long taskId) {
+        return fileAttachmentRepository.findByTaskIdAndIsPublicTrue(taskId);
+    }
+
+    // ==================== FILE TYPE FILTERING ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getImagesByTaskId(Long taskId) {
+        return fileAttachmentRepository.findByTaskId(taskId).stream()
+                .filter(FileAttachment::isImage)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getDocumentsByTaskId(Long taskId) {
+        return fileAttachmentRepository.findByTaskId(taskId).stream()
+                .filter(FileAttachment::isDocument)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileAttachment> getFilesByType(String fileType) {
+        return fileAttachmentRepository.findByFileTypeStartingWith(fileType);
+    }
+
+    // ==================== FILE STATISTICS ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countFilesByTaskId(Long taskId) {
+        return fileAttachmentRepository.countByTaskId(taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTotalFileSizeByTaskId(Long taskId) {
+        return storageUsageTracker.bytesUsed(StorageScope.TASK, taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTotalFileSizeByUploader(Long uploaderId) {
+        return storageUsageTracker.bytesUsed(StorageScope.UPLOADER, uploaderId);
+    }
+
+    // ==================== FILE MANAGEMENT ====================
+
+    @Override
+    public FileAttachment updateFileVisibility(Long fileId, boolean isPublic) {
+        FileAttachment attachment = findAttachment(fileId);
+        attachment.setIsPublic(isPublic);
+        return fileAttachmentRepository.save(attachment);
+    }
+
+    // Counted in memory and written in batches by DownloadCounters; the row is not touched here
+    @Override
+    @Transactional(readOnly = true)
+    public FileAttachment incrementDownloadCount(Long fileId) {
+        FileAttachment attachment = findAttachment(fileId);
+        downloadCounters.increment(fileId);
+        return attachment;
+    }
+
+    // ==================== FILE VALIDATION ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserAccessFile(Long userId, Long fileId) {
+        FileAttachment attachment = findAttachment(fileId);
+        if (Boolean.TRUE.equals(attachment.getIsPublic()) || isUploader(attachment, userId)) {
+            return true;
+        }
+
+        Task task = attachment.getTask();
+        if (taskParticipantIds(task).contains(userId)) {
+            return true;
+        }
+        Project project = task.getProject();
+        return project != null && project.getTeam() != null
+                && teamMemberRepository.existsByTeamIdAndUserIdAndIsActiveTrue(project.getTeam().getId(), userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserDeleteFile(Long userId, Long fileId) {
+        FileAttachment attachment = findAttachment(fileId);
+        Task task = attachment.getTask();
+        return isUploader(attachment, userId)
+                || (task.getCreator() != null && Objects.equals(task.getCreator().getId(), userId));
+    }
+
+    @Override
+    public boolean isValidFileType(String fileType) {
+        if (fileType == null || fileType.isBlank()) {
+            return false;
+        }
+        String type = fileType.toLowerCase();
+        return ALLOWED_TYPES.contains(type) || ALLOWED_TYPE_PREFIXES.stream().anyMatch(type::startsWith);
+    }
+
+    @Override
+    public boolean isFileSizeAllowed(long fileSize) {
+        return fileSize > 0 && fileSize <= maxFileSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isFileSizeAllowed(Long taskId, Long uploaderId, long fileSize) {
+        if (!isFileSizeAllowed(fileSize)) {
+            return false;
+        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        return storageUsageTracker.findExceededQuota(uploaderId, taskId, teamIdOf(task), fileSize).isEmpty();
+    }
+
+    // ==================== FILE OPERATIONS ====================
+
+    // Buffers the whole file; the download endpoint streams from getStoredFilePath instead
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] downloadFile(Long fileId) {
+        try {
+            return Files.readAllBytes(getStoredFilePath(findAttachment(fileId)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file " + fileId, e);
+        }
+    }
+
+    @Override
+    public Path getStoredFilePath(FileAttachment file) {
+        Path path = storage.resolve(file.getFilePath());
+        if (!Files.isReadable(path)) {
+            throw new ResourceNotFoundException("Stored file missing for attachment: " + file.getId());
+        }
+        return path;
+    }
+
+    @Override
+    public String generateDownloadUrl(Long fileId) {
+        return "/api/files/" + fileId + "/download";
+    }
+
+    // Runs outside a transaction: each blob removal commits on its own and the tree walk holds no locks
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cleanupOrphanedFiles() {
+        orphanFileReconciler.reconcile(false);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private FileAttachment findAttachment(Long fileId) {
+        return fileAttachmentRepository.findById(fileId)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found with id: " + fileId));
+    }
+
+    private boolean isUploader(FileAttachment attachment, Long userId) {
+        return attachment.getUploadedBy() != null && Objects.equals(attachment.getUploadedBy().getId(), userId);
+    }
+
+    private Long uploaderIdOf(FileAttachment attachment) {
+        return attachment.getUploadedBy() != null ? attachment.getUploadedBy().getId() : null;
+    }
+
+    private Long teamIdOf(Task task) {
+        Project project = task.getProject();
+        return project != null && project.getTeam() != null ? project.getTeam().getId() : null;
+    }
+
+    private long sizeOf(FileAttachment attachment) {
+        return attachment.getFileSize() != null ? attachment.getFileSize() : 0L;
+    }
+
+    private void checkQuota(Task task, Long uploaderId, long fileSize) {
+        storageUsageTracker.findExceededQuota(uploaderId, task.getId(), teamIdOf(task), fileSize)
+                .ifPresent(scope -> {
+                    throw new BadRequestException("Storage quota exceeded for " + scope.name().toLowerCase());
+                });
+    }
+
+    private List<Long> taskParticipantIds(Task task) {
+        return Stream.of(task.getCreator(), task.getAssignee())
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private FileAttachment storeAttachment(Task task, User uploader, String originalFileName, String contentType,
+                                           AttachmentStorage.TempFile temp) {
+        // Count the reference before the bytes are placed: the row lock keeps a
+        // concurrent cleanup from deleting a blob this upload is about to reuse
+        String blobPath = storage.blobPath(temp.checksum());
+        boolean duplicate;
+        try {
+            fileBlobRepository.acquire(temp.checksum(), blobPath, temp.size());
+            duplicate = storage.commitBlob(temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file " + originalFileName, e);
+        } finally {
+            storage.discard(temp);
+        }
+
+        FileAttachment saved = createAttachment(task, uploader, originalFileName, contentType,
+                blobPath, temp.size(), temp.checksum());
+        String checksum = temp.checksum();
+        AfterCommit.run(() -> thumbnailGenerator.submit(checksum));
+        log.info("Stored file {} ({} bytes) as attachment {}{}", originalFileName, temp.size(), saved.getId(),
+                duplicate ? ", reusing existing content" : "");
+        return saved;
+    }
+
+    private FileAttachment createAttachment(Task task, User uploader, String originalFileName, String contentType,
+                                            String filePath, Long fileSize, String checksum) {
+        FileAttachment attachment = new FileAttachment();
+        attachment.setFileName(checksum + extensionOf(originalFileName));
+        attachment.setOriginalFileName(originalFileName);
+        attachment.setFilePath(filePath);
+        attachment.setFileType(contentType);
+        attachment.setFileSize(fileSize);
+        attachment.setChecksum(checksum);
+        attachment.setTask(task);
+        attachment.setUploadedBy(uploader);
+
+        FileAttachment saved = fileAttachmentRepository.save(attachment);
+        storageUsageTracker.recordAdded(uploader.getId(), task.getId(), teamIdOf(task), fileSize);
+        activityRecorder.attachmentAdded(saved);
+        notificationService.notifyFileUploaded(task.getId(), uploader.getId(), taskParticipantIds(task));
+        return saved;
+    }
+
+    private String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+            return "";
+        }
+        String extension = fileName.substring(dot).toLowerCase();
+        return extension.matches("\\.[a-z0-9]{1,10}") ? extension : "";
+    }
+
+}
@@ -0,0 +1,427 @@
+package com.taskManagement.service.impl;
+
+import com.taskManagement.dto.notification.NotificationPageDTO;
+import com.taskManagement.entity.Notification;
+import com.taskManagement.entity.NotificationType;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.Team;
+import com.taskManagement.entity.User;
+import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.ResourceNotFoundException;
+import com.taskManagement.mapper.NotificationMapper;
+import com.taskManagement.repository.NotificationRepository;
+import com.taskManagement.repository.ProjectRepository;
+import com.taskManagement.repository.TaskRepository;
+import com.taskManagement.repository.TeamRepository;
+import com.taskManagement.repository.UserRepository;
+import com.taskManagement.service.NotificationService;
+import com.taskManagement.service.notification.NotificationCoalescer;
+import com.taskManagement.service.notification.NotificationCreatedEvent;
+import com.taskManagement.service.notification.NotificationCursor;
+import com.taskManagement.service.notification.NotificationIntent;
+import com.taskManagement.service.notification.NotificationRetentionManager;
+import com.taskManagement.service.notification.UnreadNotificationCounters;
+import com.taskManagement.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class NotificationServiceImpl implements NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final NotificationMapper notificationMapper;
+    private final NotificationCoalescer coalescer;
+    private final UnreadNotificationCounters unreadCounters;
+    private final NotificationRetentionManager retentionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+
+    // ==================== BASIC CRUD OPERATIONS ====================
+
+    @Override
+    public Notification createNotification(Notification notification) {
+        if (notification.getRecipient() == null || notification.getRecipient().getId() == null) {
+            throw new BadRequestException("Notification recipient is required");
+        }
+
+        Notification savedNotification = notificationRepository.save(notification);
+        log.debug("Notification {} created for user {}", savedNotification.getId(), savedNotification.getRecipient().getId());
+
+        // Pushed to open streams once the surrounding transaction commits
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notificationMapper.toResponseDTO(savedNotification)));
+        return savedNotification;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Notification> getNotificationById(Long id) {
+        return notificationRepository.findById(id);
+    }
+
+    @Override
+    public void deleteNotification(Long id) {
+        log.info("Deleting notification with ID: {}", id);
+        Notification notification = findNotificationEntityById(id);
+        notificationRepository.delete(notification);
+
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            Long recipientId = notification.getRecipient().getId();
+            AfterCommit.run(() -> unreadCounters.adjust(recipientId, -1));
+        }
+    }
+
+    // ==================== NOTIFICATIONS BY USER ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getNotificationsByUserId(Long userId) {
+        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getUnreadNotificationsByUserId(Long userId) {
+        return notificationRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Notification> getNotificationsByUserId(Long userId, Pageable pageable) {
+        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getReadNotificationsByUserId(Long userId) {
+        return notificationRepository.findByRecipientIdAndIsReadTrue(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageDTO getInbox(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        // One extra row tells us whether another page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findInboxFirstPage(userId, limit);
+        } else {
+            NotificationCursor position = NotificationCursor.decode(cursor);
+            rows = notificationRepository.findInboxPageAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Notification last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return NotificationPageDTO.builder()
+                .items(notificationMapper.toResponseDTOList(page))
+                .nextCursor(hasMore && last != null ? new NotificationCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .unreadCount(unreadCounters.get(userId))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getNotificationsAfter(Long userId, Long lastNotificationId, int limit) {
+        return notificationRepository.findByRecipientIdAndIdGreaterThanOrderByIdAsc(
+                userId, lastNotificationId, PageRequest.of(0, limit));
+    }
+
+    // ==================== NOTIFICATIONS BY TYPE ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getNotificationsByType(Long userId, NotificationType type) {
+        return notificationRepository.findByRecipientIdAndTypeOrderByCreatedAtDesc(userId, type);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Notification> getRecentNotificationsByType(NotificationType type, LocalDateTime since) {
+        return notificationRepository.findByTypeAndCreatedAtAfter(type, since);
+    }
+
+    // ==================== NOTIFICATION MANAGEMENT ====================
+
+    @Override
+    public Notification markAsRead(Long notificationId) {
+        Notification notification = findNotificationEntityById(notificationId);
+        if (Boolean.TRUE.equals(notification.getIsRead())) {
+            return notification;
+        }
+
+        notification.markAsRead();
+        Notification savedNotification = notificationRepository.save(notification);
+        Long recipientId = savedNotification.getRecipient().getId();
+        AfterCommit.run(() -> unreadCounters.adjust(recipientId, -1));
+        return savedNotification;
+    }
+
+    @Override
+    public void markAllAsRead(Long userId) {
+        log.info("Marking all notifications as read for user: {}", userId);
+        int updated = notificationRepository.markAllAsReadByRecipientId(userId, LocalDateTime.now());
+        AfterCommit.run(() -> unreadCounters.adjust(userId, -updated));
+    }
+
+    @Override
+    public void markAsUnread(Long notificationId) {
+        Notification notification = findNotificationEntityById(notificationId);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            return;
+        }
+
+        notification.setIsRead(false);
+        notification.setReadAt(null);
+        notificationRepository.save(notification);
+        Long recipientId = notification.getRecipient().getId();
+        AfterCommit.run(() -> unreadCounters.adjust(recipientId, 1));
+    }
+
+    // ==================== NOTIFICATION STATISTICS ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countUnreadNotifications(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countNotificationsByType(Long userId, NotificationType type) {
+        return notificationRepository.countByRecipientIdAndType(userId, type);
+    }
+
+    // ==================== NOTIFICATION CREATION HELPERS ====================
+    @Override
+    public void setDigestMode(Long userId, boolean enabled) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        user.setNotificationDigest(enabled);
+        userRepository.save(user);
+        AfterCommit.run(() -> coalescer.setDigestUser(userId, enabled));
+        log.info("Notification digest mode {} for user {}", enabled ? "enabled" : "disabled", userId);
+    }
+
+    // Helpers only build intents; after the caller's transaction commits they pass
+    // the coalescing stage and are inserted in batches by the write pipeline.
+
+    @Override
+    public void notifyTaskAssigned(Long taskId, Long assigneeId, Long assignerId) {
+        if (Objects.equals(assigneeId, assignerId)) {
+            return;
+        }
+        coalescer.submitAfterCommit(List.of(buildIntent(assigneeId, assignerId, NotificationType.TASK_ASSIGNED,
+                "New task assigned", "You have been assigned to task: " + taskTitle(taskId),
+                "TASK", taskId, "/tasks/" + taskId)));
+    }
+
+    @Override
+    public void notifyTaskDueSoon(Long taskId, Long assigneeId) {
+        coalescer.submitAfterCommit(List.of(buildIntent(assigneeId, null, NotificationType.TASK_DUE_SOON,
+                "Task due soon", "Task is due soon: " + taskTitle(taskId),
+                "TASK", taskId, "/tasks/" + taskId)));
+    }
+
+    @Override
+    public void notifyTaskOverdue(Long taskId, Long assigneeId) {
+        coalescer.submitAfterCommit(List.of(buildIntent(assigneeId, null, NotificationType.TASK_OVERDUE,
+                "Task overdue", "Task is overdue: " + taskTitle(taskId),
+                "TASK", taskId, "/tasks/" + taskId)));
+    }
+
+    @Override
+    public void notifyTaskCompleted(Long taskId, Long creatorId, Long completedById) {
+        if (Objects.equals(creatorId, completedById)) {
+            return;
+        }
+        coalescer.submitAfterCommit(List.of(buildIntent(creatorId, completedById, NotificationType.TASK_COMPLETED,
+                "Task completed", "Task has been completed: " + taskTitle(taskId),
+                "TASK", taskId, "/tasks/" + taskId)));
+    }
+
+    @Override
+    public void notifyNewComment(Long taskId, Long commentAuthorId, List<Long> subscriberIds) {
+        if (subscriberIds == null || subscriberIds.isEmpty()) {
+            return;
+        }
+        String message = "New comment on task: " + taskTitle(taskId);
+        coalescer.submitAfterCommit(subscriberIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(subscriberId -> !subscriberId.equals(commentAuthorId))
+                .map(subscriberId -> buildIntent(subscriberId, commentAuthorId,
+                        NotificationType.TASK_COMMENT, "New comment", message,
+                        "TASK", taskId, "/tasks/" + taskId))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void notifyProjectCreated(Long projectId, List<Long> teamMemberIds) {
+        if (teamMemberIds == null || teamMemberIds.isEmpty()) {
+            return;
+        }
+        String message = "A new project was created: " + projectRepository.findById(projectId)
+                .map(Project::getName)
+                .orElse("Project #" + projectId);
+        coalescer.submitAfterCommit(teamMemberIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(memberId -> buildIntent(memberId, null,
+                        NotificationType.PROJECT_CREATED, "New project", message,
+                        "PROJECT", projectId, "/projects/" + projectId))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void notifyTeamInvitation(Long teamId, Long invitedUserId, Long inviterUserId) {
+        String teamName = teamRepository.findById(teamId)
+                .map(Team::getName)
+                .orElse("Team #" + teamId);
+        coalescer.submitAfterCommit(List.of(buildIntent(invitedUserId, inviterUserId, NotificationType.TEAM_INVITATION,
+                "Team invitation", "You have been invited to join team: " + teamName,
+                "TEAM", teamId, "/teams/" + teamId)));
+    }
+
+    @Override
+    public void notifyMentioned(Long taskId, Long mentionedUserId, Long mentionerUserId) {
+        notifyMentioned(taskId, Collections.singletonList(mentionedUserId), mentionerUserId);
+    }
+
+    @Override
+    public void notifyMentioned(Long taskId, Collection<Long> mentionedUserIds, Long mentionerUserId) {
+        if (mentionedUserIds == null || mentionedUserIds.isEmpty()) {
+            return;
+        }
+        String message = "You were mentioned in a comment on task: " + taskTitle(taskId);
+        coalescer.submitAfterCommit(mentionedUserIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(mentionedUserId -> !mentionedUserId.equals(mentionerUserId))
+                .map(mentionedUserId -> buildIntent(mentionedUserId, mentionerUserId,
+                        NotificationType.MENTION, "You were mentioned", message,
+                        "TASK", taskId, "/tasks/" + taskId))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void notifyFileUploaded(Long taskId, Long uploaderId, List<Long> subscriberIds) {
+        if (subscriberIds == null || subscriberIds.isEmpty()) {
+            return;
+        }
+        String message = "New file uploaded to task: " + taskTitle(taskId);
+        coalescer.submitAfterCommit(subscriberIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(subscriberId -> !subscriberId.equals(uploaderId))
+                .map(subscriberId -> buildIntent(subscriberId, uploaderId,
+                        NotificationType.FILE_UPLOADED, "New file uploaded", message,
+                        "TASK", taskId, "/tasks/" + taskId))
+                .collect(Collectors.toList()));
+    }
+
+    // ==================== NOTIFICATION CLEANUP ====================
+
+    // Runs outside a transaction: partition drops and chunked deletes commit piecemeal
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteExpiredNotifications() {
+        retentionManager.purgeExpired();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteReadNotificationsOlderThan(LocalDateTime date) {
+        retentionManager.deleteReadOlderThan(date);
+    }
+
+    // ==================== NOTIFICATION VALIDATION ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean canUserAccessNotification(Long userId, Long notificationId) {
+        return notificationRepository.findById(notificationId)
+                .map(notification -> notification.getRecipient().getId().equals(userId))
+                .orElse(false);
+    }
+
+    // ==================== BULK OPERATIONS ====================
+
+    @Override
+    public void markMultipleAsRead(List<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> unreadByRecipient = countUnreadByRecipient(notificationIds);
+        notificationRepository.markAsReadByIds(notificationIds, LocalDateTime.now());
+        AfterCommit.run(() -> unreadByRecipient.forEach((recipientId, count) -> unreadCounters.adjust(recipientId, -count)));
+    }
+
+    @Override
+    public void deleteMultipleNotifications(List<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> unreadByRecipient = countUnreadByRecipient(notificationIds);
+        notificationRepository.deleteAllById(notificationIds);
+        AfterCommit.run(() -> unreadByRecipient.forEach((recipientId, count) -> unreadCounters.adjust(recipientId, -count)));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private Notification findNotificationEntityById(Long id) {
+        return notificationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found with ID: " + id));
+    }
+
+    private Map<Long, Long> countUnreadByRecipient(List<Long> notificationIds) {
+        Map<Long, Long> unreadByRecipient = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadByRecipientForIds(notificationIds)) {
+            unreadByRecipient.put((Long) row[0], (Long) row[1]);
+        }
+        return unreadByRecipient;
+    }
+
+    private NotificationIntent buildIntent(Long recipientId, Long senderId, NotificationType type,
+                                           String title, String message,
+                                           String entityType, Long entityId, String actionUrl) {
+        return new NotificationIntent(recipientId, senderId, type, title, message,
+                entityType, entityId, actionUrl, LocalDateTime.now(), 1);
+    }
+
+    private String taskTitle(Long taskId) {
+        return taskRepository.findById(taskId)
+                .map(Task::getTitle)
+                .orElse("Task #" + taskId);
+    }
+
+}
@@ -1,21 +1,31 @@
 
 package com.taskManagement.service.impl;
 
+import com.taskManagement.dto.activity.ActivityFeedDTO;
+import com.taskManagement.dto.activity.ActivityResponseDTO;
 import com.taskManagement.dto.project.*;
 import com.taskManagement.entity.*;
+import com.taskManagement.exception.PreconditionFailedException;
 import com.taskManagement.mapper.ProjectMapper;
+import com.taskManagement.repository.FileBlobRepository;
 import com.taskManagement.repository.ProjectRepository;
 import com.taskManagement.repository.TeamRepository;
 import com.taskManagement.repository.UserRepository;
 import com.taskManagement.service.ProjectService;
+import com.taskManagement.service.activity.ActivityLog;
+import com.taskManagement.service.activity.ActivityRecord;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +33,14 @@ import java.util.Optional;
 @Transactional
 public class ProjectServiceImpl implements ProjectService {
 
+    private static final int MAX_ACTIVITY_PAGE_SIZE = 100;
+
     private final ProjectRepository projectRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final ActivityLog activityLog;
+    private final FileBlobRepository fileBlobRepository;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -85,10 +99,10 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO projectUpdateDTO) {
+    public ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO projectUpdateDTO, Long expectedVersion) {
         log.info("Updating project with ID: {}", id);
 
-        Project existingProject = findProjectEntityById(id);
+        Project existingProject = findProjectForUpdate(id, expectedVersion);
 
         // Validate unique name if changed
         if (projectUpdateDTO.getName() != null &&
@@ -113,7 +127,7 @@ public class ProjectServiceImpl implements ProjectService {
         // Update other fields
         projectMapper.updateEntityFromDTO(existingProject, projectUpdateDTO);
 
-        Project updatedProject = projectRepository.save(existingProject);
+        Project updatedProject = projectRepository.saveAndFlush(existingProject);
         return projectMapper.toResponseDTO(updatedProject);
     }
 
@@ -121,6 +135,8 @@ public class ProjectServiceImpl implements ProjectService {
     public void deleteProject(Long id) {
         log.info("Deleting project with ID: {}", id);
         Project project = findProjectEntityById(id);
+        // Attachments go with the project's tasks by cascade; give back their shared content first
+        fileBlobRepository.releaseForProject(id);
         projectRepository.delete(project);
     }
 
@@ -178,22 +194,22 @@ public class ProjectServiceImpl implements ProjectService {
     // ==================== STATUS MANAGEMENT ====================
 
     @Override
-    public ProjectResponseDTO updateProjectStatus(Long id, ProjectStatus status) {
+    public ProjectResponseDTO updateProjectStatus(Long id, ProjectStatus status, Long expectedVersion) {
         log.info("Updating project status for ID: {} to {}", id, status);
-        Project project = findProjectEntityById(id);
+        Project project = findProjectForUpdate(id, expectedVersion);
         project.setStatus(status);
-        Project updatedProject = projectRepository.save(project);
+        Project updatedProject = projectRepository.saveAndFlush(project);
         return projectMapper.toResponseDTO(updatedProject);
     }
 
     @Override
-    public ProjectResponseDTO updateProjectProgress(Long id, Integer progressPercentage) {
+    public ProjectResponseDTO updateProjectProgress(Long id, Integer progressPercentage, Long expectedVersion) {
         log.info("Updating project progress for ID: {} to {}%", id, progressPercentage);
         if (progressPercentage < 0 || progressPercentage > 100) {
             throw new IllegalArgumentException("Progress percentage must be between 0 and 100");
         }
 
-        Project project = findProjectEntityById(id);
+        Project project = findProjectForUpdate(id, expectedVersion);
         project.setProgressPercentage(progressPercentage);
 
         // Auto-update status based on progress
@@ -203,10 +219,46 @@ public class ProjectServiceImpl implements ProjectService {
             project.setStatus(ProjectStatus.IN_PROGRESS);
         }
 
-        Project updatedProject = projectRepository.save(project);
+        Project updatedProject = projectRepository.saveAndFlush(project);
         return projectMapper.toResponseDTO(updatedProject);
     }
 
+    // ==================== ACTIVITY ====================
+
+    // Served from the activity log alone, so no connection is taken from the pool
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ActivityFeedDTO getProjectActivity(Long projectId, Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_ACTIVITY_PAGE_SIZE));
+        long beforeSequence = before != null ? before : Long.MAX_VALUE;
+
+        // One extra record answers whether an older page exists
+        List<ActivityRecord> records = activityLog.findRecent(
+                record -> projectId.equals(record.projectId()), beforeSequence, pageSize + 1);
+        boolean hasMore = records.size() > pageSize;
+        List<ActivityRecord> page = hasMore ? records.subList(0, pageSize) : records;
+
+        return ActivityFeedDTO.builder()
+                .activities(page.stream().map(ProjectServiceImpl::toActivityDTO).collect(Collectors.toList()))
+                .nextBefore(hasMore ? page.get(page.size() - 1).sequence() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static ActivityResponseDTO toActivityDTO(ActivityRecord record) {
+        return ActivityResponseDTO.builder()
+                .sequence(record.sequence())
+                .type(record.type())
+                .actorId(record.actorId())
+                .projectId(record.projectId())
+                .teamId(record.teamId())
+                .entityType(record.entityType())
+                .entityId(record.entityId())
+                .detail(record.detail())
+                .occurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault()))
+                .build();
+    }
+
     // ==================== VALIDATION & UTILITY ====================
 
     @Override
@@ -230,6 +282,16 @@ public class ProjectServiceImpl implements ProjectService {
                 .orElseThrow(() -> new IllegalArgumentException("Project not found with ID: " + id));
     }
 
+    // Checked against the loaded row; the versioned UPDATE on flush covers the rest
+    private Project findProjectForUpdate(Long id, Long expectedVersion) {
+        Project project = findProjectEntityById(id);
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project " + id + " is at version " + project.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return project;
+    }
+
     @Override
     public Project createProjectEntity(Project project) {
         return projectRepository.save(project);
@@ -7,12 +7,17 @@ import com.taskManagement.entity.TaskStatus;
 import com.taskManagement.entity.User;
 import com.taskManagement.exception.ResourceNotFoundException;
 import com.taskManagement.exception.BadRequestException;
+import com.taskManagement.exception.PreconditionFailedException;
 import com.taskManagement.exception.UnauthorizedException;
 import com.taskManagement.mapper.task.*;
+import com.taskManagement.repository.FileBlobRepository;
 import com.taskManagement.repository.TaskRepository;
 import com.taskManagement.service.TaskService;
 import com.taskManagement.service.UserService;
 import com.taskManagement.service.ProjectService;
+import com.taskManagement.service.activity.ActivityRecorder;
+import com.taskManagement.service.task.TaskRevisionStore;
+import com.taskManagement.service.task.TaskState;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,10 +26,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +47,9 @@ public class TaskServiceImpl implements TaskService {
     private final TaskMapper taskMapper;
     private final UserService userService;
     private final ProjectService projectService;
+    private final ActivityRecorder activityRecorder;
+    private final TaskRevisionStore taskRevisionStore;
+    private final FileBlobRepository fileBlobRepository;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -63,9 +76,10 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        activityRecorder.taskCreated(savedTask);
         log.info("Task created successfully with ID: {}", savedTask.getId());
         
-        return taskMapper.toResponseDTO(savedTask);
+        return toResponseDTO(savedTask);
     }
 
     @Override
@@ -73,7 +87,7 @@ public class TaskServiceImpl implements TaskService {
     public TaskResponseDTO getTaskById(Long id) {
         log.debug("Fetching task with ID: {}", id);
         Task task = findTaskEntityById(id);
-        return taskMapper.toResponseDTO(task);
+        return toResponseDTO(task);
     }
 
     @Override
@@ -81,15 +95,18 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskResponseDTO> getAllTasks() {
         log.debug("Fetching all tasks");
         List<Task> tasks = taskRepository.findAll();
-        return taskMapper.toResponseDTOList(tasks);
+        return toResponseDTOList(tasks);
     }
 
     @Override
-    public TaskResponseDTO updateTask(Long id, TaskUpdateDTO updateDTO) {
+    public TaskResponseDTO updateTask(Long id, TaskUpdateDTO updateDTO, Long userId, Long expectedVersion) {
         log.info("Updating task with ID: {}", id);
         
-        Task existingTask = findTaskEntityById(id);
+        Task existingTask = findTaskForUpdate(id, expectedVersion);
         validateTaskUpdateDTO(updateDTO, existingTask);
+        TaskState before = taskRevisionStore.capture(existingTask);
+        TaskStatus previousStatus = existingTask.getStatus();
+        Long previousAssigneeId = existingTask.getAssignee() != null ? existingTask.getAssignee().getId() : null;
         
         taskMapper.updateEntityFromDTO(existingTask, updateDTO);
         
@@ -106,10 +123,17 @@ public class TaskServiceImpl implements TaskService {
             existingTask.setParentTask(newParentTask);
         }
         
-        Task updatedTask = taskRepository.save(existingTask);
+        Task updatedTask = taskRepository.saveAndFlush(existingTask);
+        taskRevisionStore.recordChanges(before, updatedTask);
+        if (updatedTask.getStatus() != previousStatus) {
+            activityRecorder.taskStatusChanged(updatedTask, previousStatus, userId);
+        }
+        if (!Objects.equals(updatedTask.getAssignee() != null ? updatedTask.getAssignee().getId() : null, previousAssigneeId)) {
+            activityRecorder.taskAssigned(updatedTask, userId);
+        }
         log.info("Task updated successfully: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
@@ -122,6 +146,8 @@ public class TaskServiceImpl implements TaskService {
             throw new BadRequestException("Cannot delete task with existing subtasks");
         }
         
+        // Attachments go with the task by cascade; give back their shared content first
+        fileBlobRepository.releaseForTask(id);
         taskRepository.delete(task);
         log.info("Task deleted successfully: {}", id);
     }
@@ -133,7 +159,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByProjectId(Long projectId) {
         log.debug("Fetching tasks for project: {}", projectId);
         List<Task> tasks = taskRepository.findByProjectId(projectId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -141,7 +167,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByProjectIdOrderByDate(Long projectId) {
         log.debug("Fetching tasks for project ordered by date: {}", projectId);
         List<Task> tasks = taskRepository.findByProjectIdOrderByDueDateAsc(projectId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -149,7 +175,9 @@ public class TaskServiceImpl implements TaskService {
     public Page<TaskSummaryDTO> getTasksByProjectIdPaginated(Long projectId, Pageable pageable) {
         log.debug("Fetching paginated tasks for project: {}", projectId);
         Page<Task> taskPage = taskRepository.findByProjectId(projectId, pageable);
-        return taskPage.map(taskMapper::toSummaryDTO);
+        Map<Long, TaskChildCounts> counts = loadChildCounts(
+                taskPage.getContent().stream().map(Task::getId).collect(Collectors.toList()));
+        return taskPage.map(task -> taskMapper.toSummaryDTO(task, counts));
     }
 
     @Override
@@ -157,7 +185,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByProjectIdAndStatus(Long projectId, TaskStatus status) {
         log.debug("Fetching tasks for project: {} with status: {}", projectId, status);
         List<Task> tasks = taskRepository.findByProjectIdAndStatus(projectId, status);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     // ==================== TASKS BY USER ====================
@@ -167,7 +195,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByAssigneeId(Long assigneeId) {
         log.debug("Fetching tasks for assignee: {}", assigneeId);
         List<Task> tasks = taskRepository.findByAssigneeId(assigneeId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -175,7 +203,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByAssigneeIdOrderByDueDate(Long assigneeId) {
         log.debug("Fetching tasks for assignee ordered by due date: {}", assigneeId);
         List<Task> tasks = taskRepository.findByAssigneeIdOrderByDueDateAsc(assigneeId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -183,7 +211,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByCreatorId(Long creatorId) {
         log.debug("Fetching tasks created by user: {}", creatorId);
         List<Task> tasks = taskRepository.findByCreatorId(creatorId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -191,7 +219,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksByAssigneeIdAndStatus(Long assigneeId, TaskStatus status) {
         log.debug("Fetching tasks for assignee: {} with status: {}", assigneeId, status);
         List<Task> tasks = taskRepository.findByAssigneeIdAndStatus(assigneeId, status);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     // ==================== TASK SCHEDULING AND DEADLINES ====================
@@ -201,7 +229,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getTasksDueInRange(Long assigneeId, LocalDateTime start, LocalDateTime end) {
         log.debug("Fetching tasks due between {} and {} for assignee: {}", start, end, assigneeId);
         List<Task> tasks = taskRepository.findByAssigneeIdAndDueDateBetween(assigneeId, start, end);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -210,7 +238,7 @@ public class TaskServiceImpl implements TaskService {
         log.debug("Fetching overdue tasks for assignee: {}", assigneeId);
         List<Task> tasks = taskRepository.findByAssigneeIdAndDueDateBeforeAndStatusNot(
             assigneeId, LocalDateTime.now(), TaskStatus.COMPLETED);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -220,7 +248,7 @@ public class TaskServiceImpl implements TaskService {
         LocalDateTime endDate = LocalDateTime.now().plusDays(daysAhead);
         List<Task> tasks = taskRepository.findByAssigneeIdAndDueDateBetweenAndStatusNot(
             assigneeId, LocalDateTime.now(), endDate, TaskStatus.COMPLETED);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -229,18 +257,19 @@ public class TaskServiceImpl implements TaskService {
         log.debug("Fetching all overdue tasks");
         List<Task> tasks = taskRepository.findByDueDateBeforeAndStatusNot(
             LocalDateTime.now(), TaskStatus.COMPLETED);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
 
     // ==================== TASK STATUS MANAGEMENT ====================
 
     @Override
-    public TaskResponseDTO updateTaskStatus(Long id, TaskStatus status) {
+    public TaskResponseDTO updateTaskStatus(Long id, TaskStatus status, Long userId, Long expectedVersion) {
         log.info("Updating task status: {} to {}", id, status);
         
-        Task task = findTaskEntityById(id);
+        Task task = findTaskForUpdate(id, expectedVersion);
         TaskStatus previousStatus = task.getStatus();
+        TaskState before = taskRevisionStore.capture(task);
         
         task.setStatus(status);
         
@@ -252,51 +281,63 @@ public class TaskServiceImpl implements TaskService {
             task.setStartDate(LocalDateTime.now());
         }
         
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskRevisionStore.recordChanges(before, updatedTask);
+        if (status != previousStatus) {
+            activityRecorder.taskStatusChanged(updatedTask, previousStatus, userId);
+        }
         log.info("Task status updated successfully: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
-    public TaskResponseDTO updateTaskPriority(Long id, Priority priority) {
+    public TaskResponseDTO updateTaskPriority(Long id, Priority priority, Long expectedVersion) {
         log.info("Updating task priority: {} to {}", id, priority);
         
-        Task task = findTaskEntityById(id);
+        Task task = findTaskForUpdate(id, expectedVersion);
+        TaskState before = taskRevisionStore.capture(task);
         task.setPriority(priority);
         
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskRevisionStore.recordChanges(before, updatedTask);
         log.info("Task priority updated successfully: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
-    public TaskResponseDTO assignTask(Long taskId, Long assigneeId) {
+    public TaskResponseDTO assignTask(Long taskId, Long assigneeId, Long userId, Long expectedVersion) {
         log.info("Assigning task: {} to user: {}", taskId, assigneeId);
         
-        Task task = findTaskEntityById(taskId);
+        Task task = findTaskForUpdate(taskId, expectedVersion);
         User assignee = userService.findUserEntityById(assigneeId);
+        TaskState before = taskRevisionStore.capture(task);
         
         task.setAssignee(assignee);
         
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskRevisionStore.recordChanges(before, updatedTask);
+        activityRecorder.taskAssigned(updatedTask, userId);
         log.info("Task assigned successfully: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
-    public TaskResponseDTO unassignTask(Long taskId) {
+    public TaskResponseDTO unassignTask(Long taskId, Long userId, Long expectedVersion) {
         log.info("Unassigning task: {}", taskId);
         
-        Task task = findTaskEntityById(taskId);
+        Task task = findTaskForUpdate(taskId, expectedVersion);
+        TaskState before = taskRevisionStore.capture(task);
         task.setAssignee(null);
         
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskRevisionStore.recordChanges(before, updatedTask);
+        activityRecorder.taskAssigned(updatedTask, userId);
         log.info("Task unassigned successfully: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     // ==================== SUBTASKS ====================
@@ -306,7 +347,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getSubtasks(Long parentTaskId) {
         log.debug("Fetching subtasks for parent task: {}", parentTaskId);
         List<Task> subtasks = taskRepository.findByParentTaskId(parentTaskId);
-        return taskMapper.toSummaryDTOList(subtasks);
+        return toSummaryDTOList(subtasks);
     }
 
     @Override
@@ -344,20 +385,26 @@ public class TaskServiceImpl implements TaskService {
     // ==================== TIME TRACKING ====================
 
     @Override
-    public TaskResponseDTO startTimer(Long taskId) {
+    public TaskResponseDTO startTimer(Long taskId, Long userId) {
         log.info("Starting timer for task: {}", taskId);
         
         Task task = findTaskEntityById(taskId);
+        TaskStatus previousStatus = task.getStatus();
+        TaskState before = taskRevisionStore.capture(task);
         
-        if (task.getStatus() == TaskStatus.TODO) {
+        if (previousStatus == TaskStatus.TODO) {
             task.setStatus(TaskStatus.IN_PROGRESS);
             task.setStartDate(LocalDateTime.now());
         }
         
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskRevisionStore.recordChanges(before, updatedTask);
+        if (updatedTask.getStatus() != previousStatus) {
+            activityRecorder.taskStatusChanged(updatedTask, previousStatus, userId);
+        }
         log.info("Timer started for task: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
@@ -371,7 +418,7 @@ public class TaskServiceImpl implements TaskService {
         Task updatedTask = taskRepository.save(task);
         log.info("Timer stopped for task: {}", updatedTask.getId());
         
-        return taskMapper.toResponseDTO(updatedTask);
+        return toResponseDTO(updatedTask);
     }
 
     @Override
@@ -382,6 +429,25 @@ public class TaskServiceImpl implements TaskService {
         return task.getActualHours() != null ? task.getActualHours() : 0.0;
     }
 
+    // ==================== CHANGE HISTORY ====================
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskRevisionDTO> getTaskRevisions(Long taskId, int limit) {
+        log.debug("Fetching {} revisions for task: {}", limit, taskId);
+        findTaskEntityById(taskId);
+        return taskRevisionStore.getChanges(taskId, Math.max(1, Math.min(limit, 200)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskRevisionDTO getTaskStateAt(Long taskId, LocalDateTime at) {
+        log.debug("Reconstructing task {} as of {}", taskId, at);
+        Task task = findTaskEntityById(taskId);
+        return taskRevisionStore.stateAt(task, at)
+                .orElseThrow(() -> new ResourceNotFoundException("No history for task " + taskId + " at " + at));
+    }
+
     // ==================== TASK VALIDATION ====================
 
     @Override
@@ -427,6 +493,51 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
     }
 
+    // The version check reuses the load every edit does; an edit that slips in
+    // after it fails the flush, whose UPDATE matches on id and version
+    private Task findTaskForUpdate(Long id, Long expectedVersion) {
+        Task task = findTaskEntityById(id);
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + id + " is at version " + task.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return task;
+    }
+
+    // ==================== RESPONSE MAPPING ====================
+
+    private TaskResponseDTO toResponseDTO(Task task) {
+        return toResponseDTOList(List.of(task)).get(0);
+    }
+
+    // Counts for the tasks, their parents and the subtasks listed in each response
+    private List<TaskResponseDTO> toResponseDTOList(List<Task> tasks) {
+        Set<Long> ids = new HashSet<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+            if (task.getParentTask() != null) {
+                ids.add(task.getParentTask().getId());
+            }
+            if (task.getSubtasks() != null) {
+                task.getSubtasks().forEach(subtask -> ids.add(subtask.getId()));
+            }
+        }
+        return taskMapper.toResponseDTOList(tasks, loadChildCounts(ids));
+    }
+
+    private List<TaskSummaryDTO> toSummaryDTOList(List<Task> tasks) {
+        return taskMapper.toSummaryDTOList(tasks,
+                loadChildCounts(tasks.stream().map(Task::getId).collect(Collectors.toList())));
+    }
+
+    private Map<Long, TaskChildCounts> loadChildCounts(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepository.findChildCounts(taskIds.toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(TaskChildCounts::getTaskId, Function.identity()));
+    }
+
     // ==================== PRIVATE VALIDATION METHODS ====================
 
     private void validateTaskCreateDTO(TaskCreateDTO dto) {
@@ -476,7 +587,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getRootTasksByProject(Long projectId) {
         log.debug("Fetching root tasks (no parent) for project: {}", projectId);
         List<Task> tasks = taskRepository.findByProjectIdAndParentTaskIsNull(projectId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -484,7 +595,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getUnassignedTasksByProject(Long projectId) {
         log.debug("Fetching unassigned tasks for project: {}", projectId);
         List<Task> tasks = taskRepository.findByProjectIdAndAssigneeIsNull(projectId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -492,7 +603,7 @@ public class TaskServiceImpl implements TaskService {
     public List<TaskSummaryDTO> getMilestoneTasksByProject(Long projectId) {
         log.debug("Fetching milestone tasks for project: {}", projectId);
         List<Task> tasks = taskRepository.findByProjectIdAndIsMilestoneTrue(projectId);
-        return taskMapper.toSummaryDTOList(tasks);
+        return toSummaryDTOList(tasks);
     }
 
     @Override
@@ -504,16 +615,17 @@ public class TaskServiceImpl implements TaskService {
     
         List<Task> createdTasks = taskRepository.findByCreatorId(userId);
     
-        // Combine and remove duplicates
-        Set<Task> allTasks = new HashSet<>(assignedTasks);
-        allTasks.addAll(createdTasks);
+        // Combine and remove duplicates, by ID: Task's generated hashCode walks its lazy associations
+        Map<Long, Task> allTasks = new LinkedHashMap<>();
+        assignedTasks.forEach(task -> allTasks.put(task.getId(), task));
+        createdTasks.forEach(task -> allTasks.putIfAbsent(task.getId(), task));
     
         // Convert to list and sort by updated date (newest first)
-        List<Task> sortedTasks = allTasks.stream()
+        List<Task> sortedTasks = allTasks.values().stream()
             .sorted((t1, t2) -> t2.getUpdatedAt().compareTo(t1.getUpdatedAt()))
             .collect(Collectors.toList());
     
-        return taskMapper.toSummaryDTOList(sortedTasks);
+        return toSummaryDTOList(sortedTasks);
     }
 
     @Override
@@ -530,14 +642,14 @@ public class TaskServiceImpl implements TaskService {
         
         if (limit <= 5) {
             List<Task> tasks = taskRepository.findTop5ByProjectIdOrderByCreatedAtDesc(projectId);
-            return taskMapper.toSummaryDTOList(tasks);
+            return toSummaryDTOList(tasks);
         } else {
             // For larger limits, use findAll with custom sorting
             List<Task> allTasks = taskRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
             List<Task> limitedTasks = allTasks.stream()
                 .limit(limit)
                 .collect(Collectors.toList());
-            return taskMapper.toSummaryDTOList(limitedTasks);
+            return toSummaryDTOList(limitedTasks);
         }
     }
 
@@ -548,13 +660,13 @@ public class TaskServiceImpl implements TaskService {
         
         if (limit <= 10) {
             List<Task> tasks = taskRepository.findTop10ByAssigneeIdOrderByDueDateAsc(assigneeId);
-            return taskMapper.toSummaryDTOList(tasks);
+            return toSummaryDTOList(tasks);
         } else {
             List<Task> allTasks = taskRepository.findByAssigneeIdOrderByDueDateAsc(assigneeId);
             List<Task> limitedTasks = allTasks.stream()
                 .limit(limit)
                 .collect(Collectors.toList());
-            return taskMapper.toSummaryDTOList(limitedTasks);
+            return toSummaryDTOList(limitedTasks);
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.taskManagement.service.impl;
 
 import com.taskManagement.dto.team.member.*;
+import com.taskManagement.entity.ActivityType;
 import com.taskManagement.entity.Team;
 import com.taskManagement.entity.TeamMember;
 import com.taskManagement.entity.TeamRole;
@@ -12,8 +13,11 @@ import com.taskManagement.repository.TeamMemberRepository;
 import com.taskManagement.service.TeamMemberService;
 import com.taskManagement.service.TeamService;
 import com.taskManagement.service.UserService;
+import com.taskManagement.service.activity.ActivityRecorder;
+import com.taskManagement.service.comment.MentionDirectoryChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +36,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
     private final TeamMemberMapper teamMemberMapper;
     private final TeamService teamService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityRecorder activityRecorder;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -60,6 +66,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         
         // Save team member
         TeamMember savedTeamMember = teamMemberRepository.save(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(team.getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_JOINED, savedTeamMember);
         
         log.info("Successfully added member - ID: {}, TeamID: {}, UserID: {}", 
                 savedTeamMember.getId(), createDTO.getTeamId(), createDTO.getUserId());
@@ -104,6 +112,7 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         teamMemberMapper.updateEntityFromDTO(teamMember, updateDTO);
         
         TeamMember updatedTeamMember = teamMemberRepository.save(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
         
         log.info("Successfully updated team member with ID: {}", id);
         return teamMemberMapper.toResponseDTO(updatedTeamMember);
@@ -124,6 +133,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         }
         
         teamMemberRepository.delete(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_LEFT, teamMember);
         
         log.info("Successfully removed team member with ID: {}", id);
     }
@@ -144,6 +155,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         
         teamMember.setIsActive(false);
         teamMemberRepository.save(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_DEACTIVATED, teamMember);
         
         log.info("Successfully deactivated team member with ID: {}", id);
     }
@@ -161,6 +174,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         
         teamMember.setIsActive(true);
         teamMemberRepository.save(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_ACTIVATED, teamMember);
         
         log.info("Successfully activated team member with ID: {}", id);
     }
@@ -404,6 +419,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         teamMember.setIsActive(true);
         
         TeamMember updatedTeamMember = teamMemberRepository.save(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_JOINED, updatedTeamMember);
         
         log.info("Successfully accepted invitation for team member ID: {}", teamMemberId);
         return teamMemberMapper.toResponseDTO(updatedTeamMember);
@@ -415,6 +432,8 @@ public class TeamMemberServiceImpl implements TeamMemberService {
         
         TeamMember teamMember = findTeamMemberEntityById(teamMemberId);
         teamMemberRepository.delete(teamMember);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forTeam(teamMember.getTeam().getId()));
+        activityRecorder.membershipChanged(ActivityType.MEMBER_LEFT, teamMember);
         
         log.info("Successfully declined invitation for team member ID: {}", teamMemberId);
     }
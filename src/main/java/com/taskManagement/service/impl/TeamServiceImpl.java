@@ -6,10 +6,13 @@ import com.taskManagement.entity.Team;
 import com.taskManagement.entity.TeamMember;
 import com.taskManagement.exception.ResourceNotFoundException;
 import com.taskManagement.exception.BusinessLogicException;
+import com.taskManagement.exception.PreconditionFailedException;
 import com.taskManagement.mapper.TeamMapper;
 import com.taskManagement.repository.TeamRepository;
+import com.taskManagement.repository.FileBlobRepository;
 import com.taskManagement.repository.TeamMemberRepository;
 import com.taskManagement.service.TeamService;
+import com.taskManagement.service.activity.ActivityLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +33,8 @@ public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final TeamMapper teamMapper;
+    private final ActivityLog activityLog;
+    private final FileBlobRepository fileBlobRepository;
     
     private static final String TEAM_CODE_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final int TEAM_CODE_LENGTH = 8;
@@ -107,10 +112,10 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
-    public TeamResponseDTO updateTeam(Long id, TeamUpdateDTO teamUpdateDTO) {
+    public TeamResponseDTO updateTeam(Long id, TeamUpdateDTO teamUpdateDTO, Long expectedVersion) {
         log.info("Updating team with ID: {}", id);
         
-        Team team = findTeamEntityById(id);
+        Team team = findTeamForUpdate(id, expectedVersion);
         
         // Validate team code uniqueness if changed
         if (teamUpdateDTO.getTeamCode() != null && 
@@ -122,7 +127,7 @@ public class TeamServiceImpl implements TeamService {
         // Update team using mapper
         teamMapper.updateEntityFromDTO(team, teamUpdateDTO);
         
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
         
         log.info("Successfully updated team with ID: {}", updatedTeam.getId());
         return teamMapper.toResponseDTO(updatedTeam);
@@ -139,6 +144,8 @@ public class TeamServiceImpl implements TeamService {
             throw new BusinessLogicException("Cannot delete team with active members");
         }
         
+        // Attachments go with the team's projects by cascade; give back their shared content first
+        fileBlobRepository.releaseForTeam(id);
         teamRepository.delete(team);
         
         log.info("Successfully deleted team with ID: {}", id);
@@ -346,22 +353,22 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
-    public TeamResponseDTO updateTeamAvatar(Long id, String avatarUrl) {
+    public TeamResponseDTO updateTeamAvatar(Long id, String avatarUrl, Long expectedVersion) {
         log.info("Updating team avatar for team ID: {}", id);
         
-        Team team = findTeamEntityById(id);
+        Team team = findTeamForUpdate(id, expectedVersion);
         team.setAvatarUrl(avatarUrl);
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
         
         log.info("Successfully updated team avatar for team ID: {}", id);
         return teamMapper.toResponseDTO(updatedTeam);
     }
 
     @Override
-    public TeamResponseDTO updateTeamCapacity(Long id, Integer maxMembers) {
+    public TeamResponseDTO updateTeamCapacity(Long id, Integer maxMembers, Long expectedVersion) {
         log.info("Updating team capacity for team ID: {} to: {}", id, maxMembers);
         
-        Team team = findTeamEntityById(id);
+        Team team = findTeamForUpdate(id, expectedVersion);
         
         // Validate that new capacity is not less than current member count
         if (maxMembers != null && maxMembers > 0) {
@@ -374,7 +381,7 @@ public class TeamServiceImpl implements TeamService {
         }
         
         team.setMaxMembers(maxMembers);
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
         
         log.info("Successfully updated team capacity for team ID: {}", id);
         return teamMapper.toResponseDTO(updatedTeam);
@@ -504,11 +511,12 @@ public class TeamServiceImpl implements TeamService {
         Integer availableSlots = maxMembers != null ? Math.max(0, maxMembers - totalMembers) : null;
         Double capacityUtilization = maxMembers != null ? (double) totalMembers / maxMembers * 100 : null;
         
-        // Get recent activity
-        LocalDateTime lastActivity = allMembers.stream()
-                .map(TeamMember::getJoinedAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(team.getCreatedAt());
+        // Last recorded activity, or the latest join for teams idle since before the log's retention
+        LocalDateTime lastActivity = activityLog.getLastActivity(teamId)
+                .orElseGet(() -> allMembers.stream()
+                        .map(TeamMember::getJoinedAt)
+                        .max(LocalDateTime::compareTo)
+                        .orElse(team.getCreatedAt()));
         
         // Count recent joinings (last 30 days)
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
@@ -605,4 +613,13 @@ public class TeamServiceImpl implements TeamService {
     private int getActiveMemberCount(Long teamId) {
         return teamMemberRepository.findByTeamIdAndIsActiveTrue(teamId).size();
     }
+
+    private Team findTeamForUpdate(Long id, Long expectedVersion) {
+        Team team = findTeamEntityById(id);
+        if (expectedVersion != null && !expectedVersion.equals(team.getVersion())) {
+            throw new PreconditionFailedException("Team " + id + " is at version " + team.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return team;
+    }
 }
\ No newline at end of file
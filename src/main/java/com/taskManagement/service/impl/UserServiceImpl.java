@@ -4,10 +4,13 @@ import com.taskManagement.dto.user.*;
 import com.taskManagement.entity.User;
 import com.taskManagement.mapper.UserMapper;
 
+import com.taskManagement.repository.FileBlobRepository;
 import com.taskManagement.repository.UserRepository;
 import com.taskManagement.service.UserService;
+import com.taskManagement.service.comment.MentionDirectoryChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +29,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FileBlobRepository fileBlobRepository;
 
     // ==================== BASIC CRUD OPERATIONS ====================
 
@@ -54,6 +59,7 @@ public class UserServiceImpl implements UserService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forUser(savedUser.getId()));
 
         log.info("User created successfully with ID: {}", savedUser.getId());
         return userMapper.toResponseDTO(savedUser);
@@ -125,6 +131,7 @@ public class UserServiceImpl implements UserService {
         userMapper.updateEntityFromDTO(user, userUpdateDTO);
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forUser(updatedUser.getId()));
         log.info("User updated successfully with ID: {}", updatedUser.getId());
 
         return userMapper.toResponseDTO(updatedUser);
@@ -138,7 +145,10 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("User not found with ID: " + id);
         }
 
+        // Attachments go with the user's tasks by cascade; give back their shared content first
+        fileBlobRepository.releaseForUser(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forUser(id));
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -151,6 +161,7 @@ public class UserServiceImpl implements UserService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forUser(id));
 
         log.info("User deactivated successfully with ID: {}", id);
     }
@@ -164,6 +175,7 @@ public class UserServiceImpl implements UserService {
 
         user.setIsActive(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(MentionDirectoryChangedEvent.forUser(id));
 
         log.info("User activated successfully with ID: {}", id);
     }
@@ -0,0 +1,271 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.entity.NotificationType;
+import com.taskManagement.repository.UserRepository;
+import com.taskManagement.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalescing stage in front of the write pipeline.
+ *
+ * Busy notification types (comments, uploads) are grouped by
+ * (recipient, entityType, entityId, type). The first event of a burst is written
+ * straight away; everything else arriving inside the window is held and written
+ * as one notification carrying {@code aggregateCount} when the window closes.
+ * Users in digest mode get those types as a single summary per digest period
+ * instead. Other types pass through untouched.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationWritePipeline writePipeline;
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxOpenBursts;
+    private final Set<NotificationType> coalescedTypes;
+
+    private final Map<BurstKey, Burst> bursts = new ConcurrentHashMap<>();
+    private final Map<Long, Map<BurstKey, DigestEntry>> digests = new ConcurrentHashMap<>();
+    private final Set<Long> digestUsers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder digested = new LongAdder();
+
+    public NotificationCoalescer(
+            NotificationWritePipeline writePipeline,
+            UserRepository userRepository,
+            @Value("${notification.coalescing.enabled:true}") boolean enabled,
+            @Value("${notification.coalescing.window-seconds:300}") long windowSeconds,
+            @Value("${notification.coalescing.max-open-bursts:50000}") int maxOpenBursts,
+            @Value("${notification.coalescing.types:TASK_COMMENT,FILE_UPLOADED}") List<NotificationType> types) {
+        this.writePipeline = writePipeline;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000L;
+        this.maxOpenBursts = maxOpenBursts;
+        this.coalescedTypes = types.isEmpty() ? EnumSet.noneOf(NotificationType.class) : EnumSet.copyOf(types);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDigestUsers() {
+        digestUsers.addAll(userRepository.findIdsByNotificationDigestTrue());
+        log.info("Loaded {} users in notification digest mode", digestUsers.size());
+    }
+
+    // ==================== SUBMISSION ====================
+
+    /**
+     * Route intents through the coalescing stage once the current transaction commits.
+     */
+    public void submitAfterCommit(List<NotificationIntent> intents) {
+        if (intents == null || intents.isEmpty()) {
+            return;
+        }
+        List<NotificationIntent> snapshot = List.copyOf(intents);
+        AfterCommit.run(() -> route(snapshot));
+    }
+
+    private void route(List<NotificationIntent> intents) {
+        List<NotificationIntent> immediate = new ArrayList<>(intents.size());
+        long now = System.currentTimeMillis();
+
+        for (NotificationIntent intent : intents) {
+            if (!enabled || !coalescedTypes.contains(intent.type())) {
+                immediate.add(intent);
+            } else if (digestUsers.contains(intent.recipientId())) {
+                addToDigest(intent);
+            } else if (openBurst(intent, now)) {
+                immediate.add(intent);
+            }
+        }
+        writePipeline.enqueue(immediate);
+    }
+
+    /**
+     * @return true when the intent starts a new burst and should be written now
+     */
+    private boolean openBurst(NotificationIntent intent, long now) {
+        BurstKey key = BurstKey.of(intent);
+        if (bursts.size() >= maxOpenBursts && !bursts.containsKey(key)) {
+            return true;
+        }
+
+        boolean[] leading = {false};
+        bursts.compute(key, (k, burst) -> {
+            if (burst == null || burst.windowEnd <= now && burst.pending == 0) {
+                leading[0] = true;
+                return new Burst(now + windowMillis);
+            }
+            burst.pending++;
+            burst.latest = intent;
+            return burst;
+        });
+        if (!leading[0]) {
+            coalesced.increment();
+        }
+        return leading[0];
+    }
+
+    private void addToDigest(NotificationIntent intent) {
+        digested.increment();
+        digests.compute(intent.recipientId(), (userId, entries) -> {
+            Map<BurstKey, DigestEntry> map = entries != null ? entries : new LinkedHashMap<>();
+            map.computeIfAbsent(BurstKey.of(intent), k -> new DigestEntry()).add(intent);
+            return map;
+        });
+    }
+
+    // ==================== FLUSHING ====================
+
+    /**
+     * Close finished windows. A window that collected events is written as one
+     * aggregated notification and stays open for another period, so a steady
+     * stream produces one notification per window rather than two.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.flush-interval-ms:5000}")
+    public void flushBursts() {
+        flushBursts(System.currentTimeMillis(), false);
+    }
+
+    @Scheduled(cron = "${notification.coalescing.digest-cron:0 0 * * * *}")
+    public void flushDigests() {
+        List<NotificationIntent> summaries = new ArrayList<>();
+        for (Long userId : List.copyOf(digests.keySet())) {
+            Map<BurstKey, DigestEntry> entries = digests.remove(userId);
+            if (entries != null && !entries.isEmpty()) {
+                summaries.add(toDigest(userId, entries));
+            }
+        }
+        if (!summaries.isEmpty()) {
+            log.info("Writing {} notification digests", summaries.size());
+            writePipeline.enqueue(summaries);
+        }
+    }
+
+    public void setDigestUser(Long userId, boolean digestMode) {
+        if (digestMode) {
+            digestUsers.add(userId);
+            return;
+        }
+        digestUsers.remove(userId);
+        Map<BurstKey, DigestEntry> pending = digests.remove(userId);
+        if (pending != null && !pending.isEmpty()) {
+            writePipeline.enqueue(List.of(toDigest(userId, pending)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Runs before the pipeline shuts down, so held events still reach its queue or spill file
+        flushBursts(Long.MAX_VALUE, true);
+        flushDigests();
+    }
+
+    private void flushBursts(long now, boolean closeAll) {
+        List<NotificationIntent> merged = new ArrayList<>();
+        for (BurstKey key : List.copyOf(bursts.keySet())) {
+            bursts.computeIfPresent(key, (k, burst) -> {
+                if (burst.windowEnd > now) {
+                    return burst;
+                }
+                if (burst.pending == 0) {
+                    return null;
+                }
+                merged.add(toAggregate(burst.latest, burst.pending));
+                burst.pending = 0;
+                burst.latest = null;
+                burst.windowEnd = now + windowMillis;
+                return closeAll ? null : burst;
+            });
+        }
+        if (!merged.isEmpty()) {
+            log.debug("Writing {} coalesced notifications", merged.size());
+            writePipeline.enqueue(merged);
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getDigestedCount() {
+        return digested.sum();
+    }
+
+    public int getOpenBurstCount() {
+        return bursts.size();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private NotificationIntent toAggregate(NotificationIntent latest, int count) {
+        String message = count == 1
+                ? latest.message()
+                : latest.message() + " (" + count + " updates)";
+        return latest.withAggregate(latest.title(), message, count);
+    }
+
+    private NotificationIntent toDigest(Long userId, Map<BurstKey, DigestEntry> entries) {
+        int total = 0;
+        StringBuilder message = new StringBuilder();
+        for (DigestEntry entry : entries.values()) {
+            total += entry.count;
+            if (message.length() > 0) {
+                message.append('\n');
+            }
+            message.append(entry.count).append(" x ").append(entry.latest.message());
+        }
+        return new NotificationIntent(userId, null, NotificationType.DIGEST,
+                "Your notification digest", message.toString(),
+                null, null, "/notifications", LocalDateTime.now(), total);
+    }
+
+    private record BurstKey(Long recipientId, String entityType, Long entityId, NotificationType type) {
+        static BurstKey of(NotificationIntent intent) {
+            return new BurstKey(intent.recipientId(), intent.entityType(), intent.entityId(), intent.type());
+        }
+    }
+
+    // Mutated only inside ConcurrentHashMap compute callbacks
+    private static final class Burst {
+        private long windowEnd;
+        private int pending;
+        private NotificationIntent latest;
+
+        private Burst(long windowEnd) {
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    private static final class DigestEntry {
+        private int count;
+        private NotificationIntent latest;
+
+        private void add(NotificationIntent intent) {
+            count++;
+            latest = intent;
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.dto.notification.NotificationResponseDTO;
+
+/**
+ * Published once a notification row has been written. Listeners bound to the
+ * AFTER_COMMIT phase only see notifications that actually reached the database.
+ */
+public record NotificationCreatedEvent(NotificationResponseDTO notification) {
+}
@@ -0,0 +1,30 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.entity.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that has been requested but not yet written. Intents are
+ * queued by {@link NotificationWritePipeline} and inserted in batches.
+ */
+public record NotificationIntent(
+        Long recipientId,
+        Long senderId,
+        NotificationType type,
+        String title,
+        String message,
+        String entityType,
+        Long entityId,
+        String actionUrl,
+        LocalDateTime createdAt,
+        Integer aggregateCount) {
+
+    /**
+     * Copy of this intent standing in for {@code count} merged events.
+     */
+    public NotificationIntent withAggregate(String mergedTitle, String mergedMessage, int count) {
+        return new NotificationIntent(recipientId, senderId, type, mergedTitle, mergedMessage,
+                entityType, entityId, actionUrl, LocalDateTime.now(), count);
+    }
+}
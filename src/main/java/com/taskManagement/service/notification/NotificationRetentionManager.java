@@ -0,0 +1,282 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.util.UtcTimestamps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the notifications table from growing without bound.
+ *
+ * When the table is range-partitioned by month (see
+ * {@code db/notifications_partitioning.sql}) upcoming partitions are created
+ * ahead of time and expired months are removed by detaching and dropping the
+ * whole partition, which costs no per-row WAL or vacuum work. Per-row
+ * deletes are limited to the DEFAULT partition (or the whole table when it is
+ * not partitioned) and run in small, throttled chunks, each in its own short
+ * transaction. Rows that land in DEFAULT are moved into their monthly
+ * partition, so DEFAULT stays empty and new partitions can always be created.
+ *
+ * Timestamps are stored as UTC wall-clock values, so partition months and
+ * the retention cutoff are UTC dates; local times are converted before they
+ * are bound.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionManager {
+
+    private static final String TABLE = "notifications";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("^notifications_p(\\d{4})(\\d{2})$");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadNotificationCounters unreadCounters;
+
+    private final long retentionDays;
+    private final int monthsAhead;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final long maxRunMillis;
+    private final long readRetentionDays;
+
+    public NotificationRetentionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            UnreadNotificationCounters unreadCounters,
+            @Value("${notification.expiration-days:30}") long retentionDays,
+            @Value("${notification.retention.partitions-ahead:2}") int monthsAhead,
+            @Value("${notification.retention.chunk-size:5000}") int chunkSize,
+            @Value("${notification.retention.chunk-pause-ms:200}") long chunkPauseMs,
+            @Value("${notification.retention.max-run-seconds:600}") long maxRunSeconds,
+            @Value("${notification.retention.read-days:0}") long readRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadCounters = unreadCounters;
+        this.retentionDays = retentionDays;
+        this.monthsAhead = monthsAhead;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+        this.maxRunMillis = maxRunSeconds * 1000L;
+        this.readRetentionDays = readRetentionDays;
+    }
+
+    // ==================== SCHEDULED MAINTENANCE ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            if (isPartitioned()) {
+                ensureUpcomingPartitions();
+            } else {
+                log.info("Table {} is not partitioned; expiry falls back to chunked deletes", TABLE);
+            }
+        } catch (Exception e) {
+            log.warn("Could not prepare notification partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void runRetention() {
+        purgeExpired();
+        if (readRetentionDays > 0) {
+            deleteReadOlderThan(LocalDateTime.now().minusDays(readRetentionDays));
+        }
+    }
+
+    // ==================== EXPIRY ====================
+
+    /**
+     * Remove expired notifications. A partitioned table loses whole months
+     * once they are past retention; rows in monthly partitions are never
+     * deleted one by one. Only the DEFAULT partition, or an unpartitioned
+     * table, is cleaned with throttled chunked deletes.
+     */
+    public long purgeExpired() {
+        long removed = 0;
+        Timestamp now = UtcTimestamps.toDatabase(LocalDateTime.now());
+        if (isPartitioned()) {
+            ensureUpcomingPartitions();
+            removed += dropExpiredPartitions();
+            if (hasDefaultPartition()) {
+                // Rows from months already past retention would have been dropped with their partition
+                Timestamp droppedBefore = Timestamp.valueOf(retentionCutoff().withDayOfMonth(1).atStartOfDay());
+                removed += deleteInChunks(DEFAULT_PARTITION, "expires_at < ? OR created_at < ?", now, droppedBefore);
+                rehomeDefaultRows();
+            }
+        } else {
+            removed += deleteInChunks(TABLE, "expires_at < ?", now);
+        }
+        unreadCounters.invalidateAll();
+        log.info("Notification expiry removed {} rows", removed);
+        return removed;
+    }
+
+    public long deleteReadOlderThan(LocalDateTime date) {
+        long removed = deleteInChunks(TABLE, "is_read = true AND created_at < ?", UtcTimestamps.toDatabase(date));
+        log.info("Removed {} read notifications older than {}", removed, date);
+        return removed;
+    }
+
+    // ==================== PARTITION MANAGEMENT ====================
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private void ensureUpcomingPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        ensurePartitions(month, month.plusMonths(monthsAhead));
+    }
+
+    /**
+     * Create the monthly partitions covering {@code from} through {@code to},
+     * for loads that write notifications outside the upcoming months.
+     */
+    public void ensurePartitions(LocalDate from, LocalDate to) {
+        for (LocalDate start = from.withDayOfMonth(1); !start.isAfter(to); start = start.plusMonths(1)) {
+            createPartition(start);
+        }
+    }
+
+    /**
+     * Create one monthly partition. The partition is built detached, receives
+     * any rows of its month from DEFAULT, and is then attached; creating it
+     * directly with PARTITION OF fails while DEFAULT holds rows of that month.
+     */
+    private void createPartition(LocalDate start) {
+        String partition = partitionName(start);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+        LocalDate end = start.plusMonths(1);
+        boolean withDefault = hasDefaultPartition();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (withDefault) {
+                // Taken up front: ATTACH needs it anyway, and nothing may reach DEFAULT in between
+                jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+            }
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE +
+                    " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            if (withDefault) {
+                int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                                " WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+                                "INSERT INTO " + partition + " SELECT * FROM moved",
+                        Timestamp.valueOf(start.atStartOfDay()), Timestamp.valueOf(end.atStartOfDay()));
+                if (moved > 0) {
+                    log.info("Moved {} notifications from {} into {}", moved, DEFAULT_PARTITION, partition);
+                }
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition +
+                    " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+        });
+    }
+
+    // Give every month still held in DEFAULT its own partition
+    private void rehomeDefaultRows() {
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', created_at) AS date) FROM " + DEFAULT_PARTITION,
+                LocalDate.class);
+        months.forEach(this::createPartition);
+    }
+
+    private boolean hasDefaultPartition() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partdefid " +
+                "WHERE p.partrelid = to_regclass(?) AND c.relname = ?)",
+                Boolean.class, TABLE, DEFAULT_PARTITION));
+    }
+
+    private LocalDate retentionCutoff() {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+    }
+
+    private long dropExpiredPartitions() {
+        // A month can go once even its newest row is past the retention period
+        LocalDate cutoff = retentionCutoff();
+        long removed = 0;
+
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LocalDate start = LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+            if (start.plusMonths(1).isAfter(cutoff)) {
+                continue;
+            }
+
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+            // Not CONCURRENTLY: PostgreSQL refuses that while a DEFAULT partition exists
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            removed += rows != null ? rows : 0;
+            log.info("Dropped notification partition {} ({} rows)", partition, rows);
+        }
+        return removed;
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, TABLE);
+    }
+
+    private static String partitionName(LocalDate monthStart) {
+        return TABLE + "_p" + monthStart.format(PARTITION_SUFFIX);
+    }
+
+    // ==================== CHUNKED DELETES ====================
+
+    /**
+     * Delete matching rows of {@code table} in chunks of {@code chunkSize},
+     * pausing between chunks and stopping after the configured run time. Each
+     * statement commits on its own, so locks are short and autovacuum can keep up.
+     */
+    private long deleteInChunks(String table, String predicate, Object... args) {
+        String sql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table +
+                " WHERE " + predicate + " LIMIT " + chunkSize + ")";
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        long total = 0;
+
+        while (true) {
+            int deleted = jdbcTemplate.update(sql, args);
+            total += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.info("Chunked notification delete stopped after {} rows; the rest continues next run", total);
+                break;
+            }
+            try {
+                Thread.sleep(chunkPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.dto.notification.NotificationResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-memory registry of Server-Sent Events subscribers, keyed by user ID.
+ *
+ * Every connection owns a bounded buffer that is drained by a small shared
+ * dispatcher pool, so a slow client never blocks the publishing thread. When a
+ * buffer overflows the connection is closed; the client reconnects with
+ * {@code Last-Event-ID} and the missed notifications are replayed from the database.
+ */
+@Component
+@Slf4j
+public class NotificationStreamRegistry {
+
+    private static final String EVENT_NAME = "notification";
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    private final long emitterTimeoutMs;
+    private final int bufferCapacity;
+    private final int maxConnectionsPerUser;
+    private final long reconnectDelayMs;
+
+    public NotificationStreamRegistry(
+            @Value("${notification.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${notification.stream.buffer-capacity:256}") int bufferCapacity,
+            @Value("${notification.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${notification.stream.reconnect-delay-ms:3000}") long reconnectDelayMs,
+            @Value("${notification.stream.dispatcher-threads:4}") int dispatcherThreads) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferCapacity = bufferCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.reconnectDelayMs = reconnectDelayMs;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ==================== SUBSCRIPTION ====================
+
+    /**
+     * Open a stream for the given user. Notifications returned by {@code replay}
+     * are sent first; live notifications published while the replay query runs
+     * are held back and delivered afterwards without duplicates.
+     */
+    public SseEmitter subscribe(Long userId, Supplier<List<NotificationResponseDTO>> replay) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(error -> subscriber.close(false));
+
+        register(subscriber);
+        subscriber.offer(SseEmitter.event().reconnectTime(reconnectDelayMs).comment("connected"));
+
+        List<NotificationResponseDTO> backlog = replay != null ? replay.get() : List.of();
+        subscriber.finishReplay(backlog);
+
+        log.debug("User {} subscribed to notification stream ({} replayed, {} open connections)",
+                userId, backlog.size(), connectionCount.get());
+        return emitter;
+    }
+
+    public void publish(NotificationResponseDTO notification) {
+        if (notification == null || notification.getRecipientId() == null) {
+            return;
+        }
+
+        Set<Subscriber> userSubscribers = subscribers.get(notification.getRecipientId());
+        if (userSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.publish(notification);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.notification());
+    }
+
+    // ==================== HEARTBEAT ====================
+
+    @Scheduled(fixedRateString = "${notification.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        if (connectionCount.get() == 0) {
+            return;
+        }
+
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber ->
+                subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // ==================== STATISTICS ====================
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getSubscribedUserCount() {
+        return subscribers.size();
+    }
+
+    public boolean isUserConnected(Long userId) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        return userSubscribers != null && !userSubscribers.isEmpty();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.close(false)));
+        dispatcher.shutdown();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void register(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.computeIfAbsent(subscriber.userId, id -> new CopyOnWriteArraySet<>());
+        userSubscribers.add(subscriber);
+        connectionCount.incrementAndGet();
+
+        // Drop the oldest connections of a user that keeps reconnecting without closing
+        if (userSubscribers.size() > maxConnectionsPerUser) {
+            Iterator<Subscriber> iterator = userSubscribers.iterator();
+            while (userSubscribers.size() > maxConnectionsPerUser && iterator.hasNext()) {
+                Subscriber oldest = iterator.next();
+                if (oldest != subscriber) {
+                    oldest.close(false);
+                }
+            }
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                connectionCount.decrementAndGet();
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(NotificationResponseDTO notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(EVENT_NAME)
+                .data(notification, MediaType.APPLICATION_JSON);
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        // Guarded by "this" while the replay is in progress
+        private boolean replaying = true;
+        private long lastReplayedId = 0L;
+        private final List<NotificationResponseDTO> heldBack = new ArrayList<>();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        }
+
+        private synchronized void publish(NotificationResponseDTO notification) {
+            if (replaying) {
+                if (heldBack.size() >= bufferCapacity) {
+                    close(true);
+                    return;
+                }
+                heldBack.add(notification);
+                return;
+            }
+            if (notification.getId() != null && notification.getId() <= lastReplayedId) {
+                return;
+            }
+            offer(toEvent(notification));
+        }
+
+        private synchronized void finishReplay(List<NotificationResponseDTO> backlog) {
+            for (NotificationResponseDTO notification : backlog) {
+                offer(toEvent(notification));
+                if (notification.getId() != null) {
+                    lastReplayedId = Math.max(lastReplayedId, notification.getId());
+                }
+            }
+            replaying = false;
+            for (NotificationResponseDTO notification : heldBack) {
+                publish(notification);
+            }
+            heldBack.clear();
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                close(true);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Notification stream for user {} dropped: {}", userId, e.getMessage());
+                close(false);
+            } finally {
+                draining.set(false);
+            }
+
+            // An event may have been offered after the loop ended but before the flag was cleared
+            if (!closed.get() && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(boolean slowConsumer) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (slowConsumer) {
+                log.warn("Closing notification stream for user {}: buffer of {} events is full", userId, bufferCapacity);
+            }
+            buffer.clear();
+            unregister(this);
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Error completing notification stream for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,398 @@
+package com.taskManagement.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskManagement.dto.notification.NotificationPipelineStatsDTO;
+import com.taskManagement.dto.notification.NotificationResponseDTO;
+import com.taskManagement.entity.NotificationType;
+import com.taskManagement.util.AfterCommit;
+import com.taskManagement.util.UtcTimestamps;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous, batched writer for notifications.
+ *
+ * Intents are queued after the caller's transaction commits and a single
+ * background thread inserts them with multi-row {@code INSERT ... RETURNING}
+ * statements. A full queue pushes back on the caller, which then writes its own
+ * intents synchronously. Anything still queued at shutdown that cannot be written
+ * is appended to a spill file and replayed on the next start.
+ */
+@Component
+@Slf4j
+public class NotificationWritePipeline {
+
+    private static final int INSERT_COLUMNS = 11;
+    private static final String INSERT_PREFIX =
+            "WITH inserted AS (INSERT INTO notifications " +
+            "(title, message, type, is_read, entity_id, entity_type, action_url, aggregate_count, " +
+            "created_at, expires_at, recipient_id, sender_id) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, false, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX =
+            " RETURNING id, title, message, type, is_read, read_at, entity_id, entity_type, action_url, aggregate_count, " +
+            "created_at, expires_at, recipient_id, sender_id) " +
+            "SELECT i.*, u.first_name AS sender_first_name, u.last_name AS sender_last_name " +
+            "FROM inserted i LEFT JOIN users u ON u.id = i.sender_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<NotificationIntent> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final int maxWriteAttempts;
+    private final long expirationDays;
+    private final Path spillFile;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    // Per-stage metrics
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder batchesWritten = new LongAdder();
+    private final LongAdder notificationsWritten = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LongAdder batchWriteNanos = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    public NotificationWritePipeline(
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${notification.pipeline.queue-capacity:10000}") int queueCapacity,
+            @Value("${notification.pipeline.batch-size:500}") int batchSize,
+            @Value("${notification.pipeline.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${notification.pipeline.max-write-attempts:3}") int maxWriteAttempts,
+            @Value("${notification.expiration-days:30}") long expirationDays,
+            @Value("${notification.pipeline.spill-file:data/notification-spill.jsonl}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // PostgreSQL accepts at most 65535 bind parameters per statement
+        this.batchSize = Math.max(1, Math.min(batchSize, 65535 / INSERT_COLUMNS));
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxWriteAttempts = Math.max(1, maxWriteAttempts);
+        this.expirationDays = expirationDays;
+        this.spillFile = Paths.get(spillFile);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "notification-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // ==================== ENQUEUE STAGE ====================
+
+    /**
+     * Queue intents once the current transaction commits, so a rolled back
+     * request never produces notifications.
+     */
+    public void submitAfterCommit(List<NotificationIntent> intents) {
+        if (intents == null || intents.isEmpty()) {
+            return;
+        }
+        List<NotificationIntent> snapshot = List.copyOf(intents);
+        AfterCommit.run(() -> enqueue(snapshot));
+    }
+
+    /**
+     * Queue intents right away. Only for callers that are already past their
+     * commit (after-commit callbacks, scheduled flushes), where registering
+     * another synchronization would never fire.
+     */
+    public void enqueue(List<NotificationIntent> intents) {
+        if (intents == null || intents.isEmpty()) {
+            return;
+        }
+        List<NotificationIntent> overflow = new ArrayList<>();
+        // One timed-out offer means the queue is full: the rest skip the wait, so a large
+        // fan-out blocks for at most one offer timeout before writing on this thread
+        boolean saturated = !running;
+        for (NotificationIntent intent : intents) {
+            if (saturated || !offer(intent)) {
+                saturated = true;
+                overflow.add(intent);
+            }
+        }
+
+        if (!overflow.isEmpty()) {
+            // Back-pressure: the caller pays for the write instead of growing the queue
+            callerRuns.add(overflow.size());
+            log.warn("Notification queue saturated ({} of {}), writing {} notifications on caller thread",
+                    queue.size(), queueCapacity, overflow.size());
+            for (int from = 0; from < overflow.size(); from += batchSize) {
+                writeWithRetry(overflow.subList(from, Math.min(from + batchSize, overflow.size())));
+            }
+        }
+    }
+
+    private boolean offer(NotificationIntent intent) {
+        try {
+            if (queue.offer(intent, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return true;
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ==================== WRITE STAGE ====================
+
+    private void runWriter() {
+        List<NotificationIntent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationIntent first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in notification writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<NotificationIntent> batch) {
+        for (int attempt = 1; attempt <= maxWriteAttempts; attempt++) {
+            try {
+                writeBatch(batch);
+                return;
+            } catch (Exception e) {
+                writeFailures.increment();
+                log.warn("Failed to write {} notifications (attempt {}/{}): {}",
+                        batch.size(), attempt, maxWriteAttempts, e.getMessage());
+                if (attempt < maxWriteAttempts && !sleepQuietly(200L * attempt)) {
+                    break;
+                }
+            }
+        }
+        spill(batch);
+    }
+
+    private void writeBatch(List<NotificationIntent> batch) {
+        long started = System.nanoTime();
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + INSERT_SUFFIX.length() + batch.size() * (INSERT_ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+        }
+        sql.append(INSERT_SUFFIX);
+
+        List<NotificationResponseDTO> written = jdbcTemplate.query(sql.toString(), ps -> bindBatch(ps, batch), ROW_MAPPER);
+
+        batchWriteNanos.add(System.nanoTime() - started);
+        batchesWritten.increment();
+        notificationsWritten.add(written.size());
+
+        written.forEach(notification -> eventPublisher.publishEvent(new NotificationCreatedEvent(notification)));
+    }
+
+    private void bindBatch(PreparedStatement ps, List<NotificationIntent> batch) throws SQLException {
+        int index = 1;
+        for (NotificationIntent intent : batch) {
+            LocalDateTime createdAt = intent.createdAt() != null ? intent.createdAt() : LocalDateTime.now();
+            ps.setString(index++, intent.title());
+            ps.setString(index++, intent.message());
+            ps.setString(index++, intent.type().name());
+            setNullableLong(ps, index++, intent.entityId());
+            ps.setString(index++, intent.entityType());
+            ps.setString(index++, intent.actionUrl());
+            ps.setInt(index++, intent.aggregateCount() != null ? intent.aggregateCount() : 1);
+            ps.setTimestamp(index++, UtcTimestamps.toDatabase(createdAt));
+            ps.setTimestamp(index++, UtcTimestamps.toDatabase(createdAt.plusDays(expirationDays)));
+            ps.setLong(index++, intent.recipientId());
+            setNullableLong(ps, index++, intent.senderId());
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static final RowMapper<NotificationResponseDTO> ROW_MAPPER = (rs, rowNum) -> {
+        Long senderId = rs.getObject("sender_id", Long.class);
+        String senderName = senderId != null
+                ? rs.getString("sender_first_name") + " " + rs.getString("sender_last_name")
+                : null;
+
+        return NotificationResponseDTO.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .message(rs.getString("message"))
+                .type(NotificationType.valueOf(rs.getString("type")))
+                .isRead(rs.getBoolean("is_read"))
+                .readAt(UtcTimestamps.fromDatabase(rs.getTimestamp("read_at")))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .entityType(rs.getString("entity_type"))
+                .actionUrl(rs.getString("action_url"))
+                .aggregateCount(rs.getInt("aggregate_count"))
+                .createdAt(UtcTimestamps.fromDatabase(rs.getTimestamp("created_at")))
+                .expiresAt(UtcTimestamps.fromDatabase(rs.getTimestamp("expires_at")))
+                .recipientId(rs.getLong("recipient_id"))
+                .senderId(senderId)
+                .senderName(senderName)
+                .build();
+    };
+
+    // ==================== DURABLE FALLBACK ====================
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<NotificationIntent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (remaining.isEmpty()) {
+            return;
+        }
+
+        log.info("Flushing {} queued notifications before shutdown", remaining.size());
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<NotificationIntent> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            try {
+                writeBatch(batch);
+            } catch (Exception e) {
+                log.warn("Could not flush notifications at shutdown: {}", e.getMessage());
+                spill(batch);
+            }
+        }
+    }
+
+    private synchronized void spill(List<NotificationIntent> batch) {
+        try {
+            if (spillFile.getParent() != null) {
+                Files.createDirectories(spillFile.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (NotificationIntent intent : batch) {
+                    writer.write(objectMapper.writeValueAsString(intent));
+                    writer.newLine();
+                }
+            }
+            spilled.add(batch.size());
+            log.warn("Spilled {} notifications to {}", batch.size(), spillFile);
+        } catch (IOException e) {
+            log.error("Lost {} notifications: could not write spill file {}", batch.size(), spillFile, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        try {
+            Files.move(spillFile, replaying, StandardCopyOption.REPLACE_EXISTING);
+            List<NotificationIntent> intents = new ArrayList<>();
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    intents.add(objectMapper.readValue(line, NotificationIntent.class));
+                }
+            }
+            log.info("Replaying {} spilled notifications from {}", intents.size(), spillFile);
+            enqueue(intents);
+            replayed.add(intents.size());
+            Files.delete(replaying);
+        } catch (IOException e) {
+            log.error("Failed to replay spilled notifications from {}", replaying, e);
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public NotificationPipelineStatsDTO getStats() {
+        long batches = batchesWritten.sum();
+        long written = notificationsWritten.sum();
+        return NotificationPipelineStatsDTO.builder()
+                .enqueued(enqueued.sum())
+                .callerRuns(callerRuns.sum())
+                .queueDepth(queue.size())
+                .queueCapacity(queueCapacity)
+                .batchesWritten(batches)
+                .notificationsWritten(written)
+                .writeFailures(writeFailures.sum())
+                .averageBatchSize(batches > 0 ? (double) written / batches : 0.0)
+                .averageBatchWriteMillis(batches > 0 ? batchWriteNanos.sum() / 1_000_000.0 / batches : 0.0)
+                .spilled(spilled.sum())
+                .replayed(replayed.sum())
+                .build();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static boolean sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
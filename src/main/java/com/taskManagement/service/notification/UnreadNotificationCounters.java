@@ -0,0 +1,92 @@
+package com.taskManagement.service.notification;
+
+import com.taskManagement.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters held in memory.
+ *
+ * A counter is loaded with one COUNT query on first access and then kept up to
+ * date with deltas from the service mutation paths. Entries are reloaded after
+ * a TTL so any drift (e.g. from another application instance) stays bounded.
+ */
+@Component
+@Slf4j
+public class UnreadNotificationCounters {
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public UnreadNotificationCounters(
+            NotificationRepository notificationRepository,
+            @Value("${notification.unread-counter.ttl-seconds:300}") long ttlSeconds,
+            @Value("${notification.unread-counter.max-entries:100000}") int maxEntries) {
+        this.notificationRepository = notificationRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(userId);
+        if (counter == null || now - counter.loadedAt > ttlMillis) {
+            if (counters.size() >= maxEntries) {
+                log.debug("Unread counter cache reached {} entries, clearing", maxEntries);
+                counters.clear();
+            }
+            counter = new Counter(notificationRepository.countByRecipientIdAndIsReadFalse(userId), now);
+            counters.put(userId, counter);
+        }
+        return counter.value.get();
+    }
+
+    /**
+     * Apply a delta to a cached counter. Users without a cached counter are
+     * skipped; their next read loads the exact value from the database.
+     */
+    public void adjust(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.value.updateAndGet(current -> Math.max(0, current + delta));
+        }
+    }
+
+    public void invalidate(Long userId) {
+        counters.remove(userId);
+    }
+
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (!Boolean.TRUE.equals(event.notification().getIsRead())) {
+            adjust(event.notification().getRecipientId(), 1);
+        }
+    }
+
+    private static final class Counter {
+        private final AtomicLong value;
+        private final long loadedAt;
+
+        private Counter(long value, long loadedAt) {
+            this.value = new AtomicLong(value);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+}
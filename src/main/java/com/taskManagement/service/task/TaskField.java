@@ -0,0 +1,74 @@
+package com.taskManagement.service.task;
+
+import com.taskManagement.entity.Task;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Task fields tracked by the revision history. The numeric id is what gets
+ * stored, so ids must never be changed or reused; add new fields at the end.
+ */
+public enum TaskField {
+    TITLE(1, "title", Task::getTitle),
+    DESCRIPTION(2, "description", Task::getDescription),
+    STATUS(3, "status", task -> task.getStatus() != null ? task.getStatus().name() : null),
+    PRIORITY(4, "priority", task -> task.getPriority() != null ? task.getPriority().name() : null),
+    DUE_DATE(5, "dueDate", Task::getDueDate),
+    START_DATE(6, "startDate", Task::getStartDate),
+    COMPLETED_AT(7, "completedAt", Task::getCompletedAt),
+    ESTIMATED_HOURS(8, "estimatedHours", Task::getEstimatedHours),
+    ACTUAL_HOURS(9, "actualHours", Task::getActualHours),
+    PROGRESS_PERCENTAGE(10, "progressPercentage", Task::getProgressPercentage),
+    IS_MILESTONE(11, "isMilestone", Task::getIsMilestone),
+    ASSIGNEE_ID(12, "assigneeId", task -> task.getAssignee() != null ? task.getAssignee().getId() : null),
+    PARENT_TASK_ID(13, "parentTaskId", task -> task.getParentTask() != null ? task.getParentTask().getId() : null),
+    PROJECT_ID(14, "projectId", task -> task.getProject() != null ? task.getProject().getId() : null);
+
+    private static final TaskField[] BY_ID = new TaskField[64];
+
+    static {
+        for (TaskField field : values()) {
+            BY_ID[field.id] = field;
+        }
+    }
+
+    private final int id;
+    private final String property;
+    private final Function<Task, Object> reader;
+
+    TaskField(int id, String property, Function<Task, Object> reader) {
+        this.id = id;
+        this.property = property;
+        this.reader = reader;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static TaskField fromId(int id) {
+        TaskField field = id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown task field id: " + id);
+        }
+        return field;
+    }
+
+    /**
+     * Reads every tracked field. Relations contribute only their id, which
+     * Hibernate proxies answer without loading.
+     */
+    public static Map<TaskField, Object> read(Task task) {
+        Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+        for (TaskField field : values()) {
+            values.put(field, field.reader.apply(task));
+        }
+        return values;
+    }
+}
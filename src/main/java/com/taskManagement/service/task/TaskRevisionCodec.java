@@ -0,0 +1,139 @@
+package com.taskManagement.service.task;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of task field values: per entry one byte of field id, one
+ * byte of value tag and the value itself. Integers and lengths are varints, so
+ * a typical status change fits in a dozen bytes.
+ */
+final class TaskRevisionCodec {
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int LONG = 2;
+    private static final int INTEGER = 3;
+    private static final int DOUBLE = 4;
+    private static final int FALSE = 5;
+    private static final int TRUE = 6;
+    private static final int DATE_TIME = 7;
+
+    private TaskRevisionCodec() {
+    }
+
+    static byte[] encode(Map<TaskField, Object> values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * values.size());
+        for (Map.Entry<TaskField, Object> entry : values.entrySet()) {
+            out.write(entry.getKey().getId());
+            writeValue(out, entry.getValue());
+        }
+        return out.toByteArray();
+    }
+
+    static Map<TaskField, Object> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+        while (in.hasRemaining()) {
+            TaskField field = TaskField.fromId(in.get() & 0xFF);
+            values.put(field, readValue(in));
+        }
+        return values;
+    }
+
+    // ==================== VALUES ====================
+
+    private static void writeValue(ByteArrayOutputStream out, Object value) {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof String string) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.write(STRING);
+            writeVarLong(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else if (value instanceof Long number) {
+            out.write(LONG);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Integer number) {
+            out.write(INTEGER);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Double number) {
+            out.write(DOUBLE);
+            long bits = Double.doubleToLongBits(number);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        } else if (value instanceof Boolean flag) {
+            out.write(flag ? TRUE : FALSE);
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.write(DATE_TIME);
+            writeVarLong(out, zigZag(dateTime.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(out, dateTime.getNano());
+        } else {
+            throw new IllegalArgumentException("Unsupported task field value: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        int tag = in.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] bytes = new byte[(int) readVarLong(in)];
+                in.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case LONG:
+                return unZigZag(readVarLong(in));
+            case INTEGER:
+                return (int) unZigZag(readVarLong(in));
+            case DOUBLE:
+                return in.getDouble();
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case DATE_TIME:
+                long seconds = unZigZag(readVarLong(in));
+                int nanos = (int) readVarLong(in);
+                return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+            default:
+                throw new IllegalArgumentException("Unknown task field value tag: " + tag);
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in task revision");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskManagement.service.task;
+
+import com.taskManagement.dto.task.TaskRevisionDTO;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.TaskRevision;
+import com.taskManagement.entity.TaskRevisionKind;
+import com.taskManagement.repository.TaskRevisionRepository;
+import com.taskManagement.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Field-level change history for tasks.
+ *
+ * Each tracked update stores only the fields it changed, as a DIFF revision.
+ * The first change of a task also stores the state it started from as
+ * revision 0, a SNAPSHOT. A scheduled job folds long diff chains into a new
+ * snapshot, so the state at any time is one snapshot plus at most a handful
+ * of diffs. Each run only looks at tasks that got diffs since the previous
+ * one, tracked by revision id; the first run after startup starts from the
+ * beginning of history. A diff still uncommitted while a run reads its range
+ * is picked up with the task's next change.
+ *
+ * Callers flush the task before {@link #recordChanges} so entity callbacks
+ * have run and the row lock is held, which also serialises revision numbers
+ * for concurrent updates of the same task.
+ */
+@Component
+@Slf4j
+public class TaskRevisionStore {
+
+    private final TaskRevisionRepository revisionRepository;
+    private final int snapshotAfterDiffs;
+    private final int compactBatchSize;
+
+    // Highest revision id the last completed compaction covered
+    private volatile long compactedUpTo;
+
+    public TaskRevisionStore(
+            TaskRevisionRepository revisionRepository,
+            @Value("${task.revision.snapshot-after-diffs:16}") int snapshotAfterDiffs,
+            @Value("${task.revision.compact-batch-size:500}") int compactBatchSize) {
+        this.revisionRepository = revisionRepository;
+        this.snapshotAfterDiffs = Math.max(1, snapshotAfterDiffs);
+        this.compactBatchSize = Math.max(1, compactBatchSize);
+    }
+
+    // ==================== RECORDING ====================
+
+    public TaskState capture(Task task) {
+        return TaskState.of(task);
+    }
+
+    public void recordChanges(TaskState before, Task task) {
+        Map<TaskField, Object> after = TaskField.read(task);
+        Map<TaskField, Object> changed = new EnumMap<>(TaskField.class);
+        after.forEach((field, value) -> {
+            if (!Objects.equals(before.values().get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Integer latest = revisionRepository.findLatestRevisionNumber(task.getId());
+        if (latest == null) {
+            save(task.getId(), 0, TaskRevisionKind.SNAPSHOT, before.values(), before.validSince());
+            latest = 0;
+        }
+        LocalDateTime changedAt = task.getUpdatedAt() != null ? task.getUpdatedAt() : LocalDateTime.now();
+        save(task.getId(), latest + 1, TaskRevisionKind.DIFF, changed, changedAt);
+    }
+
+    // ==================== READING ====================
+
+    /**
+     * The task's tracked fields as of {@code at}: the latest snapshot taken at
+     * or before that time with the later diffs up to it applied. A task that
+     * has never changed answers with its current state from when it was last
+     * written.
+     */
+    public Optional<TaskRevisionDTO> stateAt(Task task, LocalDateTime at) {
+        Optional<TaskRevision> snapshot = revisionRepository
+                .findFirstByTaskIdAndKindAndCreatedAtLessThanEqualOrderByRevisionNumberDesc(
+                        task.getId(), TaskRevisionKind.SNAPSHOT, at);
+        if (snapshot.isEmpty()) {
+            TaskState current = TaskState.of(task);
+            boolean unchanged = !revisionRepository.existsByTaskId(task.getId());
+            return unchanged && current.validSince() != null && !at.isBefore(current.validSince())
+                    ? Optional.of(toDTO(task.getId(), 0, TaskRevisionKind.SNAPSHOT, current.values(), current.validSince()))
+                    : Optional.empty();
+        }
+
+        Map<TaskField, Object> values = TaskRevisionCodec.decode(snapshot.get().getPayload());
+        TaskRevision last = snapshot.get();
+        for (TaskRevision diff : revisionRepository
+                .findByTaskIdAndKindAndRevisionNumberGreaterThanAndCreatedAtLessThanEqualOrderByRevisionNumberAsc(
+                        task.getId(), TaskRevisionKind.DIFF, last.getRevisionNumber(), at)) {
+            values.putAll(TaskRevisionCodec.decode(diff.getPayload()));
+            last = diff;
+        }
+        return Optional.of(toDTO(task.getId(), last.getRevisionNumber(), TaskRevisionKind.SNAPSHOT, values, last.getCreatedAt()));
+    }
+
+    public List<TaskRevisionDTO> getChanges(Long taskId, int limit) {
+        return revisionRepository
+                .findByTaskIdAndKindOrderByRevisionNumberDesc(taskId, TaskRevisionKind.DIFF, PageRequest.of(0, limit))
+                .stream()
+                .map(revision -> toDTO(taskId, revision.getRevisionNumber(), revision.getKind(),
+                        TaskRevisionCodec.decode(revision.getPayload()), revision.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    // ==================== COMPACTION ====================
+
+    @Scheduled(cron = "${task.revision.compact-cron:0 15 * * * *}")
+    @Transactional
+    public void compact() {
+        Long upTo = revisionRepository.findLatestId();
+        if (upTo == null) {
+            return;
+        }
+        List<Long> taskIds = revisionRepository.findTasksNeedingSnapshot(
+                compactedUpTo, upTo, snapshotAfterDiffs, compactBatchSize);
+        for (Long taskId : taskIds) {
+            TaskRevision snapshot = revisionRepository
+                    .findFirstByTaskIdAndKindOrderByRevisionNumberDesc(taskId, TaskRevisionKind.SNAPSHOT)
+                    .orElse(null);
+            if (snapshot == null) {
+                continue;
+            }
+            Map<TaskField, Object> values = TaskRevisionCodec.decode(snapshot.getPayload());
+            TaskRevision last = snapshot;
+            for (TaskRevision diff : revisionRepository.findByTaskIdAndKindAndRevisionNumberGreaterThanOrderByRevisionNumberAsc(
+                    taskId, TaskRevisionKind.DIFF, snapshot.getRevisionNumber())) {
+                values.putAll(TaskRevisionCodec.decode(diff.getPayload()));
+                last = diff;
+            }
+            // The snapshot shares the number and time of the last diff it folds in
+            save(taskId, last.getRevisionNumber(), TaskRevisionKind.SNAPSHOT, values, last.getCreatedAt());
+        }
+        if (!taskIds.isEmpty()) {
+            log.info("Compacted revision history of {} tasks into snapshots", taskIds.size());
+        }
+        // A full batch may have left tasks behind in this range, so it is looked at again next time
+        if (taskIds.size() < compactBatchSize) {
+            AfterCommit.run(() -> compactedUpTo = upTo);
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void save(Long taskId, int revisionNumber, TaskRevisionKind kind, Map<TaskField, Object> values,
+                      LocalDateTime createdAt) {
+        TaskRevision revision = new TaskRevision();
+        revision.setTaskId(taskId);
+        revision.setRevisionNumber(revisionNumber);
+        revision.setKind(kind);
+        revision.setPayload(TaskRevisionCodec.encode(values));
+        revision.setCreatedAt(createdAt);
+        revisionRepository.save(revision);
+    }
+
+    private static TaskRevisionDTO toDTO(Long taskId, int revisionNumber, TaskRevisionKind kind,
+                                         Map<TaskField, Object> values, LocalDateTime createdAt) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        values.forEach((field, value) -> fields.put(field.getProperty(), value));
+        return TaskRevisionDTO.builder()
+                .taskId(taskId)
+                .revisionNumber(revisionNumber)
+                .kind(kind)
+                .fields(fields)
+                .createdAt(createdAt)
+                .build();
+    }
+}
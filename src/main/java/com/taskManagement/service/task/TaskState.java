@@ -0,0 +1,18 @@
+package com.taskManagement.service.task;
+
+import com.taskManagement.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The tracked fields of a task as loaded, before a service method changes it,
+ * together with the time that state took effect.
+ */
+public record TaskState(Map<TaskField, Object> values, LocalDateTime validSince) {
+
+    public static TaskState of(Task task) {
+        LocalDateTime validSince = task.getUpdatedAt() != null ? task.getUpdatedAt() : task.getCreatedAt();
+        return new TaskState(TaskField.read(task), validSince);
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskManagement.util;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Converts between the JVM's local date-times and the UTC wall-clock values
+ * Hibernate stores in timestamp columns ({@code hibernate.jdbc.time_zone=UTC}),
+ * for JDBC code that binds or reads those columns without Hibernate.
+ */
+public final class UtcTimestamps {
+
+    private UtcTimestamps() {
+    }
+
+    public static Timestamp toDatabase(LocalDateTime local) {
+        if (local == null) {
+            return null;
+        }
+        return Timestamp.valueOf(local.atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime());
+    }
+
+    public static LocalDateTime fromDatabase(Timestamp stored) {
+        if (stored == null) {
+            return null;
+        }
+        return stored.toLocalDateTime()
+                .atOffset(ZoneOffset.UTC)
+                .atZoneSameInstant(ZoneId.systemDefault())
+                .toLocalDateTime();
+    }
+
+}
@@ -0,0 +1,75 @@
+-- Converts the notifications table into a table range-partitioned by created_at,
+-- one partition per month. Run once, in a maintenance window, with the
+-- application stopped. Afterwards NotificationRetentionManager creates upcoming
+-- partitions and expires old ones by detaching and dropping whole partitions.
+--
+--   psql -d taskManagement -f notifications_partitioning.sql
+
+BEGIN;
+
+LOCK TABLE notifications IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX IF EXISTS idx_notifications_recipient_created RENAME TO idx_notifications_legacy_recipient_created;
+
+-- Partitioned tables cannot carry identity columns before PostgreSQL 17,
+-- so IDs come from a plain sequence continuing after the legacy IDs.
+CREATE SEQUENCE IF NOT EXISTS notifications_id_seq;
+SELECT setval('notifications_id_seq', COALESCE((SELECT MAX(id) FROM notifications_legacy), 0) + 1, false);
+
+CREATE TABLE notifications (
+    id           bigint       NOT NULL DEFAULT nextval('notifications_id_seq'),
+    title        varchar(255) NOT NULL,
+    message      text         NOT NULL,
+    type         varchar(255) NOT NULL,
+    is_read      boolean,
+    read_at      timestamp(6),
+    entity_id    bigint,
+    entity_type  varchar(255),
+    action_url   varchar(255),
+    aggregate_count integer   DEFAULT 1,
+    created_at   timestamp(6) NOT NULL,
+    expires_at   timestamp(6),
+    recipient_id bigint       NOT NULL REFERENCES users (id),
+    sender_id    bigint       REFERENCES users (id),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+CREATE INDEX idx_notifications_recipient_created ON notifications (recipient_id, created_at, id);
+
+-- Monthly partitions covering the legacy rows plus the next two months
+DO $$
+DECLARE
+    partition_start date;
+    last_start      date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::date
+    INTO partition_start
+    FROM notifications_legacy;
+
+    last_start := (date_trunc('month', now()) + interval '2 months')::date;
+
+    WHILE partition_start <= last_start LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(partition_start, 'YYYYMM'),
+                       partition_start,
+                       (partition_start + interval '1 month')::date);
+        partition_start := (partition_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Safety net for rows outside every monthly range. NotificationRetentionManager
+-- moves such rows into their monthly partition, so it stays empty
+CREATE TABLE IF NOT EXISTS notifications_default PARTITION OF notifications DEFAULT;
+
+INSERT INTO notifications (id, title, message, type, is_read, read_at, entity_id, entity_type,
+                           action_url, aggregate_count, created_at, expires_at, recipient_id, sender_id)
+SELECT id, title, message, type, is_read, read_at, entity_id, entity_type,
+       action_url, COALESCE(aggregate_count, 1), COALESCE(created_at, now()), expires_at, recipient_id, sender_id
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+COMMIT;
@@ -0,0 +1,27 @@
+package com.taskManagement;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL in Docker for integration tests; the datasource properties are
+ * taken from the container instead of application.properties. Without Docker
+ * the context fails to start, so the tests fail rather than pass unrun.
+ *
+ * To run against an existing database instead, for example in CI without
+ * Docker, set {@code test.external-database=true} together with the
+ * {@code spring.datasource.*} properties.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    @ConditionalOnProperty(name = "test.external-database", havingValue = "false", matchIfMissing = true)
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
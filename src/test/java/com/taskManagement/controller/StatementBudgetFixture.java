@@ -0,0 +1,196 @@
+package com.taskManagement.controller;
+
+import com.taskManagement.entity.Comment;
+import com.taskManagement.entity.FileAttachment;
+import com.taskManagement.entity.Notification;
+import com.taskManagement.entity.NotificationType;
+import com.taskManagement.entity.Priority;
+import com.taskManagement.entity.Project;
+import com.taskManagement.entity.ProjectStatus;
+import com.taskManagement.entity.Task;
+import com.taskManagement.entity.TaskStatus;
+import com.taskManagement.entity.Team;
+import com.taskManagement.entity.TeamMember;
+import com.taskManagement.entity.TeamRole;
+import com.taskManagement.entity.User;
+import com.taskManagement.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Builds a dataset where every association an endpoint walks has {@code n}
+ * rows, so a per-row query shows up as a higher statement count at large n.
+ *
+ * <pre>
+ *   owner        owns team T, manages project P, is assigned root task R
+ *   user i       member of T, admin of their own team X_i, manages project P_i
+ *   R            has n subtasks, n files, one comment C with n replies, n revisions
+ *   P_i          one overdue task Q_i assigned to owner
+ *   owner inbox  n unread notifications, one from each user
+ * </pre>
+ *
+ * IDs keep counting across loads, so nothing cached for an earlier dataset
+ * matches this one.
+ */
+class StatementBudgetFixture {
+
+    /** IDs and names the request templates are filled from. */
+    record Ids(long owner, String ownerUsername, String ownerEmail,
+               long team, String teamCode, long project, long task,
+               long comment, long file, long user) {
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskService taskService;
+
+    StatementBudgetFixture(EntityManager entityManager, TransactionTemplate transactionTemplate,
+                           JdbcTemplate jdbcTemplate, TaskService taskService) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskService = taskService;
+    }
+
+    Ids load(int n) {
+        jdbcTemplate.execute("TRUNCATE TABLE users, teams, team_members, projects, tasks, task_dependencies, "
+                + "task_revisions, comments, notifications, file_attachments, file_blobs, storage_usage CASCADE");
+        Ids ids = transactionTemplate.execute(status -> persist(n));
+        // Revisions are written by the service, one per status change
+        for (int i = 0; i < n; i++) {
+            taskService.updateTaskStatus(ids.task(), i % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.TODO,
+                    ids.owner(), null);
+        }
+        return ids;
+    }
+
+    private Ids persist(int n) {
+        LocalDateTime now = LocalDateTime.now();
+        String tag = Long.toString(System.nanoTime(), 36);
+
+        User owner = user("owner-" + tag);
+        Team team = new Team();
+        team.setName("Platform " + tag);
+        team.setDescription("Statement budget fixture");
+        team.setTeamCode("FIX" + tag.toUpperCase());
+        team.setMaxMembers(n + 1);
+        entityManager.persist(team);
+        member(team, owner, TeamRole.OWNER);
+
+        Project project = project("Roadmap " + tag, team, owner, now.plusDays(30));
+        Task root = task("Root " + tag, project, owner, owner, now.plusDays(3));
+
+        Comment thread = new Comment();
+        thread.setContent("Thread " + tag);
+        thread.setTask(root);
+        thread.setAuthor(owner);
+        entityManager.persist(thread);
+
+        FileAttachment firstFile = null;
+        User firstUser = null;
+        for (int i = 1; i <= n; i++) {
+            User user = user("user-" + tag + "-" + i);
+            firstUser = firstUser != null ? firstUser : user;
+            member(team, user, TeamRole.MEMBER);
+
+            Team own = new Team();
+            own.setName("Squad " + tag + "-" + i);
+            own.setTeamCode("SQ" + tag.toUpperCase() + i);
+            entityManager.persist(own);
+            member(own, user, TeamRole.ADMIN);
+            member(own, owner, TeamRole.MEMBER);
+
+            Task subtask = task("Subtask " + i, project, user, null, now.minusDays(3));
+            subtask.setParentTask(root);
+            subtask.setIsMilestone(true);
+
+            Project side = project("Side " + tag + "-" + i, team, user, now.minusDays(1));
+            task("Overdue " + i, side, owner, owner, now.minusDays(3));
+
+            Comment reply = new Comment();
+            reply.setContent("Reply " + i);
+            reply.setTask(root);
+            reply.setAuthor(user);
+            reply.setParentComment(thread);
+            entityManager.persist(reply);
+
+            FileAttachment file = new FileAttachment();
+            file.setFileName(tag + "-" + i + ".txt");
+            file.setOriginalFileName("notes-" + i + ".txt");
+            file.setFilePath("fixture/" + tag + "-" + i + ".txt");
+            file.setFileType("text/plain");
+            file.setFileExtension("txt");
+            file.setFileSize(1024L);
+            file.setTask(root);
+            file.setUploadedBy(user);
+            entityManager.persist(file);
+            firstFile = firstFile != null ? firstFile : file;
+
+            Notification notification = new Notification();
+            notification.setTitle("Comment " + i);
+            notification.setMessage(user.getUsername() + " replied on " + root.getTitle());
+            notification.setType(NotificationType.TASK_COMMENT);
+            notification.setRecipient(owner);
+            notification.setSender(user);
+            notification.setEntityId(root.getId());
+            notification.setEntityType("TASK");
+            entityManager.persist(notification);
+        }
+        entityManager.flush();
+
+        return new Ids(owner.getId(), owner.getUsername(), owner.getEmail(),
+                team.getId(), team.getTeamCode(), project.getId(), root.getId(),
+                thread.getId(), firstFile.getId(), firstUser.getId());
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@fixture.test");
+        user.setPassword("not-a-real-hash");
+        user.setFirstName("Fixture");
+        user.setLastName(username);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void member(Team team, User user, TeamRole role) {
+        TeamMember member = new TeamMember();
+        member.setTeam(team);
+        member.setUser(user);
+        member.setRole(role);
+        entityManager.persist(member);
+    }
+
+    private Project project(String name, Team team, User manager, LocalDateTime endDate) {
+        Project project = new Project();
+        project.setName(name);
+        project.setTeam(team);
+        project.setProjectManager(manager);
+        project.setStatus(ProjectStatus.PLANNING);
+        project.setPriority(Priority.MEDIUM);
+        project.setStartDate(LocalDateTime.now().minusDays(60));
+        project.setEndDate(endDate);
+        entityManager.persist(project);
+        return project;
+    }
+
+    private Task task(String title, Project project, User creator, User assignee, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setProject(project);
+        task.setCreator(creator);
+        task.setAssignee(assignee);
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(Priority.MEDIUM);
+        task.setDueDate(dueDate);
+        task.setEstimatedHours(4.0);
+        task.setActualHours(1.5);
+        entityManager.persist(task);
+        return task;
+    }
+}
@@ -0,0 +1,271 @@
+package com.taskManagement.controller;
+
+import com.taskManagement.TestcontainersConfiguration;
+import com.taskManagement.service.TaskService;
+import com.taskManagement.support.sql.CountingDataSource;
+import com.taskManagement.support.sql.StatementCountingConfiguration;
+import com.taskManagement.support.sql.StatementRecorder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriTemplate;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Every read endpoint has a ceiling on the SQL statements one request may
+ * run, checked against a dataset with one row per association and again with
+ * a hundred. A request that needs more statements for the larger dataset is
+ * loading rows one at a time (N+1) and fails even when it is under budget.
+ *
+ * The ceilings are the counts measured on PostgreSQL 16 with this fixture.
+ * When a change legitimately needs another statement, raise the ceiling
+ * together with that change; the failure message lists every statement run.
+ *
+ * Statements are counted at the JDBC level through {@link CountingDataSource},
+ * so ETag checks, JdbcTemplate queries and lazy loads during serialization
+ * all count. A new GET endpoint fails {@link #everyReadEndpointHasABudget()}
+ * until it is added below or listed as exempt.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestcontainersConfiguration.class, StatementCountingConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetIT {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 100;
+
+    // Streams and file bodies, and the scaffolding controller
+    private static final Set<String> EXEMPT = Set.of(
+            "/api/notifications/stream",
+            "/api/files/{id}/download",
+            "/api/files/{id}/thumbnail",
+            "/api/files/uploads/{sessionId}",
+            "/api/test/connection",
+            "/api/test/records");
+
+    private static final List<Budget> BUDGETS = List.of(
+            // ==================== TASKS ====================
+            budget("/api/tasks/{id}", 6, ids -> args(ids.task())),
+            budget("/api/tasks", 6, ids -> args()),
+            budget("/api/tasks/project/{projectId}", 5, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/ordered", 5, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/paginated?page=0&size=1000", 4, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/status/{status}", 4, ids -> args(ids.project(), "TODO")),
+            budget("/api/tasks/project/{projectId}/root", 5, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/unassigned", 5, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/milestones", 5, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/recent?limit=1000", 4, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/count/status/{status}", 1, ids -> args(ids.project(), "TODO")),
+            budget("/api/tasks/project/{projectId}/count/completed", 1, ids -> args(ids.project())),
+            budget("/api/tasks/project/{projectId}/completion-percentage", 2, ids -> args(ids.project())),
+            budget("/api/tasks/assignee/{assigneeId}", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/assignee/{assigneeId}/ordered", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/assignee/{assigneeId}/status/{status}", 4, ids -> args(ids.owner(), "TODO")),
+            budget("/api/tasks/assignee/{assigneeId}/upcoming?limit=1000", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/assignee/{assigneeId}/due-range?start={start}&end={end}", 4,
+                    ids -> args(ids.owner(), daysFromNow(-10), daysFromNow(10))),
+            budget("/api/tasks/assignee/{assigneeId}/overdue", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/assignee/{assigneeId}/due-soon", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/creator/{creatorId}", 4, ids -> args(ids.owner())),
+            budget("/api/tasks/user/{userId}/related", 5, ids -> args(ids.owner())),
+            budget("/api/tasks/overdue", 4, ids -> args()),
+            budget("/api/tasks/{parentTaskId}/subtasks", 4, ids -> args(ids.task())),
+            budget("/api/tasks/{taskId}/time-spent", 1, ids -> args(ids.task())),
+            budget("/api/tasks/{taskId}/revisions?limit=200", 2, ids -> args(ids.task())),
+            budget("/api/tasks/{taskId}/history?at={at}", 3, ids -> args(ids.task(), daysFromNow(1))),
+            budget("/api/tasks/{taskId}/access/user/{userId}", 1, ids -> args(ids.task(), ids.owner())),
+            budget("/api/tasks/{taskId}/edit/user/{userId}", 1, ids -> args(ids.task(), ids.owner())),
+            budget("/api/tasks/{taskId}/overdue", 1, ids -> args(ids.task())),
+
+            // ==================== PROJECTS ====================
+            budget("/api/projects/{id}", 6, ids -> args(ids.project())),
+            budget("/api/projects", 6, ids -> args()),
+            budget("/api/projects/summary", 4, ids -> args()),
+            budget("/api/projects/status/{status}", 5, ids -> args("PLANNING")),
+            budget("/api/projects/priority/{priority}", 5, ids -> args("MEDIUM")),
+            budget("/api/projects/team/{teamId}", 5, ids -> args(ids.team())),
+            budget("/api/projects/manager/{managerId}", 5, ids -> args(ids.owner())),
+            budget("/api/projects/active", 5, ids -> args()),
+            budget("/api/projects/overdue", 5, ids -> args()),
+            budget("/api/projects/{id}/activity", 0, ids -> args(ids.project())),
+
+            // ==================== TEAMS ====================
+            budget("/api/teams/{id}", 6, ids -> args(ids.team())),
+            budget("/api/teams/code/{teamCode}", 5, ids -> args(ids.teamCode())),
+            budget("/api/teams", 6, ids -> args()),
+            budget("/api/teams/summary", 3, ids -> args()),
+            budget("/api/teams/search?name=platform", 3, ids -> args()),
+            budget("/api/teams/active", 5, ids -> args()),
+            budget("/api/teams/user/{userId}", 4, ids -> args(ids.owner())),
+            budget("/api/teams/{teamId}/members", 2, ids -> args(ids.team())),
+            budget("/api/teams/{teamId}/members/active", 2, ids -> args(ids.team())),
+            budget("/api/teams/{teamId}/members/role/{role}", 2, ids -> args(ids.team(), "MEMBER")),
+            budget("/api/teams/{teamId}/members/count", 1, ids -> args(ids.team())),
+            budget("/api/teams/{teamId}/stats", 2, ids -> args(ids.team())),
+
+            // ==================== USERS ====================
+            budget("/api/users/{id}", 1, ids -> args(ids.owner())),
+            budget("/api/users/username/{username}", 1, ids -> args(ids.ownerUsername())),
+            budget("/api/users/email/{email}", 1, ids -> args(ids.ownerEmail())),
+            budget("/api/users", 1, ids -> args()),
+            budget("/api/users/active", 1, ids -> args()),
+            budget("/api/users/summary", 1, ids -> args()),
+            budget("/api/users/exists/username/{username}", 1, ids -> args(ids.ownerUsername())),
+            budget("/api/users/exists/email/{email}", 1, ids -> args(ids.ownerEmail())),
+
+            // ==================== NOTIFICATIONS ====================
+            budget("/api/notifications/user/{userId}/inbox?size=100", 2, ids -> args(ids.owner())),
+            budget("/api/notifications/user/{userId}/unread-count", 0, ids -> args(ids.owner())),
+            budget("/api/notifications/pipeline/stats", 0, ids -> args()),
+
+            // ==================== COMMENTS ====================
+            budget("/api/comments/{id}", 2, ids -> args(ids.comment())),
+            budget("/api/comments/{id}/replies", 2, ids -> args(ids.comment())),
+            budget("/api/comments/task/{taskId}/threads?size=100", 2, ids -> args(ids.task())),
+
+            // ==================== FILES ====================
+            budget("/api/files/{id}", 2, ids -> args(ids.file())),
+            budget("/api/files/task/{taskId}", 2, ids -> args(ids.task())),
+            budget("/api/files/usage/{scope}/{scopeId}", 1, ids -> args("TASK", ids.task())));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final Map<Budget, Measurement> small = new LinkedHashMap<>();
+    private final Map<Budget, Measurement> large = new LinkedHashMap<>();
+
+    @BeforeAll
+    void measure() throws Exception {
+        StatementBudgetFixture fixture = new StatementBudgetFixture(
+                entityManager, transactionTemplate, jdbcTemplate, taskService);
+        measureAll(fixture.load(SMALL), small);
+        measureAll(fixture.load(LARGE), large);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> readEndpointsStayWithinStatementBudget() {
+        return BUDGETS.stream().map(budget -> DynamicTest.dynamicTest(budget.template(), () -> {
+            Measurement one = small.get(budget);
+            Measurement many = large.get(budget);
+            assertThat(one.status()).as("status with n=%d", SMALL).isEqualTo(200);
+            assertThat(many.status()).as("status with n=%d", LARGE).isEqualTo(200);
+            assertThat(one.statements()).as("statements with n=%d:%s", SMALL, one.listing())
+                    .hasSizeLessThanOrEqualTo(budget.statements());
+            assertThat(many.statements()).as("statements with n=%d:%s", LARGE, many.listing())
+                    .hasSizeLessThanOrEqualTo(budget.statements());
+            assertThat(many.statements())
+                    .as("statements grew from %d to %d between n=%d and n=%d:%s",
+                            one.statements().size(), many.statements().size(), SMALL, LARGE, many.listing())
+                    .hasSizeLessThanOrEqualTo(one.statements().size());
+        }));
+    }
+
+    @Test
+    void everyReadEndpointHasABudget() {
+        Set<String> budgeted = BUDGETS.stream().map(Budget::pattern).collect(Collectors.toSet());
+        Set<String> missing = handlerMapping.getHandlerMethods().keySet().stream()
+                .filter(info -> info.getMethodsCondition().getMethods().contains(RequestMethod.GET))
+                .flatMap(info -> info.getPatternValues().stream())
+                .filter(pattern -> pattern.startsWith("/api/"))
+                .filter(pattern -> !budgeted.contains(pattern) && !EXEMPT.contains(pattern))
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertThat(missing).as("GET endpoints without a statement budget").isEmpty();
+    }
+
+    private void measureAll(StatementBudgetFixture.Ids ids, Map<Budget, Measurement> results) throws Exception {
+        for (Budget budget : BUDGETS) {
+            URI uri = budget.uri(ids);
+            AtomicInteger status = new AtomicInteger();
+            List<String> statements = StatementRecorder.record(
+                    () -> status.set(mockMvc.perform(get(uri)).andReturn().getResponse().getStatus()));
+            results.put(budget, new Measurement(status.get(), statements));
+        }
+    }
+
+    // ==================== BUDGETS ====================
+
+    /** A request template (path plus optional query) and the statements it may run. */
+    private record Budget(String template, int statements, Function<StatementBudgetFixture.Ids, Object[]> variables) {
+
+        String pattern() {
+            int query = template.indexOf('?');
+            return query < 0 ? template : template.substring(0, query);
+        }
+
+        URI uri(StatementBudgetFixture.Ids ids) {
+            return new UriTemplate(template).expand(variables.apply(ids));
+        }
+    }
+
+    private record Measurement(int status, List<String> statements) {
+
+        String listing() {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < statements.size(); i++) {
+                lines.add(String.format("%n  %2d. %s", i + 1, statements.get(i)));
+            }
+            return String.join("", lines);
+        }
+    }
+
+    private static Budget budget(String template, int statements,
+                                 Function<StatementBudgetFixture.Ids, Object[]> variables) {
+        return new Budget(template, statements, variables);
+    }
+
+    private static Object[] args(Object... values) {
+        return values;
+    }
+
+    private static String daysFromNow(int days) {
+        return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskManagement.service.activity;
+
+import com.taskManagement.entity.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new ActivityRingBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new ActivityRingBuffer(8).capacity()).isEqualTo(8);
+        assertThat(new ActivityRingBuffer(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void drainsInClaimOrderUpToMax() {
+        ActivityRingBuffer ring = new ActivityRingBuffer(8);
+        for (long i = 0; i < 5; i++) {
+            assertThat(ring.offer(record(0, i))).isTrue();
+        }
+
+        List<Long> drained = new ArrayList<>();
+        assertThat(ring.drain(r -> drained.add(r.entityId()), 3)).isEqualTo(3);
+        assertThat(ring.drain(r -> drained.add(r.entityId()), 10)).isEqualTo(2);
+        assertThat(ring.drain(r -> drained.add(r.entityId()), 10)).isZero();
+        assertThat(drained).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void rejectsOffersOnceALapAheadAndReusesSlotsAfterDrain() {
+        ActivityRingBuffer ring = new ActivityRingBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            assertThat(ring.offer(record(0, i))).isTrue();
+        }
+        assertThat(ring.offer(record(0, 4))).isFalse();
+
+        List<Long> drained = new ArrayList<>();
+        ring.drain(r -> drained.add(r.entityId()), 1);
+        assertThat(ring.offer(record(0, 4))).isTrue();
+        assertThat(ring.offer(record(0, 5))).isFalse();
+
+        // Several laps around the same slots
+        for (long i = 5; i < 40; i++) {
+            ring.drain(r -> drained.add(r.entityId()), 1);
+            assertThat(ring.offer(record(0, i))).isTrue();
+        }
+        ring.drain(r -> drained.add(r.entityId()), Integer.MAX_VALUE);
+        assertThat(drained).hasSize(40);
+        for (int i = 0; i < 40; i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        ActivityRingBuffer ring = new ActivityRingBuffer(64);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        // A full ring is the consumer's turn; yield rather than spin on small machines
+                        while (!ring.offer(record(producer, i))) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] next = new long[producers];
+            int[] outOfOrder = new int[1];
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                int drained = ring.drain(r -> {
+                    int producer = r.actorId().intValue();
+                    if (r.entityId() != next[producer]) {
+                        outOfOrder[0]++;
+                    }
+                    next[producer] = r.entityId() + 1;
+                }, 256);
+                if (drained == 0) {
+                    Thread.yield();
+                }
+                received += drained;
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(received).isEqualTo(producers * perProducer);
+            assertThat(outOfOrder[0]).isZero();
+            assertThat(next).containsOnly(perProducer);
+            assertThat(ring.drain(r -> { }, 1)).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ActivityRecord record(long producer, long value) {
+        return new ActivityRecord(-1, 0L, ActivityType.TASK_CREATED, producer, null, null, "TASK", value, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.taskManagement.service.activity;
+
+import com.taskManagement.entity.ActivityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivitySegmentTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenFindsEveryRecordAndResumesAppending() throws IOException {
+        writeRecords(1, 3, false);
+
+        try (ActivitySegment segment = reopen()) {
+            assertThat(segment.lastSequence()).isEqualTo(3);
+            assertThat(segment.append(record(4), false)).isTrue();
+        }
+        try (ActivitySegment segment = reopen()) {
+            assertThat(sequences(segment)).containsExactly(1L, 2L, 3L, 4L);
+        }
+    }
+
+    @Test
+    void tornTailIsCutOffAndZeroed() throws IOException {
+        writeRecords(1, 3, false);
+        int end = endOf(logFile());
+        // Length and some body made it to disk, the rest did not: the CRC cannot match
+        try (FileChannel channel = FileChannel.open(logFile(), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(40).putInt(60).putInt(0x12345678).putLong(4);
+            channel.write(torn.rewind(), end);
+        }
+
+        try (ActivitySegment segment = reopen()) {
+            assertThat(segment.lastSequence()).isEqualTo(3);
+            assertThat(sequences(segment)).containsExactly(1L, 2L, 3L);
+            assertThat(segment.append(record(4), false)).isTrue();
+        }
+        try (ActivitySegment segment = reopen()) {
+            assertThat(sequences(segment)).containsExactly(1L, 2L, 3L, 4L);
+        }
+    }
+
+    @Test
+    void checkpointPointingAtATornRecordFallsBackToThePreviousOne() throws IOException {
+        // Every record gets an index entry, so the last entry points at the record torn below
+        writeRecords(1, 3, true);
+        int lastStart = startOfLast(logFile());
+        try (FileChannel channel = FileChannel.open(logFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), lastStart + 20);
+        }
+
+        try (ActivitySegment segment = reopen()) {
+            assertThat(segment.lastSequence()).isEqualTo(2);
+            assertThat(sequences(segment)).containsExactly(1L, 2L);
+
+            List<Long> newestFirst = new ArrayList<>();
+            segment.forEachNewestFirst(Long.MAX_VALUE, r -> newestFirst.add(r.sequence()));
+            assertThat(newestFirst).containsExactly(2L, 1L);
+
+            assertThat(segment.append(record(3), true)).isTrue();
+        }
+        try (ActivitySegment segment = reopen()) {
+            assertThat(sequences(segment)).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void appendRefusesARecordThatDoesNotFit() throws IOException {
+        try (ActivitySegment segment = ActivitySegment.create(directory, 1, 128)) {
+            assertThat(segment.append(record(1), false)).isTrue();
+            assertThat(segment.append(record(2), false)).isFalse();
+            assertThat(sequences(segment)).containsExactly(1L);
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void writeRecords(long from, long to, boolean indexEach) throws IOException {
+        try (ActivitySegment segment = ActivitySegment.create(directory, from, CAPACITY)) {
+            for (long sequence = from; sequence <= to; sequence++) {
+                assertThat(segment.append(record(sequence), indexEach)).isTrue();
+            }
+        }
+    }
+
+    private ActivitySegment reopen() throws IOException {
+        return ActivitySegment.open(logFile(), true);
+    }
+
+    private Path logFile() {
+        return directory.resolve(ActivitySegment.fileName(1, ActivitySegment.LOG_SUFFIX));
+    }
+
+    private static List<Long> sequences(ActivitySegment segment) {
+        List<Long> sequences = new ArrayList<>();
+        segment.forEach(r -> sequences.add(r.sequence()));
+        return sequences;
+    }
+
+    // Walks the [length][crc][body] framing up to the terminating zero length
+    private static int endOf(Path file) throws IOException {
+        ByteBuffer content = read(file);
+        int position = 0;
+        while (content.getInt(position) != 0) {
+            position += 8 + content.getInt(position);
+        }
+        return position;
+    }
+
+    private static int startOfLast(Path file) throws IOException {
+        ByteBuffer content = read(file);
+        int position = 0;
+        int last = 0;
+        while (content.getInt(position) != 0) {
+            last = position;
+            position += 8 + content.getInt(position);
+        }
+        return last;
+    }
+
+    private static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) > 0) {
+                // read until full
+            }
+            return content;
+        }
+    }
+
+    private static ActivityRecord record(long sequence) {
+        return new ActivityRecord(sequence, 1_700_000_000_000L + sequence, ActivityType.TASK_STATUS_CHANGED,
+                7L, 3L, null, "TASK", 42L, "TODO -> IN_PROGRESS");
+    }
+}
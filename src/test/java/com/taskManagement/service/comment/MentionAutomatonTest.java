@@ -0,0 +1,74 @@
+package com.taskManagement.service.comment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MentionAutomatonTest {
+
+    private static final long ANN = 1L;
+    private static final long ANNA = 2L;
+    private static final long ANNABEL = 3L;
+    private static final long NAB = 4L;
+    private static final long BOB = 5L;
+
+    private final MentionAutomaton automaton = MentionAutomaton.build(Map.of(
+            "ann", ANN, "anna", ANNA, "annabel", ANNABEL, "nab", NAB, "Bob", BOB));
+
+    @Test
+    void shorterNameDoesNotMatchInsideLongerMention() {
+        assertThat(automaton.findMentions("ping @anna")).containsExactly(ANNA);
+        assertThat(automaton.findMentions("ping @ann")).containsExactly(ANN);
+        assertThat(automaton.findMentions("@annabel")).containsExactly(ANNABEL);
+    }
+
+    @Test
+    void emailAddressIsNotAMention() {
+        assertThat(automaton.findMentions("mail bob@ann.io")).isEmpty();
+        assertThat(automaton.findMentions("mail @ann.io")).isEmpty();
+    }
+
+    @Test
+    void trailingPeriodEndsTheMention() {
+        assertThat(automaton.findMentions("thanks @ann.")).containsExactly(ANN);
+        assertThat(automaton.findMentions("thanks @ann... and @bob.")).containsExactly(ANN, BOB);
+    }
+
+    @Test
+    void usernameCharacterAfterTheNameRejectsIt() {
+        assertThat(automaton.findMentions("@ann_x @ann-y @ann2")).isEmpty();
+    }
+
+    @Test
+    void matchingIgnoresCase() {
+        assertThat(automaton.findMentions("@ANN and @bob and @BoB")).containsExactly(ANN, BOB);
+    }
+
+    @Test
+    void suffixesReachedThroughOutputLinksNeedTheirOwnAt() {
+        // "nab" also occurs inside "annabel", but without an '@' of its own
+        assertThat(automaton.findMentions("@annabel, @anna and @ann.")).containsExactly(ANNABEL, ANNA, ANN);
+        assertThat(automaton.findMentions("@annab")).isEmpty();
+        assertThat(automaton.findMentions("@nab")).containsExactly(NAB);
+    }
+
+    @Test
+    void mentionAfterAFailedPartialMatchIsFound() {
+        assertThat(automaton.findMentions("@anb @bob")).containsExactly(BOB);
+        assertThat(automaton.findMentions("@annab @bob")).containsExactly(BOB);
+    }
+
+    @Test
+    void mentionsAreReportedOnceInOrderOfFirstMention() {
+        assertThat(automaton.findMentions("@bob @ann @bob")).containsExactly(BOB, ANN);
+    }
+
+    @Test
+    void emptyInputsFindNothing() {
+        assertThat(automaton.findMentions(null)).isEmpty();
+        assertThat(automaton.findMentions("")).isEmpty();
+        assertThat(MentionAutomaton.EMPTY.findMentions("@ann")).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskManagement.support.sql;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps a DataSource so every statement executed through it is reported to
+ * {@link StatementRecorder}. Counting at the JDBC level instead of inside
+ * Hibernate also catches JdbcTemplate queries (ETags, comment threads) and
+ * lazy loads triggered while the response is written.
+ *
+ * The proxies implement every interface of the wrapped object, so pool
+ * specific interfaces such as Hikari's MXBean and {@code unwrap} keep working.
+ */
+public final class CountingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private CountingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return wrapConnection(connection);
+            }
+            return result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            // prepareStatement and prepareCall get their SQL now and execute it later without arguments
+            return wrapStatement(statement, method.getName().startsWith("prepare") ? (String) args[0] : null);
+        });
+    }
+
+    private static Statement wrapStatement(Statement statement, String preparedSql) {
+        return proxy(statement, (target, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                StatementRecorder.executed(method.getName().endsWith("Batch") ? "[batch] " + sql : sql);
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Delegate {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Delegate delegate) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return delegate.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(target), handler);
+    }
+}
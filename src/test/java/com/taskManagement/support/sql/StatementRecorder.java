@@ -0,0 +1,50 @@
+package com.taskManagement.support.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the SQL run on the current thread while a piece of work executes.
+ * Statements only reach it through a {@link CountingDataSource}; work handed
+ * to other threads (async listeners, schedulers) is not counted.
+ */
+public final class StatementRecorder {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    private StatementRecorder() {
+    }
+
+    /**
+     * Runs {@code work} and returns every statement it executed, in order.
+     */
+    public static List<String> record(Work work) throws Exception {
+        List<String> previous = CURRENT.get();
+        List<String> statements = new ArrayList<>();
+        CURRENT.set(statements);
+        try {
+            work.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+                previous.addAll(statements);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return Collections.unmodifiableList(statements);
+    }
+
+    static void executed(String sql) {
+        List<String> statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+}